@@ -0,0 +1,73 @@
+package com.gesacademy.testingspringbootapp.benchmark;
+
+import com.gesacademy.testingspringbootapp.TestingSpringBootAppApplication;
+import com.gesacademy.testingspringbootapp.dto.EmployeeBatchResult;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.service.EmployeeService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shared bootstrapping for the benchmarks: the real application wired to a private
+ * in-memory H2 database, with SQL logging and caching switched off so the numbers
+ * reflect the database path.
+ */
+final class BenchmarkApplication {
+
+    static final int SEED_ROWS = 10_000;
+
+    private static final int SEED_BATCH_SIZE = 5_000;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraArgs) {
+        return builder(webApplicationType).run(args(extraArgs));
+    }
+
+    static SpringApplicationBuilder builder(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(TestingSpringBootAppApplication.class).web(webApplicationType);
+    }
+
+    // passed as command-line arguments so they override application.properties
+    static String[] args(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--spring.cache.type=none",
+                "--server.port=0",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        return args.toArray(String[]::new);
+    }
+
+    static Employee employee(int row) {
+        return Employee.builder()
+                .firstName("First" + row)
+                .lastName("Last" + row)
+                .email("employee" + row + "@example.com")
+                .build();
+    }
+
+    // Inserts SEED_ROWS employees through the bulk API and returns their ids
+    static long[] seed(EmployeeService employeeService) {
+        long[] ids = new long[SEED_ROWS];
+        for (int from = 0; from < SEED_ROWS; from += SEED_BATCH_SIZE) {
+            List<Employee> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int row = from; row < Math.min(from + SEED_BATCH_SIZE, SEED_ROWS); row++) {
+                batch.add(employee(row));
+            }
+            for (EmployeeBatchResult result : employeeService.saveEmployees(batch)) {
+                ids[from + result.index()] = result.id();
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,93 @@
+package com.gesacademy.testingspringbootapp.benchmark;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the repository query styles and the service write/read paths against a seeded H2 table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeRepositoryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private EmployeeService employeeService;
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        employeeService = context.getBean(EmployeeService.class);
+        BenchmarkApplication.seed(employeeService);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> findByEmail() {
+        return employeeRepository.findByEmail(BenchmarkApplication.employee(randomRow()).getEmail());
+    }
+
+    @Benchmark
+    public Optional<Employee> findByJPQL() {
+        int row = randomRow();
+        return employeeRepository.findByJPQL("First" + row, "Last" + row);
+    }
+
+    @Benchmark
+    public Optional<Employee> findByJPQLIndexed() {
+        int row = randomRow();
+        return employeeRepository.findByJPQLIndexed("First" + row, "Last" + row);
+    }
+
+    @Benchmark
+    public Optional<Employee> findByNativeSQL() {
+        int row = randomRow();
+        return employeeRepository.findByNativeSQL("First" + row, "Last" + row);
+    }
+
+    @Benchmark
+    public Optional<Employee> findByNativeSQLIndexed() {
+        int row = randomRow();
+        return employeeRepository.findByNativeSQLIndexed("First" + row, "Last" + row);
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        return employeeService.saveEmployee(Employee.builder()
+                .firstName("Bench")
+                .lastName("Mark")
+                .email("bench" + emailSequence.incrementAndGet() + "@example.com")
+                .build());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<EmployeeSummary> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    private static int randomRow() {
+        return ThreadLocalRandom.current().nextInt(BenchmarkApplication.SEED_ROWS);
+    }
+}
@@ -0,0 +1,51 @@
+package com.gesacademy.testingspringbootapp.benchmark;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.search.EmployeeSearchIndex;
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of top-10 type-ahead queries against the in-process prefix index, without Spring or a database.
+ * Every employee belongs to the default tenant, which is also the one queries run as on an unbound thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class EmployeeSearchIndexBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private EmployeeSearchIndex searchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // only the startup rebuild reads employees through the cross-tenant service
+        searchIndex = new EmployeeSearchIndex(null);
+        for (int row = 0; row < size; row++) {
+            Employee employee = BenchmarkApplication.employee(row);
+            searchIndex.index(TenantContext.DEFAULT_TENANT, new EmployeeSummary((long) row + 1, employee.getFirstName(), employee.getLastName(),
+                    employee.getEmail()));
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> searchByNamePrefix() {
+        return searchIndex.search("first" + ThreadLocalRandom.current().nextInt(100), 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> searchByNameAndEmailPrefix() {
+        int row = ThreadLocalRandom.current().nextInt(size);
+        return searchIndex.search("last" + row + " employee" + row, 10);
+    }
+}
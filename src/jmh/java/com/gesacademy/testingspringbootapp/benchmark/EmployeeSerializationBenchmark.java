@@ -0,0 +1,85 @@
+package com.gesacademy.testingspringbootapp.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson cost of the list payloads returned by the controller (list, page, search and stream all send
+ * {@link EmployeeSummary} rows), with the same mapper configuration Spring uses, for each response format a
+ * client can negotiate. The "+gzip" formats add the compression Tomcat applies (default deflate level).
+ * Payload sizes per format are listed in the README.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmployeeSerializationBenchmark {
+
+    private static final TypeReference<List<EmployeeSummary>> SUMMARY_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    @Param({"json", "json+gzip", "smile", "smile+gzip", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private List<EmployeeSummary> summaries;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper = switch (format.replace("+gzip", "")) {
+            case "json" -> jsonMapper;
+            case "smile" -> jsonMapper.copyWith(new SmileFactory());
+            case "cbor" -> jsonMapper.copyWith(new CBORFactory());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        gzip = format.endsWith("+gzip");
+        summaries = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            Employee employee = BenchmarkApplication.employee(row);
+            employee.setId((long) row + 1);
+            summaries.add(EmployeeSummary.of(employee));
+        }
+        payload = serializeSummaries();
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(out, summaries);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> deserializeSummaries() throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(payload)) : new ByteArrayInputStream(payload)) {
+            return objectMapper.readValue(in, SUMMARY_LIST);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.gesacademy.testingspringbootapp.benchmark;
+
+import com.gesacademy.testingspringbootapp.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load comparison of platform and virtual request threads while every database call is slowed down.
+ * Tomcat is capped at 50 threads and the read pool, which serves these lookups, at 100 connections, so on
+ * platform threads the request threads saturate long before the database does; on virtual threads the pool
+ * becomes the limit.
+ * Compare the two {@code virtualThreads} results in requests per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlowDatabaseThroughputBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 400;
+    private static final long DATABASE_LATENCY_MILLIS = 20;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private long[] ids;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.builder(WebApplicationType.SERVLET)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new SlowDataSourcePostProcessor()))
+                .run(BenchmarkApplication.args(
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=50",
+                        "--employee.datasource.read-pool.maximum-pool-size=100",
+                        // queue at the pool like the 100-connection setup did, instead of failing with 503 after 1s
+                        "--employee.datasource.read-pool.connection-timeout=30000"));
+        ids = BenchmarkApplication.seed(context.getBean(EmployeeService.class));
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort()
+                + "/api/v1/employees/";
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        clientExecutor.close();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public int getEmployeeByIdUnderLoad() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CONCURRENT_REQUESTS];
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build();
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+
+    // Only the primary "dataSource" bean, which routes to the read and write pools; the pools themselves are
+    // injected as HikariDataSource and must keep their type
+    private static final class SlowDataSourcePostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                    ? new SlowDataSource(dataSource) : bean;
+        }
+    }
+
+    // Adds a fixed delay to every connection checkout, standing in for a slow network or database
+    private static final class SlowDataSource extends DelegatingDataSource {
+
+        SlowDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                Thread.sleep(DATABASE_LATENCY_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while simulating database latency", ex);
+            }
+            return super.getConnection();
+        }
+    }
+}
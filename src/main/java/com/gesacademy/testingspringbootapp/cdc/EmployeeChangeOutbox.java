@@ -0,0 +1,55 @@
+package com.gesacademy.testingspringbootapp.cdc;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeChange;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.event.EmployeesSavedEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Records every employee write in the {@code employee_changes} outbox table. The rows are inserted just
+ * before the writing transaction commits, on its connection, so a change is recorded if and only if the
+ * write itself commits. They are inserted without a stream position; {@link EmployeeChangeRelay} assigns
+ * one once they are visible.
+ * <p>
+ * Writes made outside a transaction (the reactive stack) are recorded right after they happen instead.
+ */
+@Component
+@Profile("!memory & !shards")
+public class EmployeeChangeOutbox {
+
+    static final String INSERT = "INSERT INTO employee_changes "
+            + "(employee_id, change_type, first_name, last_name, email, changed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmployeeChangeOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEmployeesSaved(EmployeesSavedEvent event) {
+        String changeType = (event.created() ? EmployeeChange.Type.CREATED : EmployeeChange.Type.UPDATED).name();
+        Timestamp changedAt = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(INSERT, event.employees(), event.employees().size(), (statement, employee) -> {
+            statement.setLong(1, employee.id());
+            statement.setString(2, changeType);
+            statement.setString(3, employee.firstName());
+            statement.setString(4, employee.lastName());
+            statement.setString(5, employee.email());
+            statement.setTimestamp(6, changedAt);
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        jdbcTemplate.update(INSERT, event.id(), EmployeeChange.Type.DELETED.name(), null, null, null,
+                Timestamp.from(Instant.now()));
+    }
+}
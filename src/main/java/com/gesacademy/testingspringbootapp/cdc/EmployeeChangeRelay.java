@@ -0,0 +1,216 @@
+package com.gesacademy.testingspringbootapp.cdc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gives committed outbox rows their position in the change stream and wakes up readers waiting for them.
+ * <p>
+ * Outbox ids are handed out at insert time, so they commit out of order: a reader resuming after id 10
+ * could miss id 9 committing a moment later. Positions are assigned here instead, only to rows that are
+ * already committed, under a lock on the single {@code employee_change_positions} row. Positions are
+ * therefore contiguous and never appear behind a reader, and relays running on several instances take
+ * turns. Each instance learns about positions assigned elsewhere from that row as well.
+ * <p>
+ * Rows older than {@code employee.changes.retention} are pruned; readers that fall further behind than
+ * that have to resync from a full read.
+ */
+@Component
+@Profile("!memory & !shards")
+public class EmployeeChangeRelay implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeRelay.class);
+
+    static final int BATCH_SIZE = 1000;
+    static final Duration PRUNE_INTERVAL = Duration.ofHours(1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration relayInterval;
+    private final Duration retention;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("employee-change-relay").daemon().factory());
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // guarded by lock; each waiter maps to the position it waits to be passed
+    private final Map<CompletableFuture<Long>, Long> waiters = new HashMap<>();
+    private volatile long latestPosition;
+
+    public EmployeeChangeRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               @Value("${employee.changes.relay-interval:100ms}") Duration relayInterval,
+                               @Value("${employee.changes.retention:7d}") Duration retention) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.relayInterval = relayInterval;
+        this.retention = retention;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRelaying() {
+        scheduler.scheduleWithFixedDelay(this::relayQuietly, 0, relayInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::pruneQuietly, PRUNE_INTERVAL.toMillis(), PRUNE_INTERVAL.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the highest position assigned so far, as of the last relay run.
+     */
+    public long latestPosition() {
+        return latestPosition;
+    }
+
+    /**
+     * Returns a future completed with the latest position once it is past {@code position}, or with
+     * {@code position} itself when nothing was assigned within {@code timeout}.
+     */
+    public CompletableFuture<Long> awaitPositionAfter(long position, Duration timeout) {
+        CompletableFuture<Long> waiter = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (latestPosition > position) {
+                return CompletableFuture.completedFuture(latestPosition);
+            }
+            waiters.put(waiter, position);
+        } finally {
+            lock.unlock();
+        }
+        waiter.whenComplete((latest, ex) -> removeWaiter(waiter));
+        return waiter.completeOnTimeout(position, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Assigns positions to committed outbox rows until none are left and returns how many were assigned.
+     */
+    public int relay() {
+        int assigned = 0;
+        int batch;
+        do {
+            batch = relayBatch();
+            assigned += batch;
+        } while (batch == BATCH_SIZE);
+        advanceTo(jdbcTemplate.queryForObject("SELECT next_position FROM employee_change_positions", Long.class) - 1);
+        return assigned;
+    }
+
+    /**
+     * Deletes the changes older than the retention period and returns how many were deleted.
+     */
+    public int prune() {
+        return jdbcTemplate.update("DELETE FROM employee_changes WHERE changed_at < ? AND stream_position IS NOT NULL",
+                Timestamp.from(Instant.now().minus(retention)));
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private int relayBatch() {
+        // checked without the lock first, so an idle relay never blocks the other instances
+        if (jdbcTemplate.queryForList("SELECT id FROM employee_changes WHERE stream_position IS NULL LIMIT 1",
+                Long.class).isEmpty()) {
+            return 0;
+        }
+        Integer assigned = transactionTemplate.execute(status -> {
+            // the lock comes first, so the read below sees every row committed by the previous holder
+            long nextPosition = jdbcTemplate.queryForObject(
+                    "SELECT next_position FROM employee_change_positions FOR UPDATE", Long.class);
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM employee_changes WHERE stream_position IS NULL ORDER BY id LIMIT ?",
+                    Long.class, BATCH_SIZE);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.batchUpdate("UPDATE employee_changes SET stream_position = ? WHERE id = ?",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            statement.setLong(1, nextPosition + i);
+                            statement.setLong(2, ids.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return ids.size();
+                        }
+                    });
+            jdbcTemplate.update("UPDATE employee_change_positions SET next_position = ?", nextPosition + ids.size());
+            return ids.size();
+        });
+        return assigned == null ? 0 : assigned;
+    }
+
+    private void advanceTo(long position) {
+        List<CompletableFuture<Long>> ready = new ArrayList<>();
+        lock.lock();
+        try {
+            if (position <= latestPosition) {
+                return;
+            }
+            latestPosition = position;
+            waiters.forEach((waiter, waitingFor) -> {
+                if (waitingFor < position) {
+                    ready.add(waiter);
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        // completed outside the lock; completing a waiter removes it
+        ready.forEach(waiter -> waiter.complete(position));
+    }
+
+    private void removeWaiter(CompletableFuture<Long> waiter) {
+        lock.lock();
+        try {
+            waiters.remove(waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void relayQuietly() {
+        try {
+            relay();
+        } catch (RuntimeException ex) {
+            log.warn("Relaying employee changes failed, retrying in {}", relayInterval, ex);
+        }
+    }
+
+    private void pruneQuietly() {
+        try {
+            int pruned = prune();
+            if (pruned > 0) {
+                log.info("Pruned {} employee changes older than {}", pruned, retention);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Pruning employee changes failed", ex);
+        }
+    }
+}
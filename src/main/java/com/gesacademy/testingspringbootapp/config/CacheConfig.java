@@ -0,0 +1,29 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Caffeine-backed employee caches. Sizes and TTLs are set through
+ * {@code spring.cache.caffeine.spec}; hit, miss and eviction counts are published
+ * as {@code cache.*} metrics on the actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String EMPLOYEES_BY_EMAIL = "employeesByEmail";
+
+    // keys of the cached methods' id and email parameters, see tenantKey
+    public static final String ID_KEY = "T(com.gesacademy.testingspringbootapp.config.CacheConfig).tenantKey(#id)";
+    public static final String EMAIL_KEY = "T(com.gesacademy.testingspringbootapp.config.CacheConfig).tenantKey(#email)";
+
+    /**
+     * Scopes a cache key to the current tenant, so one tenant's entries are never served to another.
+     */
+    public static String tenantKey(Object key) {
+        return TenantContext.current() + ":" + key;
+    }
+}
@@ -0,0 +1,46 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * Under the "memory" profile there is no DataSource, so nothing provides a transaction manager. The
+ * services still declare {@code @Transactional} and use {@code TransactionTemplate}, so a manager without
+ * any resource is declared here: it keeps transaction synchronization working, which is what delivers
+ * {@code @TransactionalEventListener} events after "commit", while the in-memory repository applies
+ * each write immediately.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("memory")
+public class InMemoryStoreConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new ResourcelessTransactionManager();
+    }
+
+    static final class ResourcelessTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Separate connection pools for reads and writes against the one database, so that a burst of slow writes
+ * can only exhaust the write pool: read-only transactions ({@code @Transactional(readOnly = true)}, repository
+ * finders outside a service transaction) take connections from the "read" pool and everything else from the
+ * "write" pool, chosen lazily at the first statement like under the "replicas" profile.
+ * <p>
+ * Both pools start from the {@code spring.datasource.*} and {@code spring.datasource.hikari.*} settings; any
+ * Hikari property can then be set per pool under {@code employee.datasource.read-pool.*} and
+ * {@code employee.datasource.write-pool.*}. The connection timeout is how long a request waits at its pool
+ * before it fails with 503, and the hikaricp.* metrics (pending, usage, timeouts) are tagged with the pool name.
+ * The other JDBC profiles manage their own pools.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("!memory & !reactive & !replicas & !shards")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class PoolBulkheadConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig poolSettings(DataSourceProperties dataSourceProperties) {
+        HikariConfig settings = new HikariConfig();
+        settings.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        settings.setJdbcUrl(dataSourceProperties.determineUrl());
+        settings.setUsername(dataSourceProperties.determineUsername());
+        settings.setPassword(dataSourceProperties.determinePassword());
+        return settings;
+    }
+
+    @Bean
+    @ConfigurationProperties("employee.datasource.read-pool")
+    public HikariDataSource readDataSource(HikariConfig poolSettings) {
+        HikariDataSource pool = pool(poolSettings, "read");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("employee.datasource.write-pool")
+    public HikariDataSource writeDataSource(HikariConfig poolSettings) {
+        return pool(poolSettings, "write");
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource readDataSource, HikariDataSource writeDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        dataSource.setReadOnlyDataSource(readDataSource);
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(HikariConfig poolSettings, String name) {
+        HikariDataSource pool = new HikariDataSource();
+        poolSettings.copyStateTo(pool);
+        pool.setPoolName(name);
+        return pool;
+    }
+}
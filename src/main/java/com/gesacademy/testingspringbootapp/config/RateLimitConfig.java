@@ -0,0 +1,50 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import com.gesacademy.testingspringbootapp.ratelimit.RateLimitInterceptor;
+import com.gesacademy.testingspringbootapp.ratelimit.RateLimitProperties;
+import com.gesacademy.testingspringbootapp.ratelimit.RequestBudget;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Load shedding in front of the employee endpoints: reads and writes get separate budgets, so a client
+ * hammering writes runs out of write tokens and write slots while reads keep theirs (and the connections
+ * they need). The change stream, sync, snapshot, CSV, all-tenants and bulk job endpoints are long-lived, bulk
+ * or administrative and are not limited: one of their requests would count as a single token, and its duration
+ * would drag the latency-based limit down for everyone.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "employee.rate-limit.enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    private final RequestBudget readBudget;
+    private final RequestBudget writeBudget;
+
+    public RateLimitConfig(RateLimitProperties properties) {
+        this.readBudget = new RequestBudget("read", properties.read(), System::nanoTime);
+        this.writeBudget = new RequestBudget("write", properties.write(), System::nanoTime);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(readBudget, writeBudget))
+                .addPathPatterns("/api/v1/employees", "/api/v1/employees/*")
+                .excludePathPatterns("/api/v1/employees/events", "/api/v1/employees/changes",
+                        "/api/v1/employees/snapshot", "/api/v1/employees/import", "/api/v1/employees/export.csv",
+                        "/api/v1/employees/all-tenants", "/api/v1/employees/jobs");
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics() {
+        return registry -> {
+            readBudget.bindTo(registry);
+            writeBudget.bindTo(registry);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Boot backs off its JDBC DataSource as soon as an R2DBC ConnectionFactory exists. Under the
+ * "reactive" profile the JPA stack keeps running next to R2DBC, so the Hikari pool is declared
+ * here from the usual {@code spring.datasource.*} properties.
+ */
+@Configuration
+@Profile("reactive & !shards")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import com.gesacademy.testingspringbootapp.datasource.ReplicaLagMonitor;
+import com.gesacademy.testingspringbootapp.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read/write splitting under the "replicas" profile. The primary pool is built from the usual
+ * {@code spring.datasource.*} properties and every replica gets a pool with the same settings and credentials.
+ * <p>
+ * The DataSource the application sees is a {@link LazyConnectionDataSourceProxy}: it only takes a physical
+ * connection at the first statement, by which time the transaction's read-only flag is known, and takes it
+ * from the replicas for read-only transactions ({@code @Transactional(readOnly = true)}, the repository
+ * finders outside a service transaction) and from the primary for everything else. Flyway migrates the
+ * primary directly.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("replicas")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                                      @Value("${employee.datasource.replica-urls}") List<String> replicaUrls) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int index = 0; index < replicaUrls.size(); index++) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setPoolName("replica-" + index);
+            replica.setJdbcUrl(replicaUrls.get(index));
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    // the replica pools are not beans, so Boot's hikaricp.* metrics only cover the primary; same metrics, tagged
+    // with the replica's pool name (the pools start on their first connection, after the registry is bound)
+    @Bean
+    public MeterBinder replicaPoolMetrics(ReplicaRoutingDataSource replicaDataSource) {
+        return registry -> replicaDataSource.replicas().stream()
+                .map(ReplicaRoutingDataSource.Replica::dataSource)
+                .filter(HikariDataSource.class::isInstance)
+                .forEach(pool -> ((HikariDataSource) pool).setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource,
+                                               @Value("${employee.datasource.max-replica-lag:5s}") Duration maxLag,
+                                               @Value("${employee.datasource.replica-check-interval:1s}") Duration checkInterval) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLag, checkInterval);
+    }
+}
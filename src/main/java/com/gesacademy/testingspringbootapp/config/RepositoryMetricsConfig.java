@@ -0,0 +1,124 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how many rows each repository method returned as the {@code employee.repository.rows}
+ * distribution summary, tagged like Boot's {@code spring.data.repository.invocations} timer so
+ * latency and result size can be read side by side. Streams are not counted since the rows are
+ * only read as the caller consumes them.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RepositoryMetricsConfig {
+
+    public static final String ROWS_METRIC = "employee.repository.rows";
+
+    @Bean
+    static BeanPostProcessor repositoryRowCountPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            // per repository bean, since inherited methods such as findAll are shared between repositories
+            private final Map<String, Map<Method, DistributionSummary>> summariesByRepository = new ConcurrentHashMap<>();
+
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    Map<Method, DistributionSummary> summaries =
+                            summariesByRepository.computeIfAbsent(beanName, name -> new ConcurrentHashMap<>());
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                            repositoryFactory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(rowCountInterceptor(meterRegistry, summaries,
+                                            repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+
+            // registers the summaries up front so invocations only look them up
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Map<Method, DistributionSummary> summaries = summariesByRepository.get(beanName);
+                if (summaries == null || !(bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean)) {
+                    return bean;
+                }
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry != null) {
+                    Class<?> repositoryInterface = repositoryFactoryBean.getObjectType();
+                    for (Method method : repositoryInterface.getMethods()) {
+                        if (returnsRows(method)) {
+                            summaries.put(method, rowsSummary(registry, repositoryInterface, method));
+                        }
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor rowCountInterceptor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                         Map<Method, DistributionSummary> summaries,
+                                                         Class<?> repositoryInterface) {
+        return invocation -> {
+            Object result = invocation.proceed();
+            Long rows = rowCount(result);
+            if (rows != null) {
+                DistributionSummary summary = summaries.get(invocation.getMethod());
+                if (summary == null) {
+                    // a method that was not registered up front, e.g. called before the registry existed
+                    MeterRegistry registry = meterRegistry.getIfAvailable();
+                    if (registry == null) {
+                        return result;
+                    }
+                    summary = summaries.computeIfAbsent(invocation.getMethod(),
+                            method -> rowsSummary(registry, repositoryInterface, method));
+                }
+                summary.record(rows);
+            }
+            return result;
+        };
+    }
+
+    private static DistributionSummary rowsSummary(MeterRegistry registry, Class<?> repositoryInterface, Method method) {
+        return DistributionSummary.builder(ROWS_METRIC)
+                .description("Rows returned per repository method invocation")
+                .baseUnit("rows")
+                .tag("repository", repositoryInterface.getSimpleName())
+                .tag("method", method.getName())
+                .register(registry);
+    }
+
+    private static boolean returnsRows(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return !returnType.isPrimitive() && !Number.class.isAssignableFrom(returnType)
+                && !Boolean.class.equals(returnType) && !AutoCloseable.class.isAssignableFrom(returnType);
+    }
+
+    // null when the result is not a row set (counts, booleans, streams, void)
+    private static Long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return (long) collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return (long) slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1L : 0L;
+        }
+        if (result == null || result instanceof Number || result instanceof Boolean || result instanceof AutoCloseable) {
+            return null;
+        }
+        return 1L;
+    }
+}
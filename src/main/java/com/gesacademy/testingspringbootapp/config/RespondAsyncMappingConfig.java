@@ -0,0 +1,38 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import com.gesacademy.testingspringbootapp.controller.RespondAsync;
+import com.gesacademy.testingspringbootapp.controller.RespondAsyncCondition;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.servlet.mvc.condition.RequestCondition;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+
+/**
+ * Lets {@link RespondAsync} handler methods claim requests that prefer an asynchronous response. A mapping's
+ * {@code headers} attribute can only compare the whole {@code Prefer} value, which misses requests that state
+ * other preferences as well. A method with the condition wins over the same mapping without it.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RespondAsyncMappingConfig {
+
+    @Bean
+    public WebMvcRegistrations respondAsyncMappingRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+                return new RequestMappingHandlerMapping() {
+                    @Override
+                    protected RequestCondition<?> getCustomMethodCondition(Method method) {
+                        return AnnotatedElementUtils.hasAnnotation(method, RespondAsync.class)
+                                ? new RespondAsyncCondition()
+                                : null;
+                    }
+                };
+            }
+        };
+    }
+}
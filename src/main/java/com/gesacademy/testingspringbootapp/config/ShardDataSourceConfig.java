@@ -0,0 +1,107 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import com.gesacademy.testingspringbootapp.datasource.TenantShardRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tenant sharding under the "shards" profile: the employees live in several databases of the same schema and
+ * each tenant's rows in exactly one of them, chosen by {@link TenantShardRoutingDataSource}. Every shard gets a
+ * pool with the {@code spring.datasource.*} credentials and pool settings; {@code spring.datasource.url} is not
+ * used.
+ * <p>
+ * Flyway migrates every shard, and each shard then hands out ids from its own range, so an id names one
+ * employee across all shards (what cross-shard reads and the search index rely on) and stays valid when a
+ * tenant's rows are moved to another shard.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("shards")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ShardDataSourceConfig {
+
+    // shard i allocates ids in [i * SHARD_ID_RANGE, (i + 1) * SHARD_ID_RANGE), about 2.8e14 per shard
+    public static final long SHARD_ID_RANGE = 1L << 48;
+    // Employee's sequence allocation size
+    private static final long ID_ALLOCATION_SIZE = 50;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig shardPoolSettings(DataSourceProperties dataSourceProperties) {
+        HikariConfig settings = new HikariConfig();
+        settings.setUsername(dataSourceProperties.determineUsername());
+        settings.setPassword(dataSourceProperties.determinePassword());
+        return settings;
+    }
+
+    @Bean
+    public TenantShardRoutingDataSource dataSource(HikariConfig shardPoolSettings,
+                                                   @Value("${employee.datasource.shard-urls}") List<String> shardUrls,
+                                                   @Value("${employee.datasource.shard-virtual-nodes:128}") int virtualNodes) {
+        List<DataSource> shards = new ArrayList<>();
+        for (int index = 0; index < shardUrls.size(); index++) {
+            HikariDataSource shard = new HikariDataSource();
+            shardPoolSettings.copyStateTo(shard);
+            shard.setPoolName(TenantShardRoutingDataSource.shardName(index));
+            shard.setJdbcUrl(shardUrls.get(index));
+            shards.add(shard);
+        }
+        return new TenantShardRoutingDataSource(shards, virtualNodes);
+    }
+
+    // the shard pools are not beans, so Boot's hikaricp.* metrics don't see them; same metrics, tagged with the
+    // shard's pool name (the pools start on their first connection, after the registry is bound)
+    @Bean
+    public MeterBinder shardPoolMetrics(TenantShardRoutingDataSource dataSource) {
+        return registry -> dataSource.shards().values().stream()
+                .filter(HikariDataSource.class::isInstance)
+                .forEach(pool -> ((HikariDataSource) pool).setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    // Boot configures Flyway for a single database; the same migrations run against every shard instead
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(TenantShardRoutingDataSource dataSource) {
+        return flyway -> {
+            int index = 0;
+            for (DataSource shard : dataSource.shards().values()) {
+                Flyway.configure().configuration(flyway.getConfiguration()).dataSource(shard).load().migrate();
+                reserveIdRange(shard, index++);
+            }
+        };
+    }
+
+    // Moves the shard's id sequence to the start of its range unless it is already past it. Hibernate's pooled
+    // optimizer hands out the block below the value it reads, hence one allocation above the range start.
+    static void reserveIdRange(DataSource shard, int index) {
+        long first = index * SHARD_ID_RANGE + ID_ALLOCATION_SIZE;
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(database)) {
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'EMPLOYEES_SEQ'", Long.class);
+            if (next != null && next < first) {
+                jdbcTemplate.execute("ALTER SEQUENCE employees_seq RESTART WITH " + first);
+            }
+        } else {
+            // MySQL emulates the sequence with a single-row table
+            jdbcTemplate.update("UPDATE employees_seq SET next_val = ? WHERE next_val < ?", first, first);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.gesacademy.testingspringbootapp.config;
+
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import com.gesacademy.testingspringbootapp.tenant.TenantInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Multi-tenant requests under the "shards" profile: the tenant comes from the X-Tenant-Id header and follows
+ * the request onto the task executor, which runs streamed responses.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("shards")
+public class TenantWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TenantInterceptor()).addPathPatterns("/api/**");
+    }
+
+    // picked up by the auto-configured application task executor
+    @Bean
+    public TaskDecorator tenantTaskDecorator() {
+        return TenantContext::propagate;
+    }
+}
@@ -0,0 +1,52 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.BulkJobRequest;
+import com.gesacademy.testingspringbootapp.dto.BulkJobStatus;
+import com.gesacademy.testingspringbootapp.service.BulkJobService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+/**
+ * Background maintenance over all employees: a job is acknowledged with 202 as soon as it is recorded, and
+ * its progress is polled from the {@code Location} returned. DELETE cancels a running job at its next chunk;
+ * the chunks already done stay done.
+ */
+@RestController
+@RequestMapping("/api/v1/employees/jobs")
+@Profile("!memory & !shards")
+public class BulkJobController {
+
+    private final BulkJobService bulkJobService;
+
+    public BulkJobController(BulkJobService bulkJobService) {
+        this.bulkJobService = bulkJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<BulkJobStatus> submitJob(@RequestBody BulkJobRequest request) {
+        BulkJobStatus status = bulkJobService.submitJob(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(status.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkJobStatus> getJob(@PathVariable("id") Long jobId) {
+        return bulkJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BulkJobStatus> cancelJob(@PathVariable("id") Long jobId) {
+        return bulkJobService.cancelJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,29 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.CursorPage;
+import com.gesacademy.testingspringbootapp.dto.TenantEmployeeSummary;
+import com.gesacademy.testingspringbootapp.service.CrossTenantEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Every tenant's employees in id order, gathered from all shards and paged with a keyset cursor. An operator
+ * view: it ignores the X-Tenant-Id header.
+ */
+@RestController
+@RequestMapping("/api/v1/employees")
+@Profile("shards")
+public class CrossTenantEmployeeController {
+
+    private final CrossTenantEmployeeService crossTenantEmployeeService;
+
+    public CrossTenantEmployeeController(CrossTenantEmployeeService crossTenantEmployeeService) {
+        this.crossTenantEmployeeService = crossTenantEmployeeService;
+    }
+
+    @GetMapping("/all-tenants")
+    public CursorPage<TenantEmployeeSummary> getEmployeesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                              @RequestParam(value = "size", defaultValue = "50") int size) {
+        return crossTenantEmployeeService.getEmployeesPage(cursor, size);
+    }
+}
@@ -0,0 +1,99 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeChange;
+import com.gesacademy.testingspringbootapp.dto.EmployeeChangePage;
+import com.gesacademy.testingspringbootapp.service.EmployeeChangeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Incremental feed of employee changes, so consumers transfer deltas instead of re-reading the table.
+ * Every change carries its position in the stream; clients resume after the last position they processed,
+ * either by long-polling the JSON endpoint with {@code after} and {@code wait} or by keeping a
+ * server-sent event stream open, which {@code EventSource} resumes on its own through {@code Last-Event-ID}.
+ */
+@RestController
+@RequestMapping("/api/v1/employees/events")
+@Profile("!memory & !shards")
+public class EmployeeChangeController {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeChangeController.class);
+
+    static final int STREAM_BATCH_SIZE = 500;
+
+    private final EmployeeChangeService changeService;
+    private final Duration heartbeatInterval;
+
+    public EmployeeChangeController(EmployeeChangeService changeService,
+                                    @Value("${employee.changes.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.changeService = changeService;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    // the request thread is released while waiting; the response completes when a change arrives or wait runs out
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<EmployeeChangePage> getChanges(@RequestParam(value = "after", defaultValue = "0") long after,
+                                                            @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                            @RequestParam(value = "wait", defaultValue = "0") int waitSeconds) {
+        return changeService.awaitChanges(after, limit, Duration.ofSeconds(waitSeconds));
+    }
+
+    // The first batch is read up front, so an expired position is answered with 410 rather than a broken stream.
+    // The stream ends with the MVC async timeout; EventSource reconnects and resumes from the last event id.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                    @RequestParam(value = "after", defaultValue = "0") long after) throws IOException {
+        EmployeeChangePage firstPage = changeService.getChanges(lastEventId != null ? lastEventId : after,
+                STREAM_BATCH_SIZE);
+        SseEmitter emitter = new SseEmitter();
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(ex -> open.set(false));
+        send(emitter, firstPage);
+        Thread.ofVirtual().name("employee-change-stream").start(() -> stream(emitter, firstPage.next(), open));
+        return emitter;
+    }
+
+    private void stream(SseEmitter emitter, long after, AtomicBoolean open) {
+        long position = after;
+        try {
+            while (open.get()) {
+                EmployeeChangePage page = changeService.awaitChanges(position, STREAM_BATCH_SIZE, heartbeatInterval).get();
+                if (page.changes().isEmpty()) {
+                    // keeps proxies from closing an idle connection and notices clients that went away
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                send(emitter, page);
+                position = page.next();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // the client disconnected or the emitter timed out; the client resumes from its last event id
+        } catch (ExecutionException ex) {
+            log.warn("Streaming employee changes after position {} failed", position, ex.getCause());
+            emitter.completeWithError(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+
+    private static void send(SseEmitter emitter, EmployeeChangePage page) throws IOException {
+        for (EmployeeChange change : page.changes()) {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(change.position()))
+                    .data(change, MediaType.APPLICATION_JSON));
+        }
+    }
+}
@@ -1,21 +1,45 @@
 package com.gesacademy.testingspringbootapp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.gesacademy.testingspringbootapp.dto.CursorPage;
+import com.gesacademy.testingspringbootapp.dto.EmployeeBatchResult;
+import com.gesacademy.testingspringbootapp.dto.EmployeeListVersion;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
 import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeView;
 import com.gesacademy.testingspringbootapp.service.EmployeeService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/employees")
 public class EmployeeController {
 
+    private static final String SMILE_VALUE = "application/x-jackson-smile";
+
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
     }
 
     @PostMapping
@@ -24,37 +48,124 @@ public class EmployeeController {
         return employeeService.saveEmployee(employee);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<EmployeeBatchResult> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.saveEmployees(employees);
+    }
+
+    // Conditional list read: the fingerprint is a single indexed query, so an unchanged list is answered
+    // with a 304 before any row is loaded. It is read before the list, so a write in between can only
+    // leave the tag older than the body, never newer.
     @GetMapping
+    public ResponseEntity<List<EmployeeSummary>> getAllEmployees(WebRequest request) {
+        EmployeeListVersion version = employeeService.getEmployeeListVersion();
+        Instant lastModified = version.lastModified();
+        if (request.checkNotModified(EmployeeETags.eTagOf(version), lastModified != null ? lastModified.toEpochMilli() : -1)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).varyBy(HttpHeaders.ACCEPT)
+                .body(employeeService.getAllEmployees());
+    }
+
+    // Multi-get for callers that would otherwise loop over GET /{id}: GET /api/v1/employees?ids=1,2,3
+    @GetMapping(params = "ids")
+    @ResponseStatus(HttpStatus.OK)
+    public List<Employee> getEmployeesByIds(@RequestParam("ids") List<Long> ids) {
+        return employeeService.getEmployeesByIds(ids);
+    }
+
+    @GetMapping("/page")
+    @ResponseStatus(HttpStatus.OK)
+    public CursorPage<EmployeeSummary> getEmployeesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                                        @RequestParam(value = "size", defaultValue = "50") int size) {
+        return employeeService.getEmployeesPage(cursor, size);
+    }
+
+    @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public List<EmployeeView> searchEmployees(@RequestParam("firstName") String firstName,
+                                              @RequestParam("lastName") String lastName) {
+        return employeeService.searchEmployees(firstName, lastName);
     }
 
+    // Type-ahead search: every word of q must prefix a word of the first name, last name or email
+    @GetMapping(value = "/search", params = "q")
+    @ResponseStatus(HttpStatus.OK)
+    public List<EmployeeSummary> suggestEmployees(@RequestParam("q") String query,
+                                                  @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return employeeService.suggestEmployees(query, limit);
+    }
+
+    // Streams every employee as newline-delimited JSON straight from a database cursor,
+    // so memory stays flat regardless of table size
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        return streamEmployees(objectMapper, MediaType.APPLICATION_NDJSON, true);
+    }
+
+    // The same stream as a sequence of Smile values behind a single header, read back with ObjectReader.readValues
+    @GetMapping(value = "/stream", produces = SMILE_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesAsSmile() {
+        return streamEmployees(smileMapper, MediaType.parseMediaType(SMILE_VALUE), false);
+    }
+
+    // A matching If-None-Match (or If-Modified-Since) gets a 304 and the employee is never serialized
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Long employeeId) {
         return employeeService.getEmployeeById(employeeId)
-                .map(ResponseEntity::ok)
+                .map(employee -> withValidators(employee).body(employee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // If-Match makes the update conditional on the version the client last read (412 when it moved on)
     @PutMapping("/{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Long employeeId,
-                                                   @RequestBody Employee employee) {
-        return employeeService.getEmployeeById(employeeId)
-                .map(savedEmployee -> {
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
-                })
+                                                   @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return employeeService.updateEmployee(employeeId, employee, EmployeeETags.versionOf(ifMatch))
+                .map(updatedEmployee -> ResponseEntity.ok().eTag(EmployeeETags.eTagOf(updatedEmployee)).body(updatedEmployee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployee(@PathVariable("id") Long employeeId) {
-        employeeService.deleteEmployee(employeeId);
+        if (!employeeService.deleteEmployee(employeeId)) {
+            return ResponseEntity.notFound().build();
+        }
         return new ResponseEntity<>("Employee successfully deleted!", HttpStatus.OK);
     }
+
+    // The content type is set here because no message converter sees a streamed body, and gzip compression
+    // is only applied to the listed content types
+    private ResponseEntity<StreamingResponseBody> streamEmployees(ObjectMapper mapper, MediaType contentType,
+                                                                  boolean newlineDelimited) {
+        ObjectWriter writer = mapper.writerFor(EmployeeSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return ResponseEntity.ok().contentType(contentType).body(outputStream -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+                employeeService.streamEmployees(employee -> {
+                    try {
+                        writer.writeValue(generator, employee);
+                        if (newlineDelimited) {
+                            generator.writeRaw('\n');
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        });
+    }
+
+    // no-cache lets clients and proxies keep the body but revalidate it on every use; the body's format
+    // follows the Accept header, so caches have to key on it
+    private static ResponseEntity.BodyBuilder withValidators(Employee employee) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(EmployeeETags.eTagOf(employee));
+        return employee.getUpdatedAt() != null ? builder.lastModified(employee.getUpdatedAt()) : builder;
+    }
 }
@@ -0,0 +1,48 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.CsvImportResult;
+import com.gesacademy.testingspringbootapp.service.EmployeeCsvService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CSV import and export of the employee directory. Neither side holds the file: the upload is parsed as it
+ * arrives and the export is written as rows are read, so both work for files of any size.
+ */
+@RestController
+@RequestMapping("/api/v1/employees")
+public class EmployeeCsvController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String CSV_FILE_NAME = "employees.csv";
+
+    private final EmployeeCsvService csvService;
+
+    public EmployeeCsvController(EmployeeCsvService csvService) {
+        this.csvService = csvService;
+    }
+
+    // curl --data-binary @employees.csv -H 'Content-Type: text/csv' .../import
+    // The header names the columns (firstName, lastName, email, in any order); rows whose email already exists
+    // are skipped, so an interrupted import can be re-run with the same file
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public CsvImportResult importEmployees(InputStream body) {
+        return csvService.importCsv(body);
+    }
+
+    @GetMapping(value = "/export.csv", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(CSV_FILE_NAME).build().toString())
+                .body(csvService::exportCsv);
+    }
+}
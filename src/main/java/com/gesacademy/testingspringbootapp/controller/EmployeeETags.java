@@ -0,0 +1,49 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeListVersion;
+import com.gesacademy.testingspringbootapp.exception.PreconditionFailedException;
+import com.gesacademy.testingspringbootapp.model.Employee;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Maps an employee's optimistic-lock version to and from a strong entity tag, and tags the employee list
+ * with the table's fingerprint.
+ */
+final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    static String eTagOf(Employee employee) {
+        return "\"" + employee.getVersion() + "\"";
+    }
+
+    // Any write changes the count or the version sum, so the tag changes with the list. It is weak because the
+    // same list goes out as JSON, Smile or CBOR and gzip-encoded; Tomcat won't compress under a strong tag.
+    static String eTagOf(EmployeeListVersion version) {
+        return "W/\"" + version.count() + "-" + version.versionSum() + "-" + toMicros(version.lastUpdatedAt())
+                + "-" + toMicros(version.lastDeletedAt()) + "\"";
+    }
+
+    // Only a single strong entity tag can name a version; "*" matches whatever version is current
+    static Long versionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() > 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            try {
+                return Long.parseLong(eTag.substring(1, eTag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through: an entity tag we never issued cannot match
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch);
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant != null ? ChronoUnit.MICROS.between(Instant.EPOCH, instant) : 0L;
+    }
+}
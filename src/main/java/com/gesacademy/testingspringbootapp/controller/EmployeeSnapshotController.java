@@ -0,0 +1,80 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.SnapshotImportResult;
+import com.gesacademy.testingspringbootapp.service.EmployeeSnapshotService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Backup and seeding endpoints. Both sides go through a temporary file: the export is written completely
+ * before the response starts (so a failure is still reported as an error status), and an upload is
+ * spooled to disk so the import can map it instead of buffering it.
+ */
+@RestController
+@RequestMapping("/api/v1/employees/snapshot")
+@Profile("!memory & !shards")
+public class EmployeeSnapshotController {
+
+    private static final String SNAPSHOT_FILE_NAME = "employees.snapshot";
+
+    private final EmployeeSnapshotService snapshotService;
+
+    public EmployeeSnapshotController(EmployeeSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSnapshot() throws IOException {
+        Path file = Files.createTempFile("employees-", ".snapshot");
+        try {
+            snapshotService.exportSnapshot(file);
+        } catch (RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ,
+                    StandardOpenOption.DELETE_ON_CLOSE)) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long position = 0;
+                while (position < channel.size()) {
+                    position += channel.transferTo(position, channel.size() - position, target);
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(SNAPSHOT_FILE_NAME).build().toString())
+                .body(body);
+    }
+
+    // Loads a snapshot produced by GET into an empty table, keeping its ids:
+    // curl --data-binary @employees.snapshot -H 'Content-Type: application/octet-stream' .../snapshot
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public SnapshotImportResult importSnapshot(InputStream body) throws IOException {
+        Path file = Files.createTempFile("employees-", ".snapshot");
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+            return new SnapshotImportResult(snapshotService.importSnapshot(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
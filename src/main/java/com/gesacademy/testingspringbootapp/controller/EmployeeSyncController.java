@@ -0,0 +1,31 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeDeltaPage;
+import com.gesacademy.testingspringbootapp.service.EmployeeSyncService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+
+/**
+ * Changed-since sync: a client passes the time of its last full read as {@code since} (ISO-8601), then
+ * follows {@code nextCursor} while {@code hasMore} is set, and keeps the last cursor to sync again later.
+ */
+@RestController
+@RequestMapping("/api/v1/employees")
+@Profile("!memory & !shards")
+public class EmployeeSyncController {
+
+    private final EmployeeSyncService syncService;
+
+    public EmployeeSyncController(EmployeeSyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping("/changes")
+    public EmployeeDeltaPage getChanges(@RequestParam(value = "since", required = false) Instant since,
+                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "size", defaultValue = "100") int size) {
+        return syncService.getChangesSince(since, cursor, size);
+    }
+}
@@ -0,0 +1,18 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a handler method to requests that state the {@code respond-async} preference (RFC 7240), in any
+ * {@code Prefer} header and alongside any other preferences. A request without it goes to the method mapped
+ * to the same path and verb without this annotation.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RespondAsync {
+}
@@ -0,0 +1,61 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.mvc.condition.AbstractRequestCondition;
+
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Request condition behind {@link RespondAsync}. A {@code Prefer} header is a comma-separated list of
+ * preferences, each a token optionally followed by {@code =value} and {@code ;parameters}, so
+ * {@code Prefer: return=minimal, respond-async; wait=5} matches while {@code Prefer: respond-sync} does not.
+ */
+public final class RespondAsyncCondition extends AbstractRequestCondition<RespondAsyncCondition> {
+
+    static final String PREFER = "Prefer";
+    static final String RESPOND_ASYNC = "respond-async";
+
+    @Override
+    public RespondAsyncCondition combine(RespondAsyncCondition other) {
+        return this;
+    }
+
+    @Override
+    public RespondAsyncCondition getMatchingCondition(HttpServletRequest request) {
+        if (CorsUtils.isPreFlightRequest(request) || prefersRespondAsync(request)) {
+            return this;
+        }
+        return null;
+    }
+
+    @Override
+    public int compareTo(RespondAsyncCondition other, HttpServletRequest request) {
+        return 0;
+    }
+
+    @Override
+    protected Collection<?> getContent() {
+        return List.of(PREFER + ": " + RESPOND_ASYNC);
+    }
+
+    @Override
+    protected String getToStringInfix() {
+        return " && ";
+    }
+
+    static boolean prefersRespondAsync(HttpServletRequest request) {
+        Enumeration<String> headers = request.getHeaders(PREFER);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String preference : headers.nextElement().split(",")) {
+                String token = preference.split("[=;]", 2)[0].trim();
+                if (token.equalsIgnoreCase(RESPOND_ASYNC)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
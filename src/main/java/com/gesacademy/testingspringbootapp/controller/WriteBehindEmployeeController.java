@@ -0,0 +1,61 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.WriteRequestStatus;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.service.EmployeeWriteBehindService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+/**
+ * Asynchronous variants of the create and update endpoints, taken when the client's {@code Prefer} header
+ * includes {@code respond-async} and write-behind is enabled. The write is acknowledged with 202 once it is
+ * in the local log; its outcome is polled from the {@code Location} returned.
+ */
+@RestController
+@RequestMapping("/api/v1/employees")
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class WriteBehindEmployeeController {
+
+    private final EmployeeWriteBehindService writeBehindService;
+
+    public WriteBehindEmployeeController(EmployeeWriteBehindService writeBehindService) {
+        this.writeBehindService = writeBehindService;
+    }
+
+    @RespondAsync
+    @PostMapping
+    public ResponseEntity<WriteRequestStatus> createEmployee(@RequestBody Employee employee) {
+        return accepted(writeBehindService.submitCreate(employee));
+    }
+
+    @RespondAsync
+    @PutMapping("/{id}")
+    public ResponseEntity<WriteRequestStatus> updateEmployee(@PathVariable("id") Long employeeId,
+                                                             @RequestBody Employee employee,
+                                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return accepted(writeBehindService.submitUpdate(employeeId, employee, EmployeeETags.versionOf(ifMatch)));
+    }
+
+    @GetMapping("/write-requests/{trackingId}")
+    public ResponseEntity<WriteRequestStatus> getWriteRequestStatus(@PathVariable("trackingId") String trackingId) {
+        return writeBehindService.getStatus(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<WriteRequestStatus> accepted(WriteRequestStatus status) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/employees/write-requests/{trackingId}")
+                .buildAndExpand(status.trackingId())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .header("Preference-Applied", "respond-async")
+                .body(status);
+    }
+}
@@ -0,0 +1,20 @@
+package com.gesacademy.testingspringbootapp.csv;
+
+import java.io.IOException;
+
+/**
+ * The input is not well-formed CSV; reading cannot continue past this point.
+ */
+public class CsvFormatException extends IOException {
+
+    private final long line;
+
+    public CsvFormatException(long line, String message) {
+        super("line " + line + ": " + message);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
@@ -0,0 +1,137 @@
+package com.gesacademy.testingspringbootapp.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so memory is bounded by the longest record rather than the input.
+ * Quoted fields may contain commas, doubled quotes and line breaks; records end with LF or CRLF. A leading byte
+ * order mark (as written by spreadsheet programs) is skipped.
+ * <p>
+ * A field longer than {@code maxFieldLength} characters fails the read: in practice it means a quote was
+ * never closed and the rest of the input is being read as one field.
+ */
+public final class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int END = -1;
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final int maxFieldLength;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private int position;
+    private int limit;
+    private int pushedBack = NONE;
+    private long line = 1;
+    private long recordLine;
+    private boolean started;
+
+    public CsvReader(Reader reader, int maxFieldLength) {
+        this.reader = reader;
+        this.maxFieldLength = maxFieldLength;
+    }
+
+    /**
+     * @return the fields of the next record, or {@code null} at the end of the input
+     */
+    public List<String> nextRecord() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        if (c == END) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean inQuotes = false;
+        boolean quoted = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == END) {
+                    throw new CsvFormatException(recordLine, "quoted field is not closed");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+                append(c);
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == '\r' || c == END) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                if (c != END) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (quoted) {
+                throw new CsvFormatException(line, "unexpected character after a closing quote");
+            } else if (c == '"' && field.isEmpty()) {
+                inQuotes = true;
+                quoted = true;
+            } else {
+                append(c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * The line on which the record last returned by {@link #nextRecord()} starts, counting from 1.
+     */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void append(int c) throws CsvFormatException {
+        if (field.length() == maxFieldLength) {
+            throw new CsvFormatException(recordLine, "field is longer than " + maxFieldLength + " characters");
+        }
+        field.append((char) c);
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return END;
+            }
+        }
+        return buffer[position++];
+    }
+}
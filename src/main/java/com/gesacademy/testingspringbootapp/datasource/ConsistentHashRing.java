@@ -0,0 +1,51 @@
+package com.gesacademy.testingspringbootapp.datasource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Maps keys to nodes on a hash ring. Every node is placed at {@code virtualNodes} points and a key belongs to the
+ * first point at or after its own hash, so keys spread evenly and adding a node only takes over about
+ * 1/(n + 1) of the keys, all of them from existing nodes; no key moves between two old nodes.
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("A hash ring needs at least one node and one point per node");
+        }
+        for (String node : nodes) {
+            for (int point = 0; point < virtualNodes; point++) {
+                // a collision would silently hand a point to another node, so it fails instead
+                if (ring.putIfAbsent(hash(node + "#" + point), node) != null) {
+                    throw new IllegalArgumentException("Hash collision on the ring for node " + node);
+                }
+            }
+        }
+    }
+
+    public String nodeFor(String key) {
+        Map.Entry<Long, String> owner = ring.ceilingEntry(hash(key));
+        return (owner != null ? owner : ring.firstEntry()).getValue();
+    }
+
+    // 64-bit FNV-1a, finished with the MurmurHash3 mixer so that similar keys land far apart
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,130 @@
+package com.gesacademy.testingspringbootapp.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures replica lag with a heartbeat: the primary's {@code replication_heartbeat} row is stamped on every
+ * check, and the stamp read back from a replica is as old as that replica is behind (plus up to one check
+ * interval). Replicas within {@code maxLag} are offered for reads, the others wait for the next check.
+ * <p>
+ * Both stamps come from this application's clock, so database clocks don't matter. Several instances may
+ * stamp the same row; the newest stamp wins, which only makes every instance's view slightly fresher.
+ */
+public class ReplicaLagMonitor implements MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    public static final String LAG_METRIC = "employee.datasource.replica.lag";
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final JdbcTemplate primary;
+    private final List<ReplicaCheck> checks;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+
+    private record ReplicaCheck(ReplicaRoutingDataSource.Replica replica, JdbcTemplate jdbcTemplate) {
+    }
+
+    // a replica is read one check after the stamp it may not have received yet, so the lag can read up to one
+    // interval high; a limit below that would never let a replica in
+    public ReplicaLagMonitor(DataSource primary, ReplicaRoutingDataSource routingDataSource, Duration maxLag,
+                             Duration checkInterval) {
+        if (maxLag.compareTo(checkInterval) <= 0) {
+            throw new IllegalArgumentException("Maximum replica lag " + maxLag + " must be longer than the check interval "
+                    + checkInterval);
+        }
+        this.primary = jdbcTemplate(primary);
+        this.checks = routingDataSource.replicas().stream()
+                .map(replica -> new ReplicaCheck(replica, jdbcTemplate(replica.dataSource())))
+                .toList();
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+    }
+
+    // replicas only take reads after the first check, once the schema is migrated
+    @EventListener(ApplicationReadyEvent.class)
+    public void startChecking() {
+        scheduler.scheduleWithFixedDelay(this::checkQuietly, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ReplicaCheck check : checks) {
+            // NaN while the replica cannot be reached
+            Gauge.builder(LAG_METRIC, check.replica(),
+                            replica -> replica.lag() != null ? replica.lag().toNanos() / 1e9 : Double.NaN)
+                    .description("How far the replica is behind the primary, as of the last check")
+                    .baseUnit("seconds")
+                    .tag("replica", check.replica().name())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Stamps the heartbeat on the primary, then updates every replica's lag and availability.
+     */
+    public void check() {
+        primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", Timestamp.from(Instant.now()));
+        for (ReplicaCheck check : checks) {
+            ReplicaRoutingDataSource.Replica replica = check.replica();
+            boolean wasAvailable = replica.available();
+            try {
+                Timestamp beatAt = check.jdbcTemplate().queryForObject(
+                        "SELECT beat_at FROM replication_heartbeat WHERE id = 1", Timestamp.class);
+                Duration lag = Duration.between(beatAt.toInstant(), Instant.now());
+                replica.update(lag.compareTo(maxLag) <= 0, lag);
+                if (wasAvailable && !replica.available()) {
+                    log.warn("Replica {} is {} behind, reads go elsewhere until it catches up", replica.name(), lag);
+                }
+            } catch (RuntimeException ex) {
+                replica.update(false, null);
+                if (wasAvailable) {
+                    log.warn("Replica {} cannot be reached, reads go elsewhere", replica.name(), ex);
+                }
+            }
+            if (!wasAvailable && replica.available()) {
+                log.info("Replica {} is available for reads ({} behind)", replica.name(), replica.lag());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    // the primary can fail too; replicas keep their last state until the next check
+    private void checkQuietly() {
+        try {
+            check();
+        } catch (RuntimeException ex) {
+            log.warn("Replica lag check failed", ex);
+        }
+    }
+
+    private static JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,152 @@
+package com.gesacademy.testingspringbootapp.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands out read-only connections: round-robin over the replicas that are currently available, or from the
+ * primary when none is. A replica is available once {@link ReplicaLagMonitor} has seen it within the allowed
+ * lag, and stops being available as soon as a check finds it too far behind or unreachable.
+ * <p>
+ * All reads within one web request stay on the replica picked first, so a later read in the request never
+ * sees an older state than an earlier one (the list ETag is read before the list for that reason).
+ * <p>
+ * Reads whose result outlives the request, such as a lookup that fills the employee cache, run through
+ * {@link #callOnPrimary(Supplier)}: a replica that has not yet seen a delete would otherwise put the deleted
+ * row back in the cache for its whole lifetime.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PINNED_REPLICA = ReplicaRoutingDataSource.class.getName() + ".REPLICA";
+    private static final String PRIMARY = "";
+    private static final ThreadLocal<Boolean> ON_PRIMARY = new ThreadLocal<>();
+
+    private final Map<String, Replica> replicas = new LinkedHashMap<>();
+    private final List<Replica> rotation;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * A replica's state as of its last lag check.
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean available;
+        private volatile Duration lag;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean available() {
+            return available;
+        }
+
+        // null while the replica has not been reached
+        public Duration lag() {
+            return lag;
+        }
+
+        void update(boolean available, Duration lag) {
+            this.available = available;
+            this.lag = lag;
+        }
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources) {
+        Map<Object, Object> targets = new LinkedHashMap<>();
+        replicaDataSources.forEach((name, dataSource) -> {
+            replicas.put(name, new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        this.rotation = List.copyOf(replicas.values());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public List<Replica> replicas() {
+        return rotation;
+    }
+
+    /**
+     * Closes the replica pools; the primary belongs to whoever created it.
+     */
+    public void close() throws Exception {
+        for (Replica replica : rotation) {
+            if (replica.dataSource() instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the task with its read-only connections taken from the primary, on this thread only; the rest of
+     * the current request stays on the primary too. Without the "replicas" profile this just runs the task.
+     */
+    public static <T> T callOnPrimary(Supplier<T> task) {
+        Boolean previous = ON_PRIMARY.get();
+        ON_PRIMARY.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                ON_PRIMARY.remove();
+            }
+        }
+    }
+
+    // null routes to the default target, the primary. A request whose replica drops out finishes on the primary,
+    // which is never behind; moving it to another replica could go back in time.
+    @Override
+    protected Object determineCurrentLookupKey() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (ON_PRIMARY.get() != null) {
+            if (request != null) {
+                request.setAttribute(PINNED_REPLICA, PRIMARY, RequestAttributes.SCOPE_REQUEST);
+            }
+            return null;
+        }
+        if (request == null) {
+            return nextAvailable();
+        }
+        Object pinned = request.getAttribute(PINNED_REPLICA, RequestAttributes.SCOPE_REQUEST);
+        String name = pinned == null ? nextAvailable() : (String) pinned;
+        if (name == null || name.equals(PRIMARY) || !replicas.get(name).available()) {
+            request.setAttribute(PINNED_REPLICA, PRIMARY, RequestAttributes.SCOPE_REQUEST);
+            return null;
+        }
+        request.setAttribute(PINNED_REPLICA, name, RequestAttributes.SCOPE_REQUEST);
+        return name;
+    }
+
+    private String nextAvailable() {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(rotation.size(), 1));
+        for (int offset = 0; offset < rotation.size(); offset++) {
+            Replica replica = rotation.get((start + offset) % rotation.size());
+            if (replica.available()) {
+                return replica.name();
+            }
+        }
+        return null;
+    }
+}
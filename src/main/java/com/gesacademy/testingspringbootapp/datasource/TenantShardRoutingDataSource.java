@@ -0,0 +1,97 @@
+package com.gesacademy.testingspringbootapp.datasource;
+
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections to the shard that holds the current tenant, found on a {@link ConsistentHashRing} over
+ * the shard names. Work that spans shards (a scatter-gather read) names the shard explicitly with
+ * {@link #callOnShard}.
+ * <p>
+ * The shards are named after their position ("shard-0", "shard-1", ...), so new shards must be appended: the
+ * ring then moves only the tenants the new shard takes over, and existing positions keep their id ranges.
+ */
+public class TenantShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<String> SHARD_OVERRIDE = new ThreadLocal<>();
+
+    private final Map<String, DataSource> shards;
+    private final ConsistentHashRing ring;
+
+    public TenantShardRoutingDataSource(List<DataSource> shardDataSources, int virtualNodes) {
+        this.shards = new LinkedHashMap<>();
+        for (int index = 0; index < shardDataSources.size(); index++) {
+            shards.put(shardName(index), shardDataSources.get(index));
+        }
+        this.ring = new ConsistentHashRing(List.copyOf(shards.keySet()), virtualNodes);
+        setTargetDataSources(Map.copyOf(shards));
+        // an unknown key is a bug, not a reason to fall back to some shard
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public static String shardName(int index) {
+        return "shard-" + index;
+    }
+
+    /**
+     * The shards by name, in configuration order.
+     */
+    public Map<String, DataSource> shards() {
+        return shards;
+    }
+
+    public String shardFor(String tenant) {
+        return ring.nodeFor(tenant);
+    }
+
+    /**
+     * Runs the task with connections from the given shard, whatever the current tenant.
+     */
+    public <T> T callOnShard(String shard, Supplier<T> task) {
+        if (!shards.containsKey(shard)) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        String previous = SHARD_OVERRIDE.get();
+        SHARD_OVERRIDE.set(shard);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                SHARD_OVERRIDE.set(previous);
+            } else {
+                SHARD_OVERRIDE.remove();
+            }
+        }
+    }
+
+    /**
+     * Closes the shard pools.
+     */
+    public void close() throws Exception {
+        for (DataSource shard : shards.values()) {
+            if (shard instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = SHARD_OVERRIDE.get();
+        if (shard != null) {
+            return shard;
+        }
+        String tenant = TenantContext.current();
+        if (TenantContext.ALL_TENANTS.equals(tenant)) {
+            throw new IllegalStateException("A read across tenants has to pick its shard with callOnShard");
+        }
+        return shardFor(tenant);
+    }
+}
@@ -0,0 +1,18 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+/**
+ * A maintenance operation to run over every employee of the current tenant in the background.
+ *
+ * @param type           what the job does to each matching employee
+ * @param emailDomain    domain of the employees the job applies to, e.g. {@code example.com};
+ *                       not used by {@link Type#REINDEX}
+ * @param newEmailDomain domain their emails move to, only used by {@link Type#CHANGE_EMAIL_DOMAIN}
+ */
+public record BulkJobRequest(Type type, String emailDomain, String newEmailDomain) {
+
+    public enum Type {
+        CHANGE_EMAIL_DOMAIN,
+        DELETE_BY_EMAIL_DOMAIN,
+        REINDEX
+    }
+}
@@ -0,0 +1,30 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+import java.time.Instant;
+
+/**
+ * Progress of a bulk job.
+ *
+ * @param id              id returned when the job was submitted
+ * @param type            what the job does
+ * @param emailDomain     domain of the employees the job applies to
+ * @param newEmailDomain  domain their emails move to
+ * @param state           whether the job is still running or how it ended
+ * @param totalChunks     number of id ranges the job is split into
+ * @param completedChunks number of those ranges already processed
+ * @param rowsAffected    employees changed, deleted or indexed so far
+ * @param message         why the job failed, {@code null} otherwise
+ * @param createdAt       when the job was submitted
+ * @param finishedAt      when the job ended, {@code null} while it runs
+ */
+public record BulkJobStatus(Long id, BulkJobRequest.Type type, String emailDomain, String newEmailDomain, State state,
+                            int totalChunks, int completedChunks, long rowsAffected, String message,
+                            Instant createdAt, Instant finishedAt) {
+
+    public enum State {
+        RUNNING,
+        SUCCEEDED,
+        FAILED,
+        CANCELLED
+    }
+}
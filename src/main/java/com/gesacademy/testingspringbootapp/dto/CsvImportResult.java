@@ -0,0 +1,26 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import.
+ *
+ * @param rows       data rows read (blank lines are not counted)
+ * @param created    employees inserted
+ * @param duplicates rows skipped because the email already existed or appeared earlier in the file
+ * @param invalid    rows skipped because a value was missing, too long or the column count was wrong
+ * @param rejected   the first rejected rows, at most {@link #MAX_REPORTED_ROWS}
+ */
+public record CsvImportResult(long rows, long created, long duplicates, long invalid, List<RejectedRow> rejected) {
+
+    public static final int MAX_REPORTED_ROWS = 100;
+
+    /**
+     * @param line    line of the file on which the row starts
+     * @param email   the row's email, if it had one
+     * @param status  {@link EmployeeBatchResult.Status#DUPLICATE} or {@link EmployeeBatchResult.Status#INVALID}
+     * @param message why the row was skipped
+     */
+    public record RejectedRow(long line, String email, EmployeeBatchResult.Status status, String message) {
+    }
+}
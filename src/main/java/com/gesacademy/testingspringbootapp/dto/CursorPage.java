@@ -0,0 +1,12 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated result.
+ *
+ * @param content    the items of this page, in key order
+ * @param nextCursor opaque token to pass back as {@code cursor} to fetch the next page, or {@code null} on the last page
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+}
@@ -0,0 +1,27 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+/**
+ * Outcome of a single row of a bulk create request.
+ *
+ * @param index   position of the row in the request body
+ * @param email   email of the submitted employee
+ * @param status  what happened to the row
+ * @param id      id of the created employee, {@code null} unless {@link Status#CREATED}
+ * @param message reason the row was rejected, {@code null} when it was created
+ */
+public record EmployeeBatchResult(int index, String email, Status status, Long id, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    public static EmployeeBatchResult created(int index, String email, Long id) {
+        return new EmployeeBatchResult(index, email, Status.CREATED, id, null);
+    }
+
+    public static EmployeeBatchResult rejected(int index, String email, Status status, String message) {
+        return new EmployeeBatchResult(index, email, status, null, message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+import java.time.Instant;
+
+/**
+ * One committed change to an employee, as read from the change stream.
+ *
+ * @param position   position in the stream; pass it back as {@code after} (or {@code Last-Event-ID}) to resume
+ * @param employeeId id of the changed employee
+ * @param type       what happened to the employee
+ * @param firstName  first name after the change, {@code null} for deletions
+ * @param lastName   last name after the change, {@code null} for deletions
+ * @param email      email after the change, {@code null} for deletions
+ * @param changedAt  when the change was written
+ */
+public record EmployeeChange(long position, Long employeeId, Type type, String firstName, String lastName,
+                             String email, Instant changedAt) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,12 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+import java.util.List;
+
+/**
+ * A run of consecutive changes from the change stream.
+ *
+ * @param changes the changes, in stream order
+ * @param next    position to pass back as {@code after} for the following changes; unchanged when the page is empty
+ */
+public record EmployeeChangePage(List<EmployeeChange> changes, long next) {
+}
@@ -0,0 +1,18 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+import java.time.Instant;
+
+/**
+ * An employee as it is now, or the fact that it was deleted, for changed-since sync.
+ *
+ * @param id        id of the employee
+ * @param deleted   whether the employee was deleted; the other fields except {@code changedAt} are then {@code null}
+ * @param firstName current first name
+ * @param lastName  current last name
+ * @param email     current email
+ * @param version   current version, as sent in the ETag
+ * @param changedAt when the employee was last updated, or when it was deleted
+ */
+public record EmployeeDelta(Long id, boolean deleted, String firstName, String lastName, String email, Long version,
+                            Instant changedAt) {
+}
@@ -0,0 +1,14 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+import java.util.List;
+
+/**
+ * One slice of the employees changed since a point in time, oldest change first.
+ *
+ * @param changes    the changed and deleted employees of this page
+ * @param nextCursor opaque token to pass back as {@code cursor} for the changes after this page; also returned
+ *                   when there are none yet, so a client keeps it to sync again later
+ * @param hasMore    whether more changes are already waiting after this page
+ */
+public record EmployeeDeltaPage(List<EmployeeDelta> changes, String nextCursor, boolean hasMore) {
+}
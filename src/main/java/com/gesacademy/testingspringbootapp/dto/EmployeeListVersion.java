@@ -0,0 +1,25 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+import java.time.Instant;
+
+/**
+ * Fingerprint of the whole employees table for conditional list reads. Any insert or delete moves the count
+ * and any update moves {@code versionSum}, since every update bumps the row's version. The times alone are not
+ * enough: they are stamped before the commit, so a write that commits after a read of the fingerprint can carry
+ * a time that is not past the maximum that read saw.
+ *
+ * @param count         number of employees
+ * @param versionSum    sum of the employees' versions
+ * @param lastUpdatedAt latest update time of any employee, null when there are none
+ * @param lastDeletedAt latest delete time of any employee, null when none was ever deleted
+ */
+public record EmployeeListVersion(long count, long versionSum, Instant lastUpdatedAt, Instant lastDeletedAt) {
+
+    // when the list last changed, null for a table that never held a row
+    public Instant lastModified() {
+        if (lastUpdatedAt == null || (lastDeletedAt != null && lastDeletedAt.isAfter(lastUpdatedAt))) {
+            return lastDeletedAt;
+        }
+        return lastUpdatedAt;
+    }
+}
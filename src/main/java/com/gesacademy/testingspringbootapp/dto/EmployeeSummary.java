@@ -0,0 +1,19 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+import com.gesacademy.testingspringbootapp.model.Employee;
+
+/**
+ * Read-only view of an employee, built straight from a JPQL constructor expression so list
+ * queries never materialize managed {@code Employee} entities.
+ *
+ * @param id        primary key of the employee
+ * @param firstName first name of the employee
+ * @param lastName  last name of the employee
+ * @param email     email of the employee
+ */
+public record EmployeeSummary(Long id, String firstName, String lastName, String email) {
+
+    public static EmployeeSummary of(Employee employee) {
+        return new EmployeeSummary(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    }
+}
@@ -0,0 +1,9 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+/**
+ * Outcome of loading an employee snapshot.
+ *
+ * @param importedRows number of employees inserted
+ */
+public record SnapshotImportResult(long importedRows) {
+}
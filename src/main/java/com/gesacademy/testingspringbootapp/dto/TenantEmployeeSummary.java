@@ -0,0 +1,17 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+/**
+ * An employee summary together with its tenant, for reads that span tenants.
+ *
+ * @param tenantId  tenant the employee belongs to
+ * @param id        primary key of the employee, unique across tenants and shards
+ * @param firstName first name of the employee
+ * @param lastName  last name of the employee
+ * @param email     email of the employee
+ */
+public record TenantEmployeeSummary(String tenantId, Long id, String firstName, String lastName, String email) {
+
+    public EmployeeSummary summary() {
+        return new EmployeeSummary(id, firstName, lastName, email);
+    }
+}
@@ -0,0 +1,22 @@
+package com.gesacademy.testingspringbootapp.dto;
+
+/**
+ * Where an asynchronously accepted write stands.
+ *
+ * @param trackingId id returned when the write was accepted
+ * @param state      whether the write is still queued, was applied, or was rejected
+ * @param employeeId id of the created or updated employee once applied
+ * @param message    why the write was rejected, {@code null} otherwise
+ */
+public record WriteRequestStatus(String trackingId, State state, Long employeeId, String message) {
+
+    public enum State {
+        PENDING,
+        APPLIED,
+        FAILED
+    }
+
+    public static WriteRequestStatus pending(String trackingId) {
+        return new WriteRequestStatus(trackingId, State.PENDING, null, null);
+    }
+}
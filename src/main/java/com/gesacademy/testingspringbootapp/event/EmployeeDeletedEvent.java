@@ -0,0 +1,9 @@
+package com.gesacademy.testingspringbootapp.event;
+
+/**
+ * Published when an employee was deleted.
+ *
+ * @param id id of the deleted employee
+ */
+public record EmployeeDeletedEvent(Long id) {
+}
@@ -0,0 +1,22 @@
+package com.gesacademy.testingspringbootapp.event;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+
+import java.util.List;
+
+/**
+ * Published when employees were created or updated; listeners see the state that was written.
+ *
+ * @param employees the saved employees
+ * @param created   whether the employees were newly inserted rather than updated
+ */
+public record EmployeesSavedEvent(List<EmployeeSummary> employees, boolean created) {
+
+    public static EmployeesSavedEvent created(List<EmployeeSummary> employees) {
+        return new EmployeesSavedEvent(employees, true);
+    }
+
+    public static EmployeesSavedEvent updated(List<EmployeeSummary> employees) {
+        return new EmployeesSavedEvent(employees, false);
+    }
+}
@@ -0,0 +1,11 @@
+package com.gesacademy.testingspringbootapp.exception;
+
+public class ChangesExpiredException extends RuntimeException {
+    public ChangesExpiredException(String message) {
+        super(message);
+    }
+
+    public ChangesExpiredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,14 @@
 package com.gesacademy.testingspringbootapp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @Setter
 @Getter
@@ -9,13 +16,27 @@ import lombok.*;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "employees")
+@Table(name = "employees", indexes = {
+        @Index(name = "ux_employees_email", columnList = "tenant_id, email", unique = true),
+        @Index(name = "ix_employees_first_name_last_name", columnList = "tenant_id, first_name, last_name"),
+        @Index(name = "ix_employees_updated_at", columnList = "tenant_id, updated_at"),
+        @Index(name = "ix_employees_tenant_id", columnList = "tenant_id, id")
+})
 public class Employee {
 
+    // Pooled sequence (a table on MySQL) instead of IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
+    // Set by Hibernate from TenantContext on insert, and every query is restricted to the current tenant.
+    // Never part of the body: under the "shards" profile clients pick the tenant with the X-Tenant-Id header.
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    @JsonIgnore
+    private String tenantId;
+
     @Column(name = "first_name",  nullable = false)
     private String firstName;
 
@@ -24,4 +45,41 @@ public class Employee {
 
     @Column(nullable = false)
     private String email;
+
+    // Optimistic lock, exposed to clients as the ETag; a client-sent value is ignored, If-Match carries it instead
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Audit timestamps from the application clock, read-only to clients like the version. updatedAt drives the
+    // changed-since sync; bulk updates that bypass the entity set it themselves. Omitted when not known.
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant updatedAt;
+
+    @PrePersist
+    void onCreate() {
+        createdAt = currentTimestamp();
+        updatedAt = createdAt;
+    }
+
+    // only runs when Hibernate found the entity dirty, so a no-op save keeps the timestamp (and the version)
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = currentTimestamp();
+    }
+
+    /**
+     * The current time at the precision of the timestamp columns, so the value held in memory is the one stored.
+     */
+    public static Instant currentTimestamp() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
 }
@@ -0,0 +1,29 @@
+package com.gesacademy.testingspringbootapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Marks an employee as deleted, so clients syncing by timestamp learn about deletions as well as changes.
+ * Ids are never reused, so the row is kept for good.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "employee_tombstones", indexes = {
+        @Index(name = "ix_employee_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class EmployeeTombstone {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+}
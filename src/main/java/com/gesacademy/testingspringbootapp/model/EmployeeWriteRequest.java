@@ -0,0 +1,51 @@
+package com.gesacademy.testingspringbootapp.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Outcome of a create or update that was accepted through the write-behind log. The row is written in the
+ * same transaction as the change itself, so its presence tells a replay that the entry was already applied.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "employee_write_requests")
+public class EmployeeWriteRequest {
+
+    public enum Operation {
+        CREATE,
+        UPDATE
+    }
+
+    public enum Status {
+        APPLIED,
+        FAILED
+    }
+
+    @Id
+    @Column(name = "tracking_id", length = 36)
+    private String trackingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Operation operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(length = 512)
+    private String message;
+
+    @Column(name = "completed_at", nullable = false)
+    private Instant completedAt;
+}
@@ -0,0 +1,68 @@
+package com.gesacademy.testingspringbootapp.ratelimit;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits requests through the read budget (GET, HEAD) or the write budget (everything else) before the handler
+ * runs; a refused request fails with 429. The client is the {@value #CLIENT_HEADER} header, set by the gateway
+ * in front of the service, or the remote address when the header is missing.
+ * <p>
+ * A streamed response keeps its concurrency slot until it is written, but its duration follows the reader rather
+ * than the load, so it does not adjust the limit.
+ */
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String CLIENT_HEADER = "X-Client-Id";
+
+    private static final String ADMISSION = RateLimitInterceptor.class.getName() + ".ADMISSION";
+    private static final String STREAMED = RateLimitInterceptor.class.getName() + ".STREAMED";
+
+    private final RequestBudget readBudget;
+    private final RequestBudget writeBudget;
+
+    private record Admission(RequestBudget budget, long admittedAt) {
+    }
+
+    public RateLimitInterceptor(RequestBudget readBudget, RequestBudget writeBudget) {
+        this.readBudget = readBudget;
+        this.writeBudget = writeBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the dispatch that finishes a streamed response was admitted with the original request
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        RequestBudget budget = isRead(request) ? readBudget : writeBudget;
+        request.setAttribute(ADMISSION, new Admission(budget, budget.acquire(clientOf(request))));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(STREAMED, Boolean.TRUE);
+    }
+
+    // runs after the final dispatch only, so a streamed response releases its slot once it is written
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(ADMISSION) instanceof Admission admission) {
+            request.removeAttribute(ADMISSION);
+            admission.budget().release(admission.admittedAt(), request.getAttribute(STREAMED) == null);
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        String client = request.getHeader(CLIENT_HEADER);
+        return client != null && !client.isBlank() ? client : request.getRemoteAddr();
+    }
+}
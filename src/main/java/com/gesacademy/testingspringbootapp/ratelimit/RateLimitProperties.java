@@ -0,0 +1,24 @@
+package com.gesacademy.testingspringbootapp.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The {@code employee.rate-limit.*} settings: one budget for reads (GET, HEAD) and one for writes.
+ */
+@ConfigurationProperties("employee.rate-limit")
+public record RateLimitProperties(Budget read, Budget write) {
+
+    /**
+     * @param rate               tokens per second refilled into each client's bucket
+     * @param burst              bucket capacity, the requests a client may send at once after being idle
+     * @param initialConcurrency requests in flight allowed at startup, across all clients
+     * @param minConcurrency     the concurrency limit never drops below this
+     * @param maxConcurrency     the concurrency limit never grows above this
+     * @param latencyThreshold   a request slower than this lowers the concurrency limit
+     */
+    public record Budget(double rate, int burst, int initialConcurrency, int minConcurrency, int maxConcurrency,
+                         Duration latencyThreshold) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.gesacademy.testingspringbootapp.ratelimit;
+
+import com.gesacademy.testingspringbootapp.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission for one class of requests: a token bucket per client, so one client cannot take the whole
+ * capacity, and an {@link AdaptiveConcurrencyLimiter} shared by all clients, so the work admitted stays what
+ * the database can serve at the target latency. A refused request costs no database work.
+ */
+public class RequestBudget implements MeterBinder {
+
+    public static final String REJECTED_METRIC = "employee.requests.rejected";
+    public static final String LIMIT_METRIC = "employee.concurrency.limit";
+    public static final String IN_FLIGHT_METRIC = "employee.concurrency.in.flight";
+
+    private static final long MAX_CLIENTS = 100_000;
+    // nothing says when a slot frees up; a second is long enough for the limit to settle
+    private static final Duration CONCURRENCY_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final String name;
+    private final RateLimitProperties.Budget limits;
+    private final LongSupplier nanoClock;
+    private final Cache<String, TokenBucket> buckets;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LongAdder rateRejections = new LongAdder();
+    private final LongAdder concurrencyRejections = new LongAdder();
+
+    public RequestBudget(String name, RateLimitProperties.Budget limits, LongSupplier nanoClock) {
+        this.name = name;
+        this.limits = limits;
+        this.nanoClock = nanoClock;
+        // a bucket left alone this long is full again, so dropping it loses nothing
+        Duration refillTime = Duration.ofNanos(Math.round(limits.burst() / limits.rate() * 1e9));
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(refillTime.compareTo(Duration.ofSeconds(1)) > 0 ? refillTime : Duration.ofSeconds(1))
+                .maximumSize(MAX_CLIENTS)
+                .build();
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(limits.initialConcurrency(), limits.minConcurrency(),
+                limits.maxConcurrency(), limits.latencyThreshold());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public AdaptiveConcurrencyLimiter concurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Admits a request from the client or refuses it with {@link TooManyRequestsException}. An admitted request
+     * holds a concurrency slot until {@link #release}.
+     *
+     * @return the admission time, to be handed back to {@link #release}
+     */
+    public long acquire(String client) {
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(client, key -> new TokenBucket(limits.rate(), limits.burst(), now));
+        long wait = bucket.tryConsume(now);
+        if (wait > 0) {
+            rateRejections.increment();
+            throw new TooManyRequestsException("Rate limit exceeded for " + name + " requests", Duration.ofNanos(wait));
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            concurrencyRejections.increment();
+            throw new TooManyRequestsException("Too many concurrent " + name + " requests", CONCURRENCY_RETRY_AFTER);
+        }
+        return now;
+    }
+
+    /**
+     * Frees the request's concurrency slot; a sampled request's latency adjusts the limit.
+     */
+    public void release(long admittedAt, boolean sample) {
+        if (sample) {
+            concurrencyLimiter.release(nanoClock.getAsLong() - admittedAt);
+        } else {
+            concurrencyLimiter.release();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(REJECTED_METRIC, rateRejections, LongAdder::sum)
+                .description("Requests refused with 429 before reaching the service")
+                .tag("budget", name)
+                .tag("reason", "rate")
+                .register(registry);
+        FunctionCounter.builder(REJECTED_METRIC, concurrencyRejections, LongAdder::sum)
+                .description("Requests refused with 429 before reaching the service")
+                .tag("budget", name)
+                .tag("reason", "concurrency")
+                .register(registry);
+        Gauge.builder(LIMIT_METRIC, concurrencyLimiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive limit on requests in flight")
+                .tag("budget", name)
+                .register(registry);
+        Gauge.builder(IN_FLIGHT_METRIC, concurrencyLimiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Admitted requests not yet completed")
+                .tag("budget", name)
+                .register(registry);
+    }
+}
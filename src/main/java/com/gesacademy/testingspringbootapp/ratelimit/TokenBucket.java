@@ -0,0 +1,46 @@
+package com.gesacademy.testingspringbootapp.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket that refills at {@code tokensPerSecond} up to {@code capacity} tokens, kept as a single
+ * timestamp (the generic cell rate algorithm): the time at which the bucket would be full again. Taking a
+ * token pushes that time one refill interval further, and a request is refused while it lies more than
+ * {@code capacity - 1} intervals ahead. One compare-and-set per request, no lock and no refill timer.
+ */
+public final class TokenBucket {
+
+    private final long refillIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong fullAt;
+
+    // starts full
+    public TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("A token bucket needs a positive rate and room for at least one token");
+        }
+        this.refillIntervalNanos = Math.max(1, Math.round(1e9 / tokensPerSecond));
+        this.burstToleranceNanos = (capacity - 1) * refillIntervalNanos;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if there is one.
+     *
+     * @return 0 when a token was taken, otherwise how many nanoseconds until the next one is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            // nanoTime values are only comparable by difference
+            long start = current - nowNanos > 0 ? current : nowNanos;
+            long wait = start - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, start + refillIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,14 +1,39 @@
 package com.gesacademy.testingspringbootapp.repository;
 
+import com.gesacademy.testingspringbootapp.config.CacheConfig;
+import com.gesacademy.testingspringbootapp.dto.EmployeeListVersion;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.dto.TenantEmployeeSummary;
 import com.gesacademy.testingspringbootapp.model.Employee;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.ListPagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+// Only the JPA methods the services use are declared, so the in-memory store implements all of them;
+// Spring Data routes them to SimpleJpaRepository like the inherited ones
+public interface EmployeeRepository extends ListCrudRepository<Employee, Long>, ListPagingAndSortingRepository<Employee, Long> {
 
+    void flush();
+
+    <S extends Employee> S saveAndFlush(S employee);
+
+    <S extends Employee> List<S> saveAllAndFlush(Iterable<S> employees);
+
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, key = CacheConfig.EMAIL_KEY, unless = "#result == null")
     Optional<Employee> findByEmail(String email);
 
     // Define a custom query method using JPQL with named parameters
@@ -26,4 +51,54 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // Define a custom query method using native SQL with index parameters
     @Query(value = "SELECT * FROM employees e WHERE e.first_name = ?1 AND e.last_name = ?2", nativeQuery = true)
     Optional<Employee> findByNativeSQLIndexed(String firstName, String lastName);
+
+    // Which of the given emails are already taken, resolved with a single IN query
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Conditional update in a single round trip: only succeeds while the row is still at the expected version.
+    // Entity callbacks don't run for bulk updates, so the caller passes the new updatedAt.
+    @Modifying
+    @Query("UPDATE Employee e SET e.firstName = :firstName, e.lastName = :lastName, e.email = :email, "
+            + "e.version = e.version + 1, e.updatedAt = :updatedAt WHERE e.id = :id AND e.version = :version")
+    int updateIfVersionMatches(@Param("id") Long id, @Param("firstName") String firstName,
+                               @Param("lastName") String lastName, @Param("email") String email,
+                               @Param("version") Long version, @Param("updatedAt") Instant updatedAt);
+
+    // All employees as read-only summaries; nothing enters the persistence context
+    @Query("SELECT new com.gesacademy.testingspringbootapp.dto.EmployeeSummary(e.id, e.firstName, e.lastName, e.email) "
+            + "FROM Employee e ORDER BY e.id")
+    List<EmployeeSummary> findAllSummaries();
+
+    // Fingerprint for conditional list reads: the count and both maxima are answered from indexes; the version sum
+    // reads the tenant's rows, still well short of building and sending the list it stands for
+    @Query("SELECT new com.gesacademy.testingspringbootapp.dto.EmployeeListVersion(COUNT(e), COALESCE(SUM(e.version), 0L), "
+            + "MAX(e.updatedAt), "
+            + "(SELECT MAX(t.deletedAt) FROM EmployeeTombstone t)) FROM Employee e")
+    EmployeeListVersion findListVersion();
+
+    // Keyset pagination: the next slice of employee summaries after the given id, seeking on the primary key
+    List<EmployeeSummary> findSummariesByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Keyset page across tenants, each row with its tenant; only sees other tenants' rows when run as
+    // TenantContext.ALL_TENANTS
+    @Query("SELECT new com.gesacademy.testingspringbootapp.dto.TenantEmployeeSummary(e.tenantId, e.id, e.firstName, "
+            + "e.lastName, e.email) FROM Employee e WHERE e.id > :id ORDER BY e.id")
+    List<TenantEmployeeSummary> findTenantSummariesAfter(@Param("id") Long id, Limit limit);
+
+    // Keyset page over (updatedAt, id) up to a bound: employees changed after the given position, oldest first,
+    // served by the updated_at index (InnoDB secondary indexes end with the primary key)
+    @Query("SELECT e FROM Employee e WHERE (e.updatedAt > :updatedAt OR (e.updatedAt = :updatedAt AND e.id > :id)) "
+            + "AND e.updatedAt <= :until ORDER BY e.updatedAt, e.id")
+    List<Employee> findUpdatedAfter(@Param("updatedAt") Instant updatedAt, @Param("id") Long id,
+                                    @Param("until") Instant until, Limit limit);
+
+    // Search on the (first_name, last_name) index, returning an interface projection of the matching rows
+    List<EmployeeView> findByFirstNameAndLastNameOrderByIdAsc(String firstName, String lastName);
+
+    // Stream all employee summaries in id order; the fetch size lets the driver read through a server-side cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.gesacademy.testingspringbootapp.dto.EmployeeSummary(e.id, e.firstName, e.lastName, e.email) "
+            + "FROM Employee e ORDER BY e.id")
+    Stream<EmployeeSummary> streamAllSummaries();
 }
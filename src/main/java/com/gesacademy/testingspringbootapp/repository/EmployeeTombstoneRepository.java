@@ -0,0 +1,20 @@
+package com.gesacademy.testingspringbootapp.repository;
+
+import com.gesacademy.testingspringbootapp.model.EmployeeTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Long> {
+
+    // Keyset page over (deletedAt, employeeId) up to a bound, served by the deleted_at index
+    @Query("SELECT t FROM EmployeeTombstone t WHERE (t.deletedAt > :deletedAt "
+            + "OR (t.deletedAt = :deletedAt AND t.employeeId > :employeeId)) AND t.deletedAt <= :until "
+            + "ORDER BY t.deletedAt, t.employeeId")
+    List<EmployeeTombstone> findDeletedAfter(@Param("deletedAt") Instant deletedAt, @Param("employeeId") Long employeeId,
+                                             @Param("until") Instant until, Limit limit);
+}
@@ -0,0 +1,16 @@
+package com.gesacademy.testingspringbootapp.repository;
+
+/**
+ * Closed interface projection of an employee; Spring Data selects only these columns
+ * and backs the returned proxies with the query tuples instead of managed entities.
+ */
+public interface EmployeeView {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getEmail();
+}
@@ -0,0 +1,16 @@
+package com.gesacademy.testingspringbootapp.repository;
+
+import com.gesacademy.testingspringbootapp.model.EmployeeWriteRequest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface EmployeeWriteRequestRepository extends JpaRepository<EmployeeWriteRequest, String> {
+
+    // Which of the given tracking ids already have an outcome, i.e. were applied before a restart
+    @Query("SELECT w.trackingId FROM EmployeeWriteRequest w WHERE w.trackingId IN :trackingIds")
+    Set<String> findExistingTrackingIds(@Param("trackingIds") Collection<String> trackingIds);
+}
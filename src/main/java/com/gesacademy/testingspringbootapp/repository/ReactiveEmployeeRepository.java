@@ -0,0 +1,82 @@
+package com.gesacademy.testingspringbootapp.repository;
+
+import com.gesacademy.testingspringbootapp.model.Employee;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeRepository} on R2DBC, active with the "reactive" profile.
+ * Inserts stay on the JPA stack, which owns id allocation from the pooled employees_seq. Its SQL is not
+ * filtered by tenant and always runs against the one R2DBC database, so it is off under "shards".
+ */
+@Repository
+@Profile("reactive & !shards")
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT_EMPLOYEES = "SELECT id, first_name, last_name, email, version, created_at, updated_at FROM employees";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT_EMPLOYEES + " ORDER BY id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return databaseClient.sql(SELECT_EMPLOYEES + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    // Returns the number of rows updated, so 0 means there is no employee with that id.
+    // The version and update time are bumped like a JPA update would, so the blocking stack sees the change.
+    public Mono<Long> update(Employee employee) {
+        return databaseClient.sql("UPDATE employees SET first_name = :firstName, last_name = :lastName, email = :email,"
+                        + " version = version + 1, updated_at = :updatedAt WHERE id = :id")
+                .bind("firstName", employee.getFirstName())
+                .bind("lastName", employee.getLastName())
+                .bind("email", employee.getEmail())
+                .bind("updatedAt", LocalDateTime.ofInstant(Employee.currentTimestamp(), ZoneId.systemDefault()))
+                .bind("id", employee.getId())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM employees WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Employee toEmployee(Readable row) {
+        return Employee.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .version(row.get("version", Long.class))
+                .createdAt(toInstant(row.get("created_at", LocalDateTime.class)))
+                .updatedAt(toInstant(row.get("updated_at", LocalDateTime.class)))
+                .build();
+    }
+
+    // The audit columns are zone-less TIMESTAMPs written in the JVM zone, as JDBC does for the blocking stack.
+    private static Instant toInstant(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.gesacademy.testingspringbootapp.repository.memory;
+
+import com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotReader;
+import com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the in-memory store on disk as an employee snapshot file: loaded once at startup, rewritten
+ * every {@code employee.memory.persist-interval} when something changed, and once more on shutdown.
+ * Each save goes to a temporary file that then replaces the previous snapshot in one atomic move, so a
+ * crash mid-write leaves the last complete snapshot in place. Writes made after the last save are lost
+ * on a crash.
+ */
+@Component
+@Profile("memory")
+public class InMemoryEmployeePersistence implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryEmployeePersistence.class);
+
+    static final int ROW_GROUP_SIZE = 16_384;
+
+    private final InMemoryEmployeeRepository repository;
+    private final Path snapshotFile;
+    private final Duration persistInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-memory-persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private long persistedModificationCount = -1;
+
+    public InMemoryEmployeePersistence(InMemoryEmployeeRepository repository,
+                                       @Value("${employee.memory.snapshot-file}") Path snapshotFile,
+                                       @Value("${employee.memory.persist-interval}") Duration persistInterval) {
+        this.repository = repository;
+        this.snapshotFile = snapshotFile;
+        this.persistInterval = persistInterval;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (Files.exists(snapshotFile)) {
+            long started = System.nanoTime();
+            try (EmployeeSnapshotReader reader = EmployeeSnapshotReader.open(snapshotFile)) {
+                long loaded = repository.loadSnapshot(reader);
+                log.info("Loaded {} employees from {} in {} ms", loaded, snapshotFile,
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+        persistedModificationCount = repository.modificationCount();
+        scheduler.scheduleWithFixedDelay(this::persistQuietly, persistInterval.toMillis(), persistInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the store to the snapshot file unless nothing changed since the last save.
+     */
+    public synchronized void persist() throws IOException {
+        long modificationCount = repository.modificationCount();
+        if (modificationCount == persistedModificationCount) {
+            return;
+        }
+        if (snapshotFile.getParent() != null) {
+            Files.createDirectories(snapshotFile.getParent());
+        }
+        Path temporaryFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        long rows;
+        try (EmployeeSnapshotWriter writer = EmployeeSnapshotWriter.create(temporaryFile, ROW_GROUP_SIZE)) {
+            repository.writeSnapshot(writer);
+            rows = writer.rowCount();
+        }
+        Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        persistedModificationCount = modificationCount;
+        log.debug("Persisted {} employees to {}", rows, snapshotFile);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        scheduler.shutdown();
+        persist();
+    }
+
+    private void persistQuietly() {
+        try {
+            persist();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Could not persist the in-memory employee store to {}", snapshotFile, ex);
+        }
+    }
+}
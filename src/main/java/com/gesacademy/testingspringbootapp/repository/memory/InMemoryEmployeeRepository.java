@@ -0,0 +1,935 @@
+package com.gesacademy.testingspringbootapp.repository.memory;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeListVersion;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.dto.TenantEmployeeSummary;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.repository.EmployeeView;
+import com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotReader;
+import com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotWriter;
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link EmployeeRepository} held entirely in memory, used instead of JPA under the "memory" profile.
+ * <p>
+ * Rows live in parallel column arrays indexed by slot: {@code long} ids, versions and creation and update
+ * times (epoch microseconds), and one compact
+ * byte array per row holding the three strings as length-prefixed UTF-8. Slots are appended in id order
+ * and deleted slots are left as holes until compaction, so keyset reads are a binary search over the id
+ * column. Lookups by id, email and first/last name go through {@link SlotHashIndex}es, which store only
+ * slot numbers. Returned entities are detached copies, as after a JPA transaction has ended.
+ * <p>
+ * Every method is atomic on its own under a read/write lock; there are no multi-statement transactions,
+ * so a rollback does not undo writes already made. Constraint and version checks raise the same
+ * exceptions as the JPA repository.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+
+    static final int MAX_COLUMN_LENGTH = 255;
+    static final int STREAM_CHUNK_SIZE = 1024;
+    static final String EMAIL_UNIQUE_INDEX = "ux_employees_email";
+
+    private static final int NO_SLOT = -1;
+    private static final long NEVER = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private static final Map<String, Comparator<Employee>> SORTABLE_PROPERTIES = Map.of(
+            "id", Comparator.comparing(Employee::getId),
+            "firstName", Comparator.comparing(Employee::getFirstName),
+            "lastName", Comparator.comparing(Employee::getLastName),
+            "email", Comparator.comparing(Employee::getEmail),
+            "version", Comparator.comparing(Employee::getVersion),
+            "createdAt", Comparator.comparing(Employee::getCreatedAt),
+            "updatedAt", Comparator.comparing(Employee::getUpdatedAt));
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private long[] createdAts = new long[INITIAL_CAPACITY];
+    private long[] updatedAts = new long[INITIAL_CAPACITY];
+    private byte[][] rows = new byte[INITIAL_CAPACITY][];
+    private int slotCount;
+    private int liveCount;
+    // false once a row was inserted below the highest id; the next compaction restores slot order
+    private boolean ordered = true;
+    private long nextId = 1;
+    private long lastDeletedAt = NEVER;
+    private volatile long modificationCount;
+
+    private final SlotHashIndex idIndex = new SlotHashIndex(INITIAL_CAPACITY);
+    private final SlotHashIndex emailIndex = new SlotHashIndex(INITIAL_CAPACITY);
+    private final SlotHashIndex nameIndex = new SlotHashIndex(INITIAL_CAPACITY);
+
+    private record StoredEmployeeView(Long id, String firstName, String lastName, String email) implements EmployeeView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getFirstName() {
+            return firstName;
+        }
+
+        @Override
+        public String getLastName() {
+            return lastName;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    // ---- writes
+
+    @Override
+    public <S extends Employee> S save(S employee) {
+        return saveAll(List.of(employee)).getFirst();
+    }
+
+    // the whole batch is validated before any row is written, so it is applied completely or not at all
+    @Override
+    public <S extends Employee> List<S> saveAll(Iterable<S> employees) {
+        List<S> batch = new ArrayList<>();
+        employees.forEach(batch::add);
+        List<byte[]> encoded = new ArrayList<>(batch.size());
+        long now = toMicros(Employee.currentTimestamp());
+        lock.writeLock().lock();
+        try {
+            int[] slots = new int[batch.size()];
+            Set<Integer> rewrittenSlots = new HashSet<>();
+            for (int index = 0; index < batch.size(); index++) {
+                S employee = batch.get(index);
+                encoded.add(encode(employee.getFirstName(), employee.getLastName(), employee.getEmail()));
+                int slot = employee.getId() == null ? NO_SLOT : slotOf(employee.getId());
+                if (slot != NO_SLOT && employee.getVersion() != null && employee.getVersion() != versions[slot]) {
+                    throw new ObjectOptimisticLockingFailureException(Employee.class, employee.getId());
+                }
+                slots[index] = slot;
+                if (slot != NO_SLOT) {
+                    rewrittenSlots.add(slot);
+                }
+            }
+            // checked against the rows as they will be after the batch: a row the batch rewrites gives up its
+            // current email, so an email may move between rows of one batch
+            Set<String> batchEmails = new HashSet<>();
+            for (int index = 0; index < batch.size(); index++) {
+                String email = batch.get(index).getEmail();
+                int owner = slotOfEmail(email);
+                if ((owner != NO_SLOT && owner != slots[index] && !rewrittenSlots.contains(owner))
+                        || !batchEmails.add(email)) {
+                    throw duplicateEmail(email);
+                }
+            }
+            for (int index = 0; index < batch.size(); index++) {
+                store(batch.get(index), encoded.get(index), now);
+            }
+            afterWrite();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return batch;
+    }
+
+    @Override
+    public <S extends Employee> S saveAndFlush(S employee) {
+        return save(employee);
+    }
+
+    @Override
+    public <S extends Employee> List<S> saveAllAndFlush(Iterable<S> employees) {
+        return saveAll(employees);
+    }
+
+    @Override
+    public int updateIfVersionMatches(Long id, String firstName, String lastName, String email, Long version,
+                                      Instant updatedAt) {
+        byte[] row = encode(firstName, lastName, email);
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(id);
+            if (slot == NO_SLOT || version == null || versions[slot] != version) {
+                return 0;
+            }
+            int owner = slotOfEmail(email);
+            if (owner != NO_SLOT && owner != slot) {
+                throw duplicateEmail(email);
+            }
+            replace(slot, row);
+            versions[slot]++;
+            updatedAts[slot] = toMicros(updatedAt);
+            afterWrite();
+            return 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        deleteAllById(List.of(id));
+    }
+
+    @Override
+    public void delete(Employee employee) {
+        deleteById(employee.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        long now = toMicros(Employee.currentTimestamp());
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                int slot = slotOf(id);
+                if (slot != NO_SLOT) {
+                    remove(slot);
+                    lastDeletedAt = now;
+                }
+            }
+            afterWrite();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Employee> employees) {
+        List<Long> employeeIds = new ArrayList<>();
+        employees.forEach(employee -> employeeIds.add(employee.getId()));
+        deleteAllById(employeeIds);
+    }
+
+    @Override
+    public void deleteAll() {
+        long now = toMicros(Employee.currentTimestamp());
+        lock.writeLock().lock();
+        try {
+            if (liveCount > 0) {
+                lastDeletedAt = now;
+            }
+            ids = new long[INITIAL_CAPACITY];
+            versions = new long[INITIAL_CAPACITY];
+            createdAts = new long[INITIAL_CAPACITY];
+            updatedAts = new long[INITIAL_CAPACITY];
+            rows = new byte[INITIAL_CAPACITY][];
+            slotCount = 0;
+            liveCount = 0;
+            ordered = true;
+            idIndex.clear(INITIAL_CAPACITY);
+            emailIndex.clear(INITIAL_CAPACITY);
+            nameIndex.clear(INITIAL_CAPACITY);
+            modificationCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // writes are applied immediately, there is nothing pending
+    @Override
+    public void flush() {
+    }
+
+    // ---- reads
+
+    @Override
+    public Optional<Employee> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(id);
+            return slot == NO_SLOT ? Optional.empty() : Optional.of(toEmployee(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        lock.readLock().lock();
+        try {
+            return slotOf(id) != NO_SLOT;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> findAllById(Iterable<Long> ids) {
+        List<Employee> employees = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                int slot = slotOf(id);
+                if (slot != NO_SLOT) {
+                    employees.add(toEmployee(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return employees;
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Employee> employees = new ArrayList<>(liveCount);
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (rows[slot] != null) {
+                    employees.add(toEmployee(slot));
+                }
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Employee> findAll(Sort sort) {
+        List<Employee> employees = findAll();
+        if (sort.isSorted()) {
+            employees.sort(comparatorFor(sort));
+        }
+        return employees;
+    }
+
+    @Override
+    public Page<Employee> findAll(Pageable pageable) {
+        List<Employee> employees = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(employees);
+        }
+        int from = (int) Math.min(pageable.getOffset(), employees.size());
+        int to = Math.min(from + pageable.getPageSize(), employees.size());
+        return new PageImpl<>(employees.subList(from, to), pageable, employees.size());
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Employee> findByEmail(String email) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOfEmail(email);
+            return slot == NO_SLOT ? Optional.empty() : Optional.of(toEmployee(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Employee> findByJPQL(String firstName, String lastName) {
+        return findSingleByName(firstName, lastName);
+    }
+
+    @Override
+    public Optional<Employee> findByJPQLIndexed(String firstName, String lastName) {
+        return findSingleByName(firstName, lastName);
+    }
+
+    @Override
+    public Optional<Employee> findByNativeSQL(String firstName, String lastName) {
+        return findSingleByName(firstName, lastName);
+    }
+
+    @Override
+    public Optional<Employee> findByNativeSQLIndexed(String firstName, String lastName) {
+        return findSingleByName(firstName, lastName);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        Set<String> existing = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (String email : emails) {
+                if (slotOfEmail(email) != NO_SLOT) {
+                    existing.add(email);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return existing;
+    }
+
+    @Override
+    public List<EmployeeSummary> findAllSummaries() {
+        return findSummariesByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.unlimited());
+    }
+
+    @Override
+    public List<EmployeeSummary> findSummariesByIdGreaterThanOrderByIdAsc(Long id, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        List<EmployeeSummary> summaries = new ArrayList<>(Math.min(max, 1024));
+        lock.readLock().lock();
+        try {
+            for (int slot = firstSlotAfter(id); slot < slotCount && summaries.size() < max; slot++) {
+                if (rows[slot] != null) {
+                    summaries.add(toSummary(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return summaries;
+    }
+
+    // the store has no tenants, everything belongs to the default one
+    @Override
+    public List<TenantEmployeeSummary> findTenantSummariesAfter(Long id, Limit limit) {
+        return findSummariesByIdGreaterThanOrderByIdAsc(id, limit).stream()
+                .map(summary -> new TenantEmployeeSummary(TenantContext.DEFAULT_TENANT, summary.id(),
+                        summary.firstName(), summary.lastName(), summary.email()))
+                .toList();
+    }
+
+    // the version sum and the latest update time are a scan of those columns; deletes are tracked as they happen
+    @Override
+    public EmployeeListVersion findListVersion() {
+        lock.readLock().lock();
+        try {
+            long versionSum = 0;
+            long lastUpdatedAt = NEVER;
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (rows[slot] != null) {
+                    versionSum += versions[slot];
+                    lastUpdatedAt = Math.max(lastUpdatedAt, updatedAts[slot]);
+                }
+            }
+            return new EmployeeListVersion(liveCount, versionSum,
+                    lastUpdatedAt != NEVER ? fromMicros(lastUpdatedAt) : null,
+                    lastDeletedAt != NEVER ? fromMicros(lastDeletedAt) : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // there is no index on the update time here, so each page scans the time column
+    @Override
+    public List<Employee> findUpdatedAfter(Instant updatedAt, Long id, Instant until, Limit limit) {
+        long after = toMicros(updatedAt);
+        long bound = toMicros(until);
+        List<Integer> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < slotCount; slot++) {
+                long time = updatedAts[slot];
+                if (rows[slot] != null && time <= bound && (time > after || (time == after && ids[slot] > id))) {
+                    matches.add(slot);
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.<Integer>comparingLong(slot -> updatedAts[slot]).thenComparingLong(slot -> ids[slot]))
+                    .limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+                    .map(this::toEmployee)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<EmployeeView> findByFirstNameAndLastNameOrderByIdAsc(String firstName, String lastName) {
+        List<EmployeeView> views = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int slot : slotsOfName(firstName, lastName)) {
+                EmployeeSummary summary = toSummary(slot);
+                views.add(new StoredEmployeeView(summary.id(), summary.firstName(), summary.lastName(), summary.email()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return views;
+    }
+
+    // read in id-ordered chunks, each under its own short read lock, so writers are never held off for long
+    @Override
+    public Stream<EmployeeSummary> streamAllSummaries() {
+        Iterator<EmployeeSummary> iterator = new Iterator<>() {
+
+            private Iterator<EmployeeSummary> chunk = Collections.emptyIterator();
+            private long lastId = Long.MIN_VALUE;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                while (!chunk.hasNext() && !exhausted) {
+                    List<EmployeeSummary> summaries =
+                            findSummariesByIdGreaterThanOrderByIdAsc(lastId, Limit.of(STREAM_CHUNK_SIZE));
+                    exhausted = summaries.size() < STREAM_CHUNK_SIZE;
+                    if (!summaries.isEmpty()) {
+                        lastId = summaries.getLast().id();
+                    }
+                    chunk = summaries.iterator();
+                }
+                return chunk.hasNext();
+            }
+
+            @Override
+            public EmployeeSummary next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return chunk.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    // ---- persistence support
+
+    /**
+     * Number of writes applied so far; unchanged between two calls means there is nothing new to persist.
+     */
+    public long modificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Writes every row to the snapshot in id order, in chunks so writers are only briefly held off.
+     * Rows changed while the snapshot is written may appear in either state.
+     */
+    public void writeSnapshot(EmployeeSnapshotWriter writer) throws IOException {
+        long lastId = Long.MIN_VALUE;
+        long[] chunkIds = new long[STREAM_CHUNK_SIZE];
+        long[] chunkVersions = new long[STREAM_CHUNK_SIZE];
+        long[] chunkCreatedAts = new long[STREAM_CHUNK_SIZE];
+        long[] chunkUpdatedAts = new long[STREAM_CHUNK_SIZE];
+        byte[][] chunkRows = new byte[STREAM_CHUNK_SIZE][];
+        while (true) {
+            int count = 0;
+            lock.readLock().lock();
+            try {
+                for (int slot = firstSlotAfter(lastId); slot < slotCount && count < STREAM_CHUNK_SIZE; slot++) {
+                    if (rows[slot] != null) {
+                        chunkIds[count] = ids[slot];
+                        chunkVersions[count] = versions[slot];
+                        chunkCreatedAts[count] = createdAts[slot];
+                        chunkUpdatedAts[count] = updatedAts[slot];
+                        chunkRows[count++] = rows[slot];
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            // row arrays are replaced rather than modified, so they can be read outside the lock
+            for (int index = 0; index < count; index++) {
+                byte[] row = chunkRows[index];
+                writer.write(chunkIds[index], field(row, 0), field(row, 1), field(row, 2), chunkVersions[index],
+                        fromMicros(chunkCreatedAts[index]), fromMicros(chunkUpdatedAts[index]));
+            }
+            if (count < STREAM_CHUNK_SIZE) {
+                return;
+            }
+            lastId = chunkIds[count - 1];
+        }
+    }
+
+    /**
+     * Loads a snapshot into an empty store, keeping its ids, versions and times; rows from a file without
+     * times are stamped with the load time.
+     */
+    public long loadSnapshot(EmployeeSnapshotReader reader) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (liveCount > 0) {
+                throw new IllegalStateException("Snapshots can only be loaded into an empty store");
+            }
+            long loaded = 0;
+            long now = toMicros(Employee.currentTimestamp());
+            for (EmployeeSnapshotReader.RowGroup group = reader.nextGroup(); group != null; group = reader.nextGroup()) {
+                for (int row = 0; row < group.size(); row++) {
+                    String email = group.email(row);
+                    if (slotOfEmail(email) != NO_SLOT) {
+                        throw duplicateEmail(email);
+                    }
+                    Instant createdAt = group.createdAt(row);
+                    Instant updatedAt = group.updatedAt(row);
+                    insert(group.id(row), group.version(row), createdAt != null ? toMicros(createdAt) : now,
+                            updatedAt != null ? toMicros(updatedAt) : now,
+                            encode(group.firstName(row), group.lastName(row), email));
+                }
+                loaded += group.size();
+            }
+            afterWrite();
+            return loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- internals, all called with the lock held
+
+    private void store(Employee employee, byte[] row, long now) {
+        if (employee.getId() == null) {
+            employee.setId(nextId);
+        }
+        int slot = slotOf(employee.getId());
+        if (slot == NO_SLOT) {
+            employee.setVersion(0L);
+            slot = insert(employee.getId(), 0L, now, now, row);
+        } else if (!Arrays.equals(rows[slot], row)) {
+            // like a JPA merge, only an actual change bumps the version and the update time
+            replace(slot, row);
+            employee.setVersion(++versions[slot]);
+            updatedAts[slot] = now;
+        } else {
+            employee.setVersion(versions[slot]);
+        }
+        employee.setCreatedAt(fromMicros(createdAts[slot]));
+        employee.setUpdatedAt(fromMicros(updatedAts[slot]));
+    }
+
+    private int insert(long id, long version, long createdAt, long updatedAt, byte[] row) {
+        if (slotOf(id) != NO_SLOT) {
+            throw new DataIntegrityViolationException("Duplicate primary key " + id + " in employees");
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            createdAts = Arrays.copyOf(createdAts, capacity);
+            updatedAts = Arrays.copyOf(updatedAts, capacity);
+            rows = Arrays.copyOf(rows, capacity);
+        }
+        if (slotCount > 0 && id < ids[slotCount - 1]) {
+            ordered = false;
+        }
+        int slot = slotCount++;
+        ids[slot] = id;
+        versions[slot] = version;
+        createdAts[slot] = createdAt;
+        updatedAts[slot] = updatedAt;
+        rows[slot] = row;
+        liveCount++;
+        nextId = Math.max(nextId, id + 1);
+        idIndex.add(slot, hashId(id));
+        emailIndex.add(slot, hashField(row, 2));
+        nameIndex.add(slot, hashName(row));
+        return slot;
+    }
+
+    private void replace(int slot, byte[] row) {
+        emailIndex.remove(slot, hashField(rows[slot], 2));
+        nameIndex.remove(slot, hashName(rows[slot]));
+        rows[slot] = row;
+        emailIndex.add(slot, hashField(row, 2));
+        nameIndex.add(slot, hashName(row));
+    }
+
+    // the slot stays behind as a hole, keeping the id column sorted for binary search
+    private void remove(int slot) {
+        idIndex.remove(slot, hashId(ids[slot]));
+        emailIndex.remove(slot, hashField(rows[slot], 2));
+        nameIndex.remove(slot, hashName(rows[slot]));
+        rows[slot] = null;
+        liveCount--;
+    }
+
+    private void afterWrite() {
+        if (!ordered || (slotCount - liveCount > COMPACTION_THRESHOLD && slotCount - liveCount > liveCount)) {
+            compact();
+        }
+        modificationCount++;
+    }
+
+    // drops the holes and restores id order, then rebuilds the indexes for the new slot numbers
+    private void compact() {
+        int[] liveSlots = new int[liveCount];
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (rows[slot] != null) {
+                liveSlots[count++] = slot;
+            }
+        }
+        if (!ordered) {
+            long[] sortedIds = new long[liveCount];
+            for (int index = 0; index < liveCount; index++) {
+                sortedIds[index] = ids[liveSlots[index]];
+            }
+            Arrays.sort(sortedIds);
+            for (int index = 0; index < liveCount; index++) {
+                liveSlots[index] = slotOf(sortedIds[index]);
+            }
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, liveCount + (liveCount >> 1));
+        long[] newIds = new long[capacity];
+        long[] newVersions = new long[capacity];
+        long[] newCreatedAts = new long[capacity];
+        long[] newUpdatedAts = new long[capacity];
+        byte[][] newRows = new byte[capacity][];
+        for (int index = 0; index < liveCount; index++) {
+            newIds[index] = ids[liveSlots[index]];
+            newVersions[index] = versions[liveSlots[index]];
+            newCreatedAts[index] = createdAts[liveSlots[index]];
+            newUpdatedAts[index] = updatedAts[liveSlots[index]];
+            newRows[index] = rows[liveSlots[index]];
+        }
+        ids = newIds;
+        versions = newVersions;
+        createdAts = newCreatedAts;
+        updatedAts = newUpdatedAts;
+        rows = newRows;
+        slotCount = liveCount;
+        ordered = true;
+
+        idIndex.clear(capacity);
+        emailIndex.clear(capacity);
+        nameIndex.clear(capacity);
+        for (int slot = 0; slot < slotCount; slot++) {
+            idIndex.add(slot, hashId(ids[slot]));
+            emailIndex.add(slot, hashField(rows[slot], 2));
+            nameIndex.add(slot, hashName(rows[slot]));
+        }
+    }
+
+    private int slotOf(long id) {
+        int[] found = {NO_SLOT};
+        idIndex.probe(hashId(id), slot -> {
+            if (ids[slot] == id) {
+                found[0] = slot;
+                return false;
+            }
+            return true;
+        });
+        return found[0];
+    }
+
+    private int slotOfEmail(String email) {
+        if (email == null) {
+            return NO_SLOT;
+        }
+        byte[] key = email.getBytes(StandardCharsets.UTF_8);
+        int[] found = {NO_SLOT};
+        emailIndex.probe(hash(key, 0, key.length), slot -> {
+            if (fieldEquals(rows[slot], 2, key)) {
+                found[0] = slot;
+                return false;
+            }
+            return true;
+        });
+        return found[0];
+    }
+
+    // matching slots in id order, as with ORDER BY id
+    private int[] slotsOfName(String firstName, String lastName) {
+        if (firstName == null || lastName == null) {
+            return new int[0];
+        }
+        byte[] first = firstName.getBytes(StandardCharsets.UTF_8);
+        byte[] last = lastName.getBytes(StandardCharsets.UTF_8);
+        List<Integer> matches = new ArrayList<>();
+        nameIndex.probe(31 * hash(first, 0, first.length) + hash(last, 0, last.length), slot -> {
+            if (fieldEquals(rows[slot], 0, first) && fieldEquals(rows[slot], 1, last)) {
+                matches.add(slot);
+            }
+            return true;
+        });
+        // slots are in id order, so sorting slot numbers sorts by id
+        return matches.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private Optional<Employee> findSingleByName(String firstName, String lastName) {
+        lock.readLock().lock();
+        try {
+            int[] slots = slotsOfName(firstName, lastName);
+            if (slots.length > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, slots.length);
+            }
+            return slots.length == 0 ? Optional.empty() : Optional.of(toEmployee(slots[0]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // first slot whose id is greater than the given one; ids are sorted across live slots and holes alike
+    private int firstSlotAfter(long id) {
+        int low = 0;
+        int high = slotCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (ids[middle] <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Employee toEmployee(int slot) {
+        byte[] row = rows[slot];
+        return Employee.builder()
+                .id(ids[slot])
+                .firstName(field(row, 0))
+                .lastName(field(row, 1))
+                .email(field(row, 2))
+                .version(versions[slot])
+                .createdAt(fromMicros(createdAts[slot]))
+                .updatedAt(fromMicros(updatedAts[slot]))
+                .build();
+    }
+
+    private EmployeeSummary toSummary(int slot) {
+        byte[] row = rows[slot];
+        return new EmployeeSummary(ids[slot], field(row, 0), field(row, 1), field(row, 2));
+    }
+
+    private Comparator<Employee> comparatorFor(Sort sort) {
+        Comparator<Employee> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Employee> property = SORTABLE_PROPERTIES.get(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Cannot sort employees by " + order.getProperty());
+            }
+            property = order.isDescending() ? property.reversed() : property;
+            comparator = comparator == null ? property : comparator.thenComparing(property);
+        }
+        return comparator;
+    }
+
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    // the same shape of exception Hibernate raises for the unique index, so callers map it identically
+    private static DataIntegrityViolationException duplicateEmail(String email) {
+        String message = "Duplicate entry '" + email + "' for key " + EMAIL_UNIQUE_INDEX;
+        return new DataIntegrityViolationException(message,
+                new ConstraintViolationException(message, null, EMAIL_UNIQUE_INDEX));
+    }
+
+    // ---- row encoding: [u16 length][UTF-8 bytes] for first name, last name and email
+
+    private static byte[] encode(String firstName, String lastName, String email) {
+        byte[] first = columnBytes("first_name", firstName);
+        byte[] last = columnBytes("last_name", lastName);
+        byte[] mail = columnBytes("email", email);
+        byte[] row = new byte[6 + first.length + last.length + mail.length];
+        int position = put(row, 0, first);
+        position = put(row, position, last);
+        put(row, position, mail);
+        return row;
+    }
+
+    private static byte[] columnBytes(String column, String value) {
+        if (value == null) {
+            throw new DataIntegrityViolationException("NULL not allowed for column " + column);
+        }
+        if (value.length() > MAX_COLUMN_LENGTH) {
+            throw new DataIntegrityViolationException("Value too long for column " + column);
+        }
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int put(byte[] row, int position, byte[] value) {
+        row[position] = (byte) (value.length >>> 8);
+        row[position + 1] = (byte) value.length;
+        System.arraycopy(value, 0, row, position + 2, value.length);
+        return position + 2 + value.length;
+    }
+
+    private static int fieldStart(byte[] row, int field) {
+        int position = 0;
+        for (int index = 0; index < field; index++) {
+            position += 2 + fieldLength(row, position);
+        }
+        return position;
+    }
+
+    private static int fieldLength(byte[] row, int start) {
+        return ((row[start] & 0xff) << 8) | (row[start + 1] & 0xff);
+    }
+
+    private static String field(byte[] row, int field) {
+        int start = fieldStart(row, field);
+        return new String(row, start + 2, fieldLength(row, start), StandardCharsets.UTF_8);
+    }
+
+    private static boolean fieldEquals(byte[] row, int field, byte[] value) {
+        int start = fieldStart(row, field) + 2;
+        int length = fieldLength(row, start - 2);
+        return Arrays.equals(row, start, start + length, value, 0, value.length);
+    }
+
+    private static int hashField(byte[] row, int field) {
+        int start = fieldStart(row, field);
+        return hash(row, start + 2, start + 2 + fieldLength(row, start));
+    }
+
+    private static int hashName(byte[] row) {
+        return 31 * hashField(row, 0) + hashField(row, 1);
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        int hash = 1;
+        for (int index = from; index < to; index++) {
+            hash = 31 * hash + bytes[index];
+        }
+        return hash;
+    }
+
+    private static int hashId(long id) {
+        return Long.hashCode(id);
+    }
+}
@@ -0,0 +1,106 @@
+package com.gesacademy.testingspringbootapp.repository.memory;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Open-addressing hash index from a key hash to row slots, with linear probing and backward-shift
+ * deletion. Keys themselves are not stored: callers probe with a hash and compare each candidate slot
+ * against the row data, so an index costs two ints per row. Equal keys may map to several slots.
+ * Not thread-safe; {@link InMemoryEmployeeRepository} guards it with its lock.
+ */
+final class SlotHashIndex {
+
+    private static final int EMPTY = -1;
+
+    private int[] slots;
+    private int[] hashes;
+    private int mask;
+    private int size;
+
+    SlotHashIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    void add(int slot, int hash) {
+        if ((size + 1) * 2 > slots.length) {
+            resize(slots.length * 2);
+        }
+        insert(slot, hash);
+        size++;
+    }
+
+    void remove(int slot, int hash) {
+        int hole = home(hash);
+        while (slots[hole] != slot) {
+            if (slots[hole] == EMPTY) {
+                return;
+            }
+            hole = (hole + 1) & mask;
+        }
+        // shift later entries of the cluster back into the hole unless that would move them before their home
+        for (int next = (hole + 1) & mask; slots[next] != EMPTY; next = (next + 1) & mask) {
+            int home = home(hashes[next]);
+            boolean movable = next > hole ? home <= hole || home > next : home <= hole && home > next;
+            if (movable) {
+                slots[hole] = slots[next];
+                hashes[hole] = hashes[next];
+                hole = next;
+            }
+        }
+        slots[hole] = EMPTY;
+        size--;
+    }
+
+    /**
+     * Offers every slot indexed under {@code hash} to the visitor, which returns {@code false} to stop early.
+     */
+    void probe(int hash, IntPredicate visitor) {
+        for (int index = home(hash); slots[index] != EMPTY; index = (index + 1) & mask) {
+            if (hashes[index] == hash && !visitor.test(slots[index])) {
+                return;
+            }
+        }
+    }
+
+    void clear(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+        size = 0;
+    }
+
+    private void insert(int slot, int hash) {
+        int index = home(hash);
+        while (slots[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        slots[index] = slot;
+        hashes[index] = hash;
+    }
+
+    private void resize(int capacity) {
+        int[] oldSlots = slots;
+        int[] oldHashes = hashes;
+        allocate(capacity);
+        for (int index = 0; index < oldSlots.length; index++) {
+            if (oldSlots[index] != EMPTY) {
+                insert(oldSlots[index], oldHashes[index]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private int home(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return (mixed ^ (mixed >>> 16)) & mask;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+    }
+}
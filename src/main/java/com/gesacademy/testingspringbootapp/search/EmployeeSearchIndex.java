@@ -0,0 +1,227 @@
+package com.gesacademy.testingspringbootapp.search;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.dto.TenantEmployeeSummary;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.event.EmployeesSavedEvent;
+import com.gesacademy.testingspringbootapp.service.CrossTenantEmployeeService;
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process prefix index over employee first names, last names and emails for type-ahead search.
+ * <p>
+ * Every lower-cased word of those fields is kept as a (tenant, term, id) posting in a sorted skip list, so a
+ * prefix query is a seek to the first posting of the current tenant at or after the prefix followed by a short
+ * ordered scan; one tenant never sees another's employees, nor pays for scanning them.
+ * The summaries themselves are held alongside, so hits are answered without touching the database.
+ * Memory grows with the table (roughly the summary plus three or four postings per employee).
+ * <p>
+ * The index follows committed writes through {@link EmployeesSavedEvent} and {@link EmployeeDeletedEvent}
+ * (published by the writing tenant's thread) and is rebuilt from every tenant's rows once the application is
+ * ready; queries issued while the rebuild runs see the rows indexed so far.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    // bounds the work of a query whose first token is very common but whose other tokens rarely match
+    static final int MAX_SCANNED_POSTINGS = 10_000;
+
+    private final NavigableSet<Posting> postings = new ConcurrentSkipListSet<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    // writers serialize so a document and its postings always change together; readers never lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // ids written through events while a rebuild is running; their snapshot rows are stale
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    private final CrossTenantEmployeeService crossTenantEmployeeService;
+
+    public EmployeeSearchIndex(CrossTenantEmployeeService crossTenantEmployeeService) {
+        this.crossTenantEmployeeService = crossTenantEmployeeService;
+    }
+
+    /**
+     * Returns up to {@code limit} of the current tenant's employees for which every whitespace-separated token
+     * of the query is a prefix of a word in their first name, last name or email, case-insensitively.
+     */
+    public List<EmployeeSummary> search(String query, int limit) {
+        String tenant = TenantContext.current();
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0 || limit < 1) {
+            return List.of();
+        }
+        // drive the scan with the longest token, which has the fewest postings
+        String driver = tokens[0];
+        for (String token : tokens) {
+            if (token.length() > driver.length()) {
+                driver = token;
+            }
+        }
+
+        List<EmployeeSummary> results = new ArrayList<>(Math.min(limit, 64));
+        Set<Long> seen = new HashSet<>();
+        int scanned = 0;
+        for (Posting posting : postings.tailSet(new Posting(tenant, driver, Long.MIN_VALUE))) {
+            if (!posting.tenant().equals(tenant) || !posting.term().startsWith(driver) || ++scanned > MAX_SCANNED_POSTINGS) {
+                break;
+            }
+            if (!seen.add(posting.id())) {
+                continue;
+            }
+            Document document = documents.get(posting.id());
+            if (document != null && document.matchesAll(tokens)) {
+                results.add(document.summary());
+                if (results.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // ids are unique across tenants (and shards), so documents are keyed by id alone
+    public void index(EmployeeSummary employee) {
+        index(TenantContext.current(), employee);
+    }
+
+    public void index(String tenant, EmployeeSummary employee) {
+        writeLock.lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(employee.id());
+            }
+            put(tenant, employee);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        writeLock.lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.add(id);
+            }
+            Document removed = documents.remove(id);
+            if (removed != null) {
+                removed.terms().forEach(term -> postings.remove(new Posting(removed.tenant(), term, id)));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeesSaved(EmployeesSavedEvent event) {
+        event.employees().forEach(this::index);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        remove(event.id());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        rebuilding = true;
+        try {
+            crossTenantEmployeeService.streamEmployees(this::putFromSnapshot);
+        } finally {
+            writeLock.lock();
+            try {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        log.info("Employee search index rebuilt with {} employees in {} ms",
+                documents.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void putFromSnapshot(TenantEmployeeSummary employee) {
+        writeLock.lock();
+        try {
+            if (!changedDuringRebuild.contains(employee.id())) {
+                put(employee.tenantId(), employee.summary());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // caller holds the write lock
+    private void put(String tenant, EmployeeSummary employee) {
+        List<String> terms = new ArrayList<>();
+        for (String field : new String[]{employee.firstName(), employee.lastName(), employee.email()}) {
+            for (String term : tokenize(field)) {
+                if (!terms.contains(term)) {
+                    terms.add(term);
+                }
+            }
+        }
+        Document previous = documents.put(employee.id(), new Document(tenant, employee, List.copyOf(terms)));
+        if (previous != null) {
+            previous.terms().stream()
+                    .filter(term -> !terms.contains(term) || !previous.tenant().equals(tenant))
+                    .forEach(term -> postings.remove(new Posting(previous.tenant(), term, employee.id())));
+        }
+        terms.forEach(term -> postings.add(new Posting(tenant, term, employee.id())));
+    }
+
+    private static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return text.trim().toLowerCase(Locale.ROOT).split("\\s+");
+    }
+
+    private record Posting(String tenant, String term, long id) implements Comparable<Posting> {
+
+        @Override
+        public int compareTo(Posting other) {
+            int byTenant = tenant.compareTo(other.tenant);
+            if (byTenant != 0) {
+                return byTenant;
+            }
+            int byTerm = term.compareTo(other.term);
+            return byTerm != 0 ? byTerm : Long.compare(id, other.id);
+        }
+    }
+
+    private record Document(String tenant, EmployeeSummary summary, List<String> terms) {
+
+        boolean matchesAll(String[] tokens) {
+            for (String token : tokens) {
+                if (terms.stream().noneMatch(term -> term.startsWith(token))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
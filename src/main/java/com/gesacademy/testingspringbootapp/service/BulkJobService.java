@@ -0,0 +1,15 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.dto.BulkJobRequest;
+import com.gesacademy.testingspringbootapp.dto.BulkJobStatus;
+
+import java.util.Optional;
+
+public interface BulkJobService {
+
+    BulkJobStatus submitJob(BulkJobRequest request);
+
+    Optional<BulkJobStatus> getJob(Long id);
+
+    Optional<BulkJobStatus> cancelJob(Long id);
+}
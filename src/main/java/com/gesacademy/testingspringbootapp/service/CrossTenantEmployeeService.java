@@ -0,0 +1,13 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.dto.CursorPage;
+import com.gesacademy.testingspringbootapp.dto.TenantEmployeeSummary;
+
+import java.util.function.Consumer;
+
+public interface CrossTenantEmployeeService {
+
+    CursorPage<TenantEmployeeSummary> getEmployeesPage(String cursor, int size);
+
+    void streamEmployees(Consumer<TenantEmployeeSummary> consumer);
+}
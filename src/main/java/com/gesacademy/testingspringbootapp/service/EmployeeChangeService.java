@@ -0,0 +1,13 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeChangePage;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+public interface EmployeeChangeService {
+
+    EmployeeChangePage getChanges(long after, int limit);
+
+    CompletableFuture<EmployeeChangePage> awaitChanges(long after, int limit, Duration timeout);
+}
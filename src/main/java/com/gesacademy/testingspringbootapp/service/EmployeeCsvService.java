@@ -0,0 +1,13 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.dto.CsvImportResult;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface EmployeeCsvService {
+
+    CsvImportResult importCsv(InputStream csv);
+
+    long exportCsv(OutputStream csv);
+}
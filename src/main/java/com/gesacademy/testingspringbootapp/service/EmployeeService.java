@@ -1,19 +1,39 @@
 package com.gesacademy.testingspringbootapp.service;
 
+import com.gesacademy.testingspringbootapp.dto.CursorPage;
+import com.gesacademy.testingspringbootapp.dto.EmployeeBatchResult;
+import com.gesacademy.testingspringbootapp.dto.EmployeeListVersion;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
 import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeView;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
     Employee saveEmployee(Employee employee);
 
-    List<Employee> getAllEmployees();
+    List<EmployeeBatchResult> saveEmployees(List<Employee> employees);
+
+    List<EmployeeSummary> getAllEmployees();
+
+    EmployeeListVersion getEmployeeListVersion();
+
+    CursorPage<EmployeeSummary> getEmployeesPage(String cursor, int size);
+
+    List<EmployeeView> searchEmployees(String firstName, String lastName);
+
+    List<EmployeeSummary> suggestEmployees(String query, int limit);
+
+    void streamEmployees(Consumer<EmployeeSummary> consumer);
 
     Optional<Employee> getEmployeeById(Long id);
 
-    Employee updateEmployee(Employee employee);
+    List<Employee> getEmployeesByIds(List<Long> ids);
+
+    Optional<Employee> updateEmployee(Long id, Employee employee, Long expectedVersion);
 
-    void deleteEmployee(Long id);
+    boolean deleteEmployee(Long id);
 }
@@ -0,0 +1,10 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import java.nio.file.Path;
+
+public interface EmployeeSnapshotService {
+
+    long exportSnapshot(Path file);
+
+    long importSnapshot(Path file);
+}
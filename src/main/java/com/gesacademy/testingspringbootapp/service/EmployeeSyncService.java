@@ -0,0 +1,10 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeDeltaPage;
+
+import java.time.Instant;
+
+public interface EmployeeSyncService {
+
+    EmployeeDeltaPage getChangesSince(Instant since, String cursor, int size);
+}
@@ -0,0 +1,15 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.dto.WriteRequestStatus;
+import com.gesacademy.testingspringbootapp.model.Employee;
+
+import java.util.Optional;
+
+public interface EmployeeWriteBehindService {
+
+    WriteRequestStatus submitCreate(Employee employee);
+
+    WriteRequestStatus submitUpdate(Long id, Employee employee, Long expectedVersion);
+
+    Optional<WriteRequestStatus> getStatus(String trackingId);
+}
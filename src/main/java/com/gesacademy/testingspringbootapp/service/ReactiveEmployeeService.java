@@ -0,0 +1,18 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+
+    Flux<Employee> getAllEmployees();
+
+    Mono<Employee> getEmployeeById(Long id);
+
+    // Completes empty when there is no employee with the given id
+    Mono<Employee> updateEmployee(Long id, Employee employee);
+
+    // Emits false when there is no employee with the given id
+    Mono<Boolean> deleteEmployee(Long id);
+}
@@ -0,0 +1,480 @@
+package com.gesacademy.testingspringbootapp.service.impl;
+
+import com.gesacademy.testingspringbootapp.config.CacheConfig;
+import com.gesacademy.testingspringbootapp.dto.BulkJobRequest;
+import com.gesacademy.testingspringbootapp.dto.BulkJobStatus;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.event.EmployeesSavedEvent;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.search.EmployeeSearchIndex;
+import com.gesacademy.testingspringbootapp.service.BulkJobService;
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Runs maintenance operations over a tenant's employees in the background. A job covers the ids present when
+ * it was submitted, split into chunks of {@code chunkSize} consecutive ids; the chunks are processed in
+ * parallel on a fixed pool of workers, each in its own transaction with one set-based statement, and each
+ * transaction also inserts the chunk's {@code bulk_job_chunks} row. That row is the checkpoint: a job
+ * interrupted by a crash or a database outage is picked up again by the next sweep (on any instance) and
+ * carries on with the chunks that have none, and a chunk claimed by two workers is only applied once.
+ * <p>
+ * Changes and deletions publish the usual events from the chunk's transaction, so the outbox, the tombstones
+ * and the search index follow them like any other write. Employees created after the job was submitted are
+ * not covered by it.
+ */
+@Service
+@Profile("!memory & !shards")
+public class BulkJobServiceImpl implements BulkJobService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkJobServiceImpl.class);
+
+    public static final String ROWS_METRIC = "employee.jobs.rows";
+
+    static final int MAX_MESSAGE_LENGTH = 512;
+
+    // letters, digits and hyphens only, so a domain can never act as a LIKE wildcard
+    private static final Pattern EMAIL_DOMAIN = Pattern.compile("[A-Za-z0-9-]+(\\.[A-Za-z0-9-]+)+");
+
+    private static final String SELECT_JOB = "SELECT j.id, j.tenant_id, j.job_type, j.email_domain, j.new_email_domain, "
+            + "j.state, j.first_id, j.last_id, j.chunk_size, j.total_chunks, j.message, j.created_at, j.finished_at, "
+            + "(SELECT COUNT(*) FROM bulk_job_chunks c WHERE c.job_id = j.id), "
+            + "(SELECT COALESCE(SUM(c.rows_affected), 0) FROM bulk_job_chunks c WHERE c.job_id = j.id) "
+            + "FROM bulk_jobs j";
+    private static final String INSERT_JOB = "INSERT INTO bulk_jobs (tenant_id, job_type, email_domain, new_email_domain, "
+            + "state, first_id, last_id, chunk_size, total_chunks, created_at, finished_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CHUNK =
+            "INSERT INTO bulk_job_chunks (job_id, chunk_index, rows_affected, completed_at) VALUES (?, ?, 0, ?)";
+    private static final String SELECT_MATCHING = "SELECT id, first_name, last_name, email FROM employees "
+            + "WHERE tenant_id = ? AND id BETWEEN ? AND ? AND email LIKE ? FOR UPDATE";
+    private static final String SELECT_RANGE = "SELECT id, first_name, last_name, email FROM employees "
+            + "WHERE tenant_id = ? AND id BETWEEN ? AND ?";
+    private static final String CHANGE_EMAIL_DOMAIN = "UPDATE employees "
+            + "SET email = CONCAT(LEFT(email, CHAR_LENGTH(email) - ?), ?), version = version + 1, updated_at = ? "
+            + "WHERE tenant_id = ? AND id BETWEEN ? AND ? AND email LIKE ?";
+    private static final String DELETE_BY_EMAIL_DOMAIN =
+            "DELETE FROM employees WHERE tenant_id = ? AND id BETWEEN ? AND ? AND email LIKE ?";
+
+    private static final RowMapper<EmployeeSummary> SUMMARY = (resultSet, row) -> new EmployeeSummary(
+            resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3), resultSet.getString(4));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final EmployeeSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int workers;
+    private final Duration resumeInterval;
+    private final Map<BulkJobRequest.Type, Counter> processedRows = new EnumMap<>(BulkJobRequest.Type.class);
+
+    // jobs this instance is working on, by id
+    private final Map<Long, RunningJob> runningJobs = new ConcurrentHashMap<>();
+    private final ExecutorService workerPool;
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("bulk-job-sweeper").daemon().factory());
+    private volatile boolean shuttingDown;
+
+    /**
+     * A job as this instance works on it: the chunks still to claim, and how many workers are on it.
+     */
+    private static final class RunningJob {
+
+        private final BulkJobStatus status;
+        private final String tenant;
+        private final long firstId;
+        private final long lastId;
+        private final int chunkSize;
+        private final Queue<Integer> pendingChunks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger activeWorkers = new AtomicInteger();
+        private volatile boolean stopped;
+
+        RunningJob(BulkJobStatus status, String tenant, long firstId, long lastId, int chunkSize) {
+            this.status = status;
+            this.tenant = tenant;
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.chunkSize = chunkSize;
+        }
+
+        long chunkFirstId(int chunk) {
+            return firstId + (long) chunk * chunkSize;
+        }
+
+        long chunkLastId(int chunk) {
+            return Math.min(chunkFirstId(chunk) + chunkSize - 1, lastId);
+        }
+
+        String likePattern() {
+            return "%@" + status.emailDomain();
+        }
+    }
+
+    public BulkJobServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              CacheManager cacheManager, EmployeeSearchIndex searchIndex,
+                              ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                              @Value("${employee.jobs.chunk-size:1000}") int chunkSize,
+                              @Value("${employee.jobs.workers:3}") int workers,
+                              @Value("${employee.jobs.resume-interval:30s}") Duration resumeInterval) {
+        if (chunkSize < 1 || workers < 1) {
+            throw new IllegalArgumentException("Bulk job chunk size and worker count must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+        this.resumeInterval = resumeInterval;
+        this.workerPool = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("bulk-job-", 0).daemon().factory());
+        for (BulkJobRequest.Type type : BulkJobRequest.Type.values()) {
+            processedRows.put(type, Counter.builder(ROWS_METRIC)
+                    .description("Employees changed, deleted or indexed by bulk jobs")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public BulkJobStatus submitJob(BulkJobRequest request) {
+        validate(request);
+        String tenant = TenantContext.current();
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(id) AS first_id, MAX(id) AS last_id FROM employees WHERE tenant_id = ?", tenant);
+        long firstId = range.get("first_id") != null ? ((Number) range.get("first_id")).longValue() : 0;
+        long lastId = range.get("last_id") != null ? ((Number) range.get("last_id")).longValue() : -1;
+        int totalChunks = Math.toIntExact(lastId < firstId ? 0 : (lastId - firstId) / chunkSize + 1);
+        // a job with nothing to cover is over as soon as it exists
+        BulkJobStatus.State state = totalChunks == 0 ? BulkJobStatus.State.SUCCEEDED : BulkJobStatus.State.RUNNING;
+        Timestamp now = Timestamp.from(Employee.currentTimestamp());
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_JOB, new String[]{"id"});
+            statement.setString(1, tenant);
+            statement.setString(2, request.type().name());
+            statement.setString(3, request.emailDomain());
+            statement.setString(4, request.newEmailDomain());
+            statement.setString(5, state.name());
+            statement.setLong(6, firstId);
+            statement.setLong(7, Math.max(lastId, firstId));
+            statement.setInt(8, chunkSize);
+            statement.setInt(9, totalChunks);
+            statement.setTimestamp(10, now);
+            statement.setTimestamp(11, totalChunks == 0 ? now : null);
+            return statement;
+        }, keyHolder);
+        Long id = keyHolder.getKeyAs(Long.class);
+
+        log.info("Bulk job {} ({}) submitted with {} chunks", id, request.type(), totalChunks);
+        RunningJob job = load(id);
+        if (state == BulkJobStatus.State.RUNNING) {
+            start(job, Set.of());
+        }
+        return job.status;
+    }
+
+    @Override
+    public Optional<BulkJobStatus> getJob(Long id) {
+        return jdbcTemplate.query(SELECT_JOB + " WHERE j.id = ? AND j.tenant_id = ?", this::mapJob, id, TenantContext.current())
+                .stream()
+                .findFirst()
+                .map(job -> job.status);
+    }
+
+    // Workers see the new state when they start their next chunk; chunks already running still commit.
+    @Override
+    public Optional<BulkJobStatus> cancelJob(Long id) {
+        int cancelled = jdbcTemplate.update("UPDATE bulk_jobs SET state = ?, finished_at = ? "
+                        + "WHERE id = ? AND tenant_id = ? AND state = ?", BulkJobStatus.State.CANCELLED.name(),
+                Timestamp.from(Employee.currentTimestamp()), id, TenantContext.current(), BulkJobStatus.State.RUNNING.name());
+        if (cancelled > 0) {
+            log.info("Bulk job {} cancelled", id);
+        }
+        return getJob(id);
+    }
+
+    /**
+     * Picks up running jobs that no worker of this instance is on: those interrupted by a restart, by a
+     * database outage, or left behind by an instance that went away.
+     */
+    public void resumeJobs() {
+        List<RunningJob> jobs = jdbcTemplate.query(SELECT_JOB + " WHERE j.state = ?", this::mapJob,
+                BulkJobStatus.State.RUNNING.name());
+        for (RunningJob job : jobs) {
+            if (!runningJobs.containsKey(job.status.id())) {
+                Set<Integer> completed = new HashSet<>(jdbcTemplate.queryForList(
+                        "SELECT chunk_index FROM bulk_job_chunks WHERE job_id = ?", Integer.class, job.status.id()));
+                log.info("Resuming bulk job {} ({}) with {} of {} chunks done", job.status.id(), job.status.type(),
+                        completed.size(), job.status.totalChunks());
+                start(job, completed);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweeping() {
+        sweeper.scheduleWithFixedDelay(this::resumeQuietly, 0, resumeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // lets the chunks in progress commit; the jobs stay running and are resumed on the next start
+    @Override
+    public void destroy() throws Exception {
+        shuttingDown = true;
+        sweeper.shutdownNow();
+        workerPool.shutdown();
+        workerPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void start(RunningJob job, Set<Integer> completedChunks) {
+        for (int chunk = 0; chunk < job.status.totalChunks(); chunk++) {
+            if (!completedChunks.contains(chunk)) {
+                job.pendingChunks.add(chunk);
+            }
+        }
+        if (runningJobs.putIfAbsent(job.status.id(), job) != null) {
+            return;
+        }
+        int jobWorkers = Math.max(1, Math.min(workers, job.pendingChunks.size()));
+        job.activeWorkers.set(jobWorkers);
+        for (int worker = 0; worker < jobWorkers; worker++) {
+            workerPool.execute(() -> TenantContext.callAs(job.tenant, () -> {
+                work(job);
+                return null;
+            }));
+        }
+    }
+
+    private void work(RunningJob job) {
+        try {
+            Integer chunk;
+            while (!job.stopped && !shuttingDown && (chunk = job.pendingChunks.poll()) != null) {
+                try {
+                    if (!processChunk(job, chunk)) {
+                        job.stopped = true;
+                    }
+                } catch (TransientDataAccessException | DataAccessResourceFailureException
+                         | CannotCreateTransactionException ex) {
+                    // the chunk rolled back; the job stays running for the next sweep to retry
+                    job.stopped = true;
+                    log.warn("Bulk job {} paused at ids {} to {}, retrying in {}", job.status.id(),
+                            job.chunkFirstId(chunk), job.chunkLastId(chunk), resumeInterval, ex);
+                } catch (RuntimeException ex) {
+                    job.stopped = true;
+                    fail(job, chunk, ex);
+                }
+            }
+        } finally {
+            if (job.activeWorkers.decrementAndGet() == 0) {
+                finish(job);
+            }
+        }
+    }
+
+    // Returns false once the job is no longer running (cancelled, or failed on another worker)
+    private boolean processChunk(RunningJob job, int chunk) {
+        long first = job.chunkFirstId(chunk);
+        long last = job.chunkLastId(chunk);
+        List<EmployeeSummary> affected = transactionTemplate.execute(status -> {
+            String state = jdbcTemplate.queryForObject("SELECT state FROM bulk_jobs WHERE id = ?", String.class,
+                    job.status.id());
+            if (!BulkJobStatus.State.RUNNING.name().equals(state)) {
+                return null;
+            }
+            // claims the chunk: a second worker on it (another instance resuming the same job) waits here until
+            // this transaction ends, then finds the row and leaves the chunk alone
+            try {
+                jdbcTemplate.update(INSERT_CHUNK, job.status.id(), chunk, Timestamp.from(Employee.currentTimestamp()));
+            } catch (DuplicateKeyException ex) {
+                return List.of();
+            }
+            List<EmployeeSummary> rows = apply(job, first, last);
+            jdbcTemplate.update("UPDATE bulk_job_chunks SET rows_affected = ? WHERE job_id = ? AND chunk_index = ?",
+                    rows.size(), job.status.id(), chunk);
+            return rows;
+        });
+        if (affected == null) {
+            return false;
+        }
+        if (!affected.isEmpty() && job.status.type() != BulkJobRequest.Type.REINDEX) {
+            Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES);
+            if (employees != null) {
+                affected.forEach(employee -> employees.evict(CacheConfig.tenantKey(employee.id())));
+            }
+            Cache employeesByEmail = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_EMAIL);
+            if (employeesByEmail != null) {
+                employeesByEmail.clear();
+            }
+        }
+        processedRows.get(job.status.type()).increment(affected.size());
+        return true;
+    }
+
+    // one locking read and one set-based write per chunk; the read gives the events their rows
+    private List<EmployeeSummary> apply(RunningJob job, long first, long last) {
+        switch (job.status.type()) {
+            case CHANGE_EMAIL_DOMAIN -> {
+                String from = job.status.emailDomain();
+                String to = job.status.newEmailDomain();
+                List<EmployeeSummary> rows = jdbcTemplate.query(SELECT_MATCHING, SUMMARY, job.tenant, first, last,
+                        job.likePattern());
+                if (rows.isEmpty()) {
+                    return rows;
+                }
+                jdbcTemplate.update(CHANGE_EMAIL_DOMAIN, from.length(), to, Timestamp.from(Employee.currentTimestamp()),
+                        job.tenant, first, last, job.likePattern());
+                List<EmployeeSummary> changed = rows.stream()
+                        .map(row -> new EmployeeSummary(row.id(), row.firstName(), row.lastName(),
+                                row.email().substring(0, row.email().length() - from.length()) + to))
+                        .toList();
+                eventPublisher.publishEvent(EmployeesSavedEvent.updated(changed));
+                return changed;
+            }
+            case DELETE_BY_EMAIL_DOMAIN -> {
+                List<EmployeeSummary> rows = jdbcTemplate.query(SELECT_MATCHING, SUMMARY, job.tenant, first, last,
+                        job.likePattern());
+                if (rows.isEmpty()) {
+                    return rows;
+                }
+                jdbcTemplate.update(DELETE_BY_EMAIL_DOMAIN, job.tenant, first, last, job.likePattern());
+                rows.forEach(row -> eventPublisher.publishEvent(new EmployeeDeletedEvent(row.id())));
+                return rows;
+            }
+            case REINDEX -> {
+                List<EmployeeSummary> rows = jdbcTemplate.query(SELECT_RANGE, SUMMARY, job.tenant, first, last);
+                rows.forEach(row -> searchIndex.index(job.tenant, row));
+                return rows;
+            }
+            default -> throw new IllegalStateException("Unknown bulk job type: " + job.status.type());
+        }
+    }
+
+    // only the last worker out gets here; another instance may still hold chunks, and its last worker finishes
+    // the job instead
+    private void finish(RunningJob job) {
+        runningJobs.remove(job.status.id(), job);
+        if (shuttingDown) {
+            return;
+        }
+        try {
+            int finished = jdbcTemplate.update("UPDATE bulk_jobs SET state = ?, finished_at = ? WHERE id = ? AND state = ? "
+                            + "AND total_chunks = (SELECT COUNT(*) FROM bulk_job_chunks WHERE job_id = ?)",
+                    BulkJobStatus.State.SUCCEEDED.name(), Timestamp.from(Employee.currentTimestamp()), job.status.id(),
+                    BulkJobStatus.State.RUNNING.name(), job.status.id());
+            if (finished > 0) {
+                log.info("Bulk job {} ({}) succeeded", job.status.id(), job.status.type());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not mark bulk job {} as finished, the next sweep retries", job.status.id(), ex);
+        }
+    }
+
+    private void fail(RunningJob job, int chunk, RuntimeException ex) {
+        log.warn("Bulk job {} failed at ids {} to {}", job.status.id(), job.chunkFirstId(chunk), job.chunkLastId(chunk), ex);
+        String message = "Ids " + job.chunkFirstId(chunk) + " to " + job.chunkLastId(chunk) + " could not be processed: "
+                + (ex instanceof DataIntegrityViolationException
+                ? "the change violates a constraint (an email already taken, or too long)" : ex.getMessage());
+        try {
+            jdbcTemplate.update("UPDATE bulk_jobs SET state = ?, message = ?, finished_at = ? WHERE id = ? AND state = ?",
+                    BulkJobStatus.State.FAILED.name(),
+                    message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message,
+                    Timestamp.from(Employee.currentTimestamp()), job.status.id(), BulkJobStatus.State.RUNNING.name());
+        } catch (RuntimeException updateEx) {
+            log.warn("Could not mark bulk job {} as failed", job.status.id(), updateEx);
+        }
+    }
+
+    private void resumeQuietly() {
+        try {
+            resumeJobs();
+        } catch (RuntimeException ex) {
+            log.warn("Resuming bulk jobs failed, retrying in {}", resumeInterval, ex);
+        }
+    }
+
+    private RunningJob load(Long id) {
+        return jdbcTemplate.queryForObject(SELECT_JOB + " WHERE j.id = ?", this::mapJob, id);
+    }
+
+    private RunningJob mapJob(ResultSet resultSet, int row) throws SQLException {
+        Timestamp finishedAt = resultSet.getTimestamp(13);
+        BulkJobStatus status = new BulkJobStatus(resultSet.getLong(1),
+                BulkJobRequest.Type.valueOf(resultSet.getString(3)), resultSet.getString(4), resultSet.getString(5),
+                BulkJobStatus.State.valueOf(resultSet.getString(6)), resultSet.getInt(10), resultSet.getInt(14),
+                resultSet.getLong(15), resultSet.getString(11), resultSet.getTimestamp(12).toInstant(),
+                finishedAt != null ? finishedAt.toInstant() : null);
+        return new RunningJob(status, resultSet.getString(2), resultSet.getLong(7), resultSet.getLong(8),
+                resultSet.getInt(9));
+    }
+
+    private static void validate(BulkJobRequest request) {
+        if (request == null || request.type() == null) {
+            throw new BadRequestException("Bulk job type is required");
+        }
+        if (request.type() == BulkJobRequest.Type.REINDEX) {
+            return;
+        }
+        requireDomain(request.emailDomain());
+        if (request.type() == BulkJobRequest.Type.CHANGE_EMAIL_DOMAIN) {
+            requireDomain(request.newEmailDomain());
+            if (request.emailDomain().equalsIgnoreCase(request.newEmailDomain())) {
+                throw new BadRequestException("New email domain must differ from " + request.emailDomain());
+            }
+        }
+    }
+
+    private static void requireDomain(String domain) {
+        if (domain == null || domain.length() > 253 || !EMAIL_DOMAIN.matcher(domain).matches()) {
+            throw new BadRequestException("Invalid email domain: " + domain);
+        }
+    }
+}
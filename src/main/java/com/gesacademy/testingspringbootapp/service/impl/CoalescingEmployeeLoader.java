@@ -0,0 +1,142 @@
+package com.gesacademy.testingspringbootapp.service.impl;
+
+import com.gesacademy.testingspringbootapp.datasource.ReplicaRoutingDataSource;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Merges single-id lookups that arrive within a short window into one {@code findAllById} (IN) query,
+ * DataLoader-style. Concurrent lookups of the same id share one pending result, also while its batch
+ * is already running. A window of zero turns coalescing off and every lookup is a plain {@code findById}.
+ * <p>
+ * A batch runs on its own thread, so lookups remember their tenant and the batch issues one query per tenant.
+ * <p>
+ * What this loads fills the employee cache, so it reads from the primary even under the "replicas" profile.
+ */
+@Component
+public class CoalescingEmployeeLoader implements DisposableBean {
+
+    private final EmployeeRepository employeeRepository;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Key, CompletableFuture<Optional<Employee>>> inFlight = new ConcurrentHashMap<>();
+    private Map<Key, CompletableFuture<Optional<Employee>>> pendingBatch = new LinkedHashMap<>();
+    private long batchGeneration;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("employee-loader-timer").daemon().factory());
+    // a batch blocks on JDBC, so it runs off the timer thread
+    private final ExecutorService batchExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("employee-loader-", 0).factory());
+
+    private record Key(String tenant, Long id) {
+    }
+
+    public CoalescingEmployeeLoader(EmployeeRepository employeeRepository,
+                                    @Value("${employee.lookup.coalescing-window:0ms}") Duration window,
+                                    @Value("${employee.lookup.max-batch-size:500}") int maxBatchSize) {
+        this.employeeRepository = employeeRepository;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Optional<Employee> load(Long id) {
+        if (windowNanos <= 0) {
+            return ReplicaRoutingDataSource.callOnPrimary(() -> employeeRepository.findById(id));
+        }
+        try {
+            return enqueue(new Key(TenantContext.current(), id)).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private CompletableFuture<Optional<Employee>> enqueue(Key key) {
+        lock.lock();
+        try {
+            CompletableFuture<Optional<Employee>> existing = inFlight.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<Optional<Employee>> result = new CompletableFuture<>();
+            inFlight.put(key, result);
+            pendingBatch.put(key, result);
+            if (pendingBatch.size() >= maxBatchSize) {
+                dispatch(batchGeneration);
+            } else if (pendingBatch.size() == 1) {
+                long generation = batchGeneration;
+                scheduler.schedule(() -> dispatchIfCurrent(generation), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatchIfCurrent(long generation) {
+        lock.lock();
+        try {
+            dispatch(generation);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // caller holds the lock; a timer for a batch that already went out because it filled up is a no-op
+    private void dispatch(long generation) {
+        if (generation != batchGeneration || pendingBatch.isEmpty()) {
+            return;
+        }
+        Map<Key, CompletableFuture<Optional<Employee>>> batch = pendingBatch;
+        pendingBatch = new LinkedHashMap<>();
+        batchGeneration++;
+        batchExecutor.execute(() -> loadBatch(batch));
+    }
+
+    private void loadBatch(Map<Key, CompletableFuture<Optional<Employee>>> batch) {
+        try {
+            Map<String, Set<Long>> idsByTenant = new LinkedHashMap<>();
+            batch.keySet().forEach(key -> idsByTenant.computeIfAbsent(key.tenant(), tenant -> new LinkedHashSet<>()).add(key.id()));
+            Map<Key, Employee> employees = new HashMap<>();
+            idsByTenant.forEach((tenant, ids) -> TenantContext.callAs(tenant,
+                            () -> ReplicaRoutingDataSource.callOnPrimary(() -> employeeRepository.findAllById(ids)))
+                    .forEach(employee -> employees.put(new Key(tenant, employee.getId()), employee)));
+            batch.forEach((key, result) -> result.complete(Optional.ofNullable(employees.get(key))));
+        } catch (RuntimeException ex) {
+            batch.values().forEach(result -> result.completeExceptionally(ex));
+        } finally {
+            batch.forEach(inFlight::remove);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        batchExecutor.shutdown();
+    }
+}
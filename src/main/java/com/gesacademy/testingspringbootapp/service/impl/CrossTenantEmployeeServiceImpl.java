@@ -0,0 +1,181 @@
+package com.gesacademy.testingspringbootapp.service.impl;
+
+import com.gesacademy.testingspringbootapp.datasource.TenantShardRoutingDataSource;
+import com.gesacademy.testingspringbootapp.dto.CursorPage;
+import com.gesacademy.testingspringbootapp.dto.TenantEmployeeSummary;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.service.CrossTenantEmployeeService;
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Reads every tenant's employees in id order. Under the "shards" profile this is a scatter-gather: each shard
+ * is read through its own keyset cursor, the first chunks in parallel, and the id-ordered cursors are merged.
+ * Ids come from disjoint ranges per shard, so the merged order is total. Without shards there is a single cursor
+ * over the one database.
+ * <p>
+ * Every chunk is a short read-only transaction of its own, so no connection is held while the caller consumes
+ * the rows.
+ */
+@Service
+public class CrossTenantEmployeeServiceImpl implements CrossTenantEmployeeService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int STREAM_CHUNK_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TenantShardRoutingDataSource shards;
+
+    public CrossTenantEmployeeServiceImpl(EmployeeRepository employeeRepository,
+                                          PlatformTransactionManager transactionManager,
+                                          ObjectProvider<TenantShardRoutingDataSource> shards) {
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.shards = shards.getIfAvailable();
+    }
+
+    @Override
+    public CursorPage<TenantEmployeeSummary> getEmployeesPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = cursor == null || cursor.isBlank() ? 0L : decodeCursor(cursor);
+
+        // one extra row tells whether another page exists; no shard can contribute more than that
+        List<TenantEmployeeSummary> employees = new ArrayList<>(size + 1);
+        merge(afterId, size + 1, employee -> employees.add(employee) && employees.size() <= size);
+        if (employees.size() <= size) {
+            return new CursorPage<>(employees, null);
+        }
+        List<TenantEmployeeSummary> content = employees.subList(0, size);
+        return new CursorPage<>(content, encodeCursor(content.get(size - 1).id()));
+    }
+
+    @Override
+    public void streamEmployees(Consumer<TenantEmployeeSummary> consumer) {
+        merge(0L, STREAM_CHUNK_SIZE, employee -> {
+            consumer.accept(employee);
+            return true;
+        });
+    }
+
+    // hands rows to the consumer in id order until it returns false or every cursor is exhausted
+    private void merge(long afterId, int chunkSize, Predicate<TenantEmployeeSummary> consumer) {
+        List<String> shardNames = shards != null ? List.copyOf(shards.shards().keySet()) : List.of("");
+        List<ShardCursor> cursors = shardNames.stream()
+                .map(shard -> new ShardCursor(shard, afterId, chunkSize))
+                .toList();
+        try (ExecutorService scatter = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture.allOf(cursors.stream()
+                            .map(cursor -> CompletableFuture.runAsync(cursor::fetch, scatter))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+        }
+
+        PriorityQueue<ShardCursor> heads = new PriorityQueue<>(Comparator.comparingLong(ShardCursor::headId));
+        cursors.stream().filter(ShardCursor::hasNext).forEach(heads::add);
+        while (!heads.isEmpty()) {
+            ShardCursor cursor = heads.poll();
+            if (!consumer.test(cursor.next())) {
+                return;
+            }
+            if (cursor.hasNext()) {
+                heads.add(cursor);
+            }
+        }
+    }
+
+    private List<TenantEmployeeSummary> readChunk(String shard, long afterId, int chunkSize) {
+        if (shards == null) {
+            return readChunk(afterId, chunkSize);
+        }
+        return shards.callOnShard(shard, () -> readChunk(afterId, chunkSize));
+    }
+
+    private List<TenantEmployeeSummary> readChunk(long afterId, int chunkSize) {
+        return TenantContext.callAsAllTenants(() -> readOnlyTransaction.execute(status ->
+                employeeRepository.findTenantSummariesAfter(afterId, Limit.of(chunkSize))));
+    }
+
+    // keyset cursor over one shard; fetches the next chunk once the current one is used up
+    private final class ShardCursor {
+
+        private final String shard;
+        private final int chunkSize;
+        private long lastId;
+        private Iterator<TenantEmployeeSummary> chunk = List.<TenantEmployeeSummary>of().iterator();
+        private TenantEmployeeSummary head;
+        private boolean exhausted;
+
+        ShardCursor(String shard, long afterId, int chunkSize) {
+            this.shard = shard;
+            this.lastId = afterId;
+            this.chunkSize = chunkSize;
+        }
+
+        void fetch() {
+            List<TenantEmployeeSummary> employees = readChunk(shard, lastId, chunkSize);
+            exhausted = employees.size() < chunkSize;
+            if (!employees.isEmpty()) {
+                lastId = employees.getLast().id();
+            }
+            chunk = employees.iterator();
+        }
+
+        boolean hasNext() {
+            if (head != null) {
+                return true;
+            }
+            if (!chunk.hasNext() && !exhausted) {
+                fetch();
+            }
+            if (chunk.hasNext()) {
+                head = chunk.next();
+            }
+            return head != null;
+        }
+
+        long headId() {
+            return head.id();
+        }
+
+        TenantEmployeeSummary next() {
+            TenantEmployeeSummary next = head;
+            head = null;
+            return next;
+        }
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
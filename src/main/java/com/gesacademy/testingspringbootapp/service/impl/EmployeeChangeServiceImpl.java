@@ -0,0 +1,89 @@
+package com.gesacademy.testingspringbootapp.service.impl;
+
+import com.gesacademy.testingspringbootapp.cdc.EmployeeChangeRelay;
+import com.gesacademy.testingspringbootapp.dto.EmployeeChange;
+import com.gesacademy.testingspringbootapp.dto.EmployeeChangePage;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.exception.ChangesExpiredException;
+import com.gesacademy.testingspringbootapp.service.EmployeeChangeService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@Profile("!memory & !shards")
+public class EmployeeChangeServiceImpl implements EmployeeChangeService, DisposableBean {
+
+    static final int MAX_CHANGES_PER_PAGE = 1000;
+    static final Duration MAX_WAIT = Duration.ofSeconds(60);
+
+    private static final String SELECT_CHANGES = "SELECT stream_position, employee_id, change_type, first_name, "
+            + "last_name, email, changed_at FROM employee_changes WHERE stream_position > ? "
+            + "ORDER BY stream_position LIMIT ?";
+
+    private static final RowMapper<EmployeeChange> CHANGE_MAPPER = (resultSet, rowNum) -> new EmployeeChange(
+            resultSet.getLong("stream_position"),
+            resultSet.getLong("employee_id"),
+            EmployeeChange.Type.valueOf(resultSet.getString("change_type")),
+            resultSet.getString("first_name"),
+            resultSet.getString("last_name"),
+            resultSet.getString("email"),
+            resultSet.getTimestamp("changed_at").toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmployeeChangeRelay changeRelay;
+    // woken long-polls re-read on their own virtual thread rather than on the relay's
+    private final ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public EmployeeChangeServiceImpl(JdbcTemplate jdbcTemplate, EmployeeChangeRelay changeRelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeRelay = changeRelay;
+    }
+
+    // positions are contiguous, so a hole right after the requested one can only come from pruning
+    @Override
+    public EmployeeChangePage getChanges(long after, int limit) {
+        if (after < 0) {
+            throw new BadRequestException("Position must not be negative");
+        }
+        if (limit < 1 || limit > MAX_CHANGES_PER_PAGE) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_CHANGES_PER_PAGE);
+        }
+        // read before the query: every position up to it is committed, so the query must see it unless pruned
+        long latest = changeRelay.latestPosition();
+        List<EmployeeChange> changes = jdbcTemplate.query(SELECT_CHANGES, CHANGE_MAPPER, after, limit);
+        long first = changes.isEmpty() ? latest + 1 : changes.getFirst().position();
+        if (first > after + 1) {
+            throw new ChangesExpiredException("Changes after position " + after
+                    + " are no longer retained, re-read the employees and resume from position " + (first - 1));
+        }
+        return new EmployeeChangePage(changes, changes.isEmpty() ? after : changes.getLast().position());
+    }
+
+    // an empty page is held back until a change past the position is relayed or the timeout runs out
+    @Override
+    public CompletableFuture<EmployeeChangePage> awaitChanges(long after, int limit, Duration timeout) {
+        if (timeout.isNegative() || timeout.compareTo(MAX_WAIT) > 0) {
+            throw new BadRequestException("Wait must be between 0 and " + MAX_WAIT.toSeconds() + " seconds");
+        }
+        EmployeeChangePage page = getChanges(after, limit);
+        if (!page.changes().isEmpty() || timeout.isZero()) {
+            return CompletableFuture.completedFuture(page);
+        }
+        return changeRelay.awaitPositionAfter(after, timeout)
+                .thenApplyAsync(latest -> latest > after ? getChanges(after, limit) : page, readers);
+    }
+
+    @Override
+    public void destroy() {
+        readers.close();
+    }
+}
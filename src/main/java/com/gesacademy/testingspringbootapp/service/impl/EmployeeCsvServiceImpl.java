@@ -0,0 +1,229 @@
+package com.gesacademy.testingspringbootapp.service.impl;
+
+import com.gesacademy.testingspringbootapp.csv.CsvFormatException;
+import com.gesacademy.testingspringbootapp.csv.CsvReader;
+import com.gesacademy.testingspringbootapp.csv.CsvWriter;
+import com.gesacademy.testingspringbootapp.dto.CsvImportResult;
+import com.gesacademy.testingspringbootapp.dto.EmployeeBatchResult;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.service.EmployeeCsvService;
+import com.gesacademy.testingspringbootapp.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV import and export of the employee directory with memory bounded by one chunk, whatever the file size.
+ * <p>
+ * The import parses the upload as it arrives and saves every {@link #CHUNK_SIZE} rows through
+ * {@link EmployeeService#saveEmployees}, one transaction per chunk: rows are validated and de-duplicated by email
+ * within the chunk and against the table (which already holds the earlier chunks), then inserted as JDBC batches.
+ * A failed import keeps the chunks saved before the failure, and running the same file again skips them as
+ * duplicates. The export writes rows as they come off the database cursor.
+ * <p>
+ * Progress is logged every {@link #PROGRESS_INTERVAL} rows and counted in the {@value #ROWS_METRIC} metric.
+ */
+@Service
+public class EmployeeCsvServiceImpl implements EmployeeCsvService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeCsvServiceImpl.class);
+
+    public static final String ROWS_METRIC = "employee.csv.rows";
+
+    static final int CHUNK_SIZE = 1000;
+    static final long PROGRESS_INTERVAL = 100_000;
+    // the width of the name and email columns
+    static final int MAX_VALUE_LENGTH = 255;
+    // far beyond any valid value; reached when a quote is never closed
+    static final int MAX_FIELD_LENGTH = 4096;
+    static final String[] HEADER = {"id", "firstName", "lastName", "email"};
+
+    private final EmployeeService employeeService;
+    private final Counter createdRows;
+    private final Counter duplicateRows;
+    private final Counter invalidRows;
+    private final Counter exportedRows;
+
+    public EmployeeCsvServiceImpl(EmployeeService employeeService, MeterRegistry meterRegistry) {
+        this.employeeService = employeeService;
+        this.createdRows = rowCounter(meterRegistry, "import", "created");
+        this.duplicateRows = rowCounter(meterRegistry, "import", "duplicate");
+        this.invalidRows = rowCounter(meterRegistry, "import", "invalid");
+        this.exportedRows = rowCounter(meterRegistry, "export", "exported");
+    }
+
+    @Override
+    public CsvImportResult importCsv(InputStream csv) {
+        Import progress = new Import();
+        try (CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8), MAX_FIELD_LENGTH)) {
+            Columns columns = Columns.of(reader.nextRecord());
+            List<Employee> chunk = new ArrayList<>(CHUNK_SIZE);
+            List<Long> lines = new ArrayList<>(CHUNK_SIZE);
+            for (List<String> record = reader.nextRecord(); record != null; record = reader.nextRecord()) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                progress.rows++;
+                String problem = columns.validate(record);
+                if (problem != null) {
+                    reject(progress, reader.recordLine(), columns.email(record), EmployeeBatchResult.Status.INVALID, problem);
+                } else {
+                    chunk.add(columns.employee(record));
+                    lines.add(reader.recordLine());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    saveChunk(chunk, lines, progress);
+                }
+                if (progress.rows % PROGRESS_INTERVAL == 0) {
+                    log.info("CSV import: {} rows read, {} created, {} duplicates, {} invalid", progress.rows,
+                            progress.created, progress.duplicates, progress.invalid);
+                }
+            }
+            saveChunk(chunk, lines, progress);
+        } catch (CsvFormatException ex) {
+            throw new BadRequestException("Invalid CSV at " + ex.getMessage() + "; " + progress.created
+                    + " employees from the rows before it were imported", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        log.info("CSV import finished: {} rows read, {} created, {} duplicates, {} invalid", progress.rows,
+                progress.created, progress.duplicates, progress.invalid);
+        return new CsvImportResult(progress.rows, progress.created, progress.duplicates, progress.invalid,
+                List.copyOf(progress.rejected));
+    }
+
+    @Override
+    public long exportCsv(OutputStream csv) {
+        long[] rows = {0};
+        try {
+            CsvWriter writer = new CsvWriter(new BufferedWriter(new OutputStreamWriter(csv, StandardCharsets.UTF_8), 64 * 1024));
+            writer.writeRecord(HEADER);
+            employeeService.streamEmployees(employee -> {
+                try {
+                    writer.writeRecord(String.valueOf(employee.id()), employee.firstName(), employee.lastName(), employee.email());
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                exportedRows.increment();
+                if (++rows[0] % PROGRESS_INTERVAL == 0) {
+                    log.info("CSV export: {} rows written", rows[0]);
+                }
+            });
+            writer.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        log.info("CSV export finished: {} rows written", rows[0]);
+        return rows[0];
+    }
+
+    private void saveChunk(List<Employee> chunk, List<Long> lines, Import progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (EmployeeBatchResult result : employeeService.saveEmployees(chunk)) {
+            if (result.status() == EmployeeBatchResult.Status.CREATED) {
+                progress.created++;
+                createdRows.increment();
+            } else {
+                reject(progress, lines.get(result.index()), result.email(), result.status(), result.message());
+            }
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private void reject(Import progress, long line, String email, EmployeeBatchResult.Status status, String message) {
+        if (status == EmployeeBatchResult.Status.DUPLICATE) {
+            progress.duplicates++;
+            duplicateRows.increment();
+        } else {
+            progress.invalid++;
+            invalidRows.increment();
+        }
+        if (progress.rejected.size() < CsvImportResult.MAX_REPORTED_ROWS) {
+            progress.rejected.add(new CsvImportResult.RejectedRow(line, email, status, message));
+        }
+    }
+
+    // running totals of one import
+    private static final class Import {
+
+        private long rows;
+        private long created;
+        private long duplicates;
+        private long invalid;
+        private final List<CsvImportResult.RejectedRow> rejected = new ArrayList<>();
+    }
+
+    // where the header put the columns; they may come in any order, other columns (such as the exported id) are
+    // ignored
+    private record Columns(int size, int firstName, int lastName, int email) {
+
+        static Columns of(List<String> header) {
+            if (header == null) {
+                throw new BadRequestException("CSV is empty, expected a header naming the columns firstName, lastName and email");
+            }
+            Map<String, Integer> positions = new HashMap<>();
+            for (int index = 0; index < header.size(); index++) {
+                positions.putIfAbsent(header.get(index).strip().toLowerCase(Locale.ROOT), index);
+            }
+            Integer firstName = positions.get("firstname");
+            Integer lastName = positions.get("lastname");
+            Integer email = positions.get("email");
+            if (firstName == null || lastName == null || email == null) {
+                throw new BadRequestException("CSV header must name the columns firstName, lastName and email, got " + header);
+            }
+            return new Columns(header.size(), firstName, lastName, email);
+        }
+
+        // null when the row can be handed to the service, which checks for blanks and duplicates itself
+        String validate(List<String> record) {
+            if (record.size() != size) {
+                return "Expected " + size + " columns, got " + record.size();
+            }
+            if (record.get(firstName).strip().length() > MAX_VALUE_LENGTH || record.get(lastName).strip().length() > MAX_VALUE_LENGTH
+                    || record.get(email).strip().length() > MAX_VALUE_LENGTH) {
+                return "firstName, lastName and email may be at most " + MAX_VALUE_LENGTH + " characters";
+            }
+            return null;
+        }
+
+        String email(List<String> record) {
+            return email < record.size() ? record.get(email).strip() : null;
+        }
+
+        Employee employee(List<String> record) {
+            return Employee.builder()
+                    .firstName(record.get(firstName).strip())
+                    .lastName(record.get(lastName).strip())
+                    .email(record.get(email).strip())
+                    .build();
+        }
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Counter.builder(ROWS_METRIC)
+                .description("Employee rows imported from or exported to CSV")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -1,50 +1,315 @@
 package com.gesacademy.testingspringbootapp.service.impl;
 
+import com.gesacademy.testingspringbootapp.config.CacheConfig;
+import com.gesacademy.testingspringbootapp.dto.CursorPage;
+import com.gesacademy.testingspringbootapp.dto.EmployeeBatchResult;
+import com.gesacademy.testingspringbootapp.dto.EmployeeListVersion;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.event.EmployeesSavedEvent;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.exception.PreconditionFailedException;
 import com.gesacademy.testingspringbootapp.exception.ResourceAlreadyExistsException;
 import com.gesacademy.testingspringbootapp.model.Employee;
 import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.repository.EmployeeView;
+import com.gesacademy.testingspringbootapp.search.EmployeeSearchIndex;
 import com.gesacademy.testingspringbootapp.service.EmployeeService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_SUGGESTIONS = 100;
+    static final int MAX_IDS_PER_LOOKUP = 1000;
+    static final int MAX_BATCH_SIZE = 10_000;
+    static final int BATCH_CHUNK_SIZE = 500;
+    static final String EMAIL_UNIQUE_INDEX = "ux_employees_email";
+
     private final EmployeeRepository employeeRepository;
+    private final ObjectProvider<EntityManager> entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeSearchIndex searchIndex;
+    private final CoalescingEmployeeLoader employeeLoader;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, ObjectProvider<EntityManager> entityManager,
+                               ApplicationEventPublisher eventPublisher, EmployeeSearchIndex searchIndex,
+                               CoalescingEmployeeLoader employeeLoader) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.searchIndex = searchIndex;
+        this.employeeLoader = employeeLoader;
     }
 
+    // transactional so listeners running before commit (the change outbox) write in the same transaction
     @Override
+    @Transactional
     public Employee saveEmployee(Employee employee) {
+        // the unique index on email rejects duplicates atomically, so the insert is the only round trip
+        try {
+            return publishSaved(employeeRepository.saveAndFlush(employee), true);
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateEmail(ex)) {
+                throw new ResourceAlreadyExistsException("Employee already exist with given email:" + employee.getEmail(), ex);
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<EmployeeBatchResult> saveEmployees(List<Employee> employees) {
+        if (employees.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch may contain at most " + MAX_BATCH_SIZE + " employees");
+        }
+        EmployeeBatchResult[] results = new EmployeeBatchResult[employees.size()];
+        Set<String> seenEmails = new HashSet<>();
+        for (int from = 0; from < employees.size(); from += BATCH_CHUNK_SIZE) {
+            saveChunk(employees, from, Math.min(from + BATCH_CHUNK_SIZE, employees.size()), seenEmails, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    // read-only transactions run with Hibernate flush mode MANUAL, so no dirty checking or flush on commit
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> getAllEmployees() {
+        return employeeRepository.findAllSummaries();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeListVersion getEmployeeListVersion() {
+        return employeeRepository.findListVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeSummary> getEmployeesPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = cursor == null || cursor.isBlank() ? 0L : decodeCursor(cursor);
 
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()) {
-            throw new ResourceAlreadyExistsException("Employee already exist with given email:" + employee.getEmail());
+        // fetch one extra row so we know whether another page exists without a COUNT query
+        List<EmployeeSummary> employees = employeeRepository.findSummariesByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1));
+        if (employees.size() <= size) {
+            return new CursorPage<>(employees, null);
         }
-        return employeeRepository.save(employee);
+        List<EmployeeSummary> content = employees.subList(0, size);
+        return new CursorPage<>(content, encodeCursor(content.get(size - 1).id()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmployeeView> searchEmployees(String firstName, String lastName) {
+        return employeeRepository.findByFirstNameAndLastNameOrderByIdAsc(firstName, lastName);
     }
 
+    // answered from the in-memory prefix index, no database round trip
     @Override
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    public List<EmployeeSummary> suggestEmployees(String query, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        return searchIndex.search(query, limit);
+    }
+
+    // summaries are never managed, so the persistence context stays empty however large the table is
+    @Override
+    @Transactional(readOnly = true)
+    public void streamEmployees(Consumer<EmployeeSummary> consumer) {
+        try (Stream<EmployeeSummary> employees = employeeRepository.streamAllSummaries()) {
+            employees.forEach(consumer);
+        }
     }
 
+    // misses (empty results) are not cached so a newly created id is visible immediately;
+    // cache misses arriving together are merged into one IN query by the loader
     @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, key = CacheConfig.ID_KEY, unless = "#result == null")
     public Optional<Employee> getEmployeeById(Long id) {
-        return employeeRepository.findById(id);
+        return employeeLoader.load(id);
     }
 
+    // one IN query for the whole list; unknown ids are skipped and the rest keep the requested order
     @Override
-    public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        if (uniqueIds.size() > MAX_IDS_PER_LOOKUP) {
+            throw new BadRequestException("At most " + MAX_IDS_PER_LOOKUP + " ids can be looked up at once");
+        }
+        Map<Long, Employee> employees = new HashMap<>();
+        employeeRepository.findAllById(uniqueIds).forEach(employee -> employees.put(employee.getId(), employee));
+        return uniqueIds.stream()
+                .map(employees::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // With an expected version the update is a single conditional UPDATE, and the row is read back afterwards
+    // because what is returned also fills the cache; without one the row is read and written back in this
+    // transaction, so a concurrent change still fails the version check at flush.
+    // The email may change, and its old value isn't known here, so the whole by-email cache is dropped.
+    @Override
+    @Transactional
+    @Caching(put = @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = CacheConfig.ID_KEY, unless = "#result == null"),
+            evict = @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, allEntries = true))
+    public Optional<Employee> updateEmployee(Long id, Employee employee, Long expectedVersion) {
+        try {
+            if (expectedVersion == null) {
+                return employeeRepository.findById(id).map(savedEmployee -> {
+                    savedEmployee.setFirstName(employee.getFirstName());
+                    savedEmployee.setLastName(employee.getLastName());
+                    savedEmployee.setEmail(employee.getEmail());
+                    return publishSaved(employeeRepository.saveAndFlush(savedEmployee), false);
+                });
+            }
+            Instant updatedAt = Employee.currentTimestamp();
+            if (employeeRepository.updateIfVersionMatches(id, employee.getFirstName(), employee.getLastName(),
+                    employee.getEmail(), expectedVersion, updatedAt) == 1) {
+                return employeeRepository.findById(id).map(updatedEmployee -> publishSaved(updatedEmployee, false));
+            }
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateEmail(ex)) {
+                throw new ResourceAlreadyExistsException("Employee already exist with given email:" + employee.getEmail(), ex);
+            }
+            throw ex;
+        }
+
+        // nothing matched: either the employee is gone or someone else updated it first
+        if (!employeeRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        throw new PreconditionFailedException("Employee " + id + " is no longer at version " + expectedVersion);
     }
 
     @Override
-    public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = CacheConfig.ID_KEY),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES_BY_EMAIL, allEntries = true)
+    })
+    public boolean deleteEmployee(Long id) {
+        // deleteById ignores a missing id, but a delete that removed nothing must not leave a tombstone or a
+        // DELETED change behind; a concurrent delete of the same row fails the versioned DELETE instead
+        Optional<Employee> employee = employeeRepository.findById(id);
+        if (employee.isEmpty()) {
+            return false;
+        }
+        employeeRepository.delete(employee.get());
+        eventPublisher.publishEvent(new EmployeeDeletedEvent(id));
+        return true;
+    }
+
+    private void saveChunk(List<Employee> employees, int from, int to,
+                           Set<String> seenEmails, EmployeeBatchResult[] results) {
+        Map<Integer, Employee> candidates = new LinkedHashMap<>();
+        for (int index = from; index < to; index++) {
+            Employee employee = employees.get(index);
+            if (isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(employee.getEmail())) {
+                results[index] = EmployeeBatchResult.rejected(index, employee.getEmail(),
+                        EmployeeBatchResult.Status.INVALID, "firstName, lastName and email are required");
+            } else if (!seenEmails.add(employee.getEmail())) {
+                results[index] = EmployeeBatchResult.rejected(index, employee.getEmail(),
+                        EmployeeBatchResult.Status.DUPLICATE, "Email appears more than once in the batch:" + employee.getEmail());
+            } else {
+                candidates.put(index, employee);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // one IN query for the whole chunk instead of a findByEmail round trip per row. Emails are compared as
+        // given, in the batch as in the table; any further folding is the unique index's collation to decide.
+        Set<String> existingEmails =
+                employeeRepository.findExistingEmails(candidates.values().stream().map(Employee::getEmail).toList());
+        candidates.entrySet().removeIf(candidate -> {
+            String email = candidate.getValue().getEmail();
+            if (existingEmails.contains(email)) {
+                results[candidate.getKey()] = EmployeeBatchResult.rejected(candidate.getKey(), email,
+                        EmployeeBatchResult.Status.DUPLICATE, "Employee already exist with given email:" + email);
+                return true;
+            }
+            return false;
+        });
+
+        candidates.values().forEach(employee -> {
+            employee.setId(null);
+            employee.setVersion(null);
+        });
+        employeeRepository.saveAll(List.copyOf(candidates.values()));
+        // push the chunk out as one JDBC batch and drop it from the persistence context
+        // (the in-memory backend has neither, its saveAll is already applied)
+        employeeRepository.flush();
+        entityManager.ifAvailable(EntityManager::clear);
+        candidates.forEach((index, employee) ->
+                results[index] = EmployeeBatchResult.created(index, employee.getEmail(), employee.getId()));
+        eventPublisher.publishEvent(EmployeesSavedEvent.created(
+                candidates.values().stream().map(EmployeeSummary::of).toList()));
+    }
+
+    // inside a transaction, listeners such as the search index only see the event once it commits
+    private Employee publishSaved(Employee employee, boolean created) {
+        eventPublisher.publishEvent(new EmployeesSavedEvent(List.of(EmployeeSummary.of(employee)), created));
+        return employee;
+    }
+
+    private static boolean isDuplicateEmail(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_INDEX);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor, ex);
+        }
     }
 }
@@ -0,0 +1,190 @@
+package com.gesacademy.testingspringbootapp.service.impl;
+
+import com.gesacademy.testingspringbootapp.config.CacheConfig;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.exception.ResourceAlreadyExistsException;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.search.EmployeeSearchIndex;
+import com.gesacademy.testingspringbootapp.service.EmployeeSnapshotService;
+import com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotReader;
+import com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Dumps the employees table to a columnar snapshot file and loads one back, over plain JDBC so no
+ * entities are ever materialised. Export reads through a server-side cursor; import sends one JDBC batch
+ * per {@link #INSERT_BATCH_SIZE} rows (multi-row INSERTs on MySQL thanks to rewriteBatchedStatements).
+ * Heap use is bounded by one row group on either side, whatever the table size.
+ */
+@Service
+@Profile("!memory & !shards")
+public class EmployeeSnapshotServiceImpl implements EmployeeSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSnapshotServiceImpl.class);
+
+    static final int ROW_GROUP_SIZE = 16_384;
+    static final int FETCH_SIZE = 1000;
+    static final int INSERT_BATCH_SIZE = 1000;
+    // matches the allocationSize of employee_seq, so the next pooled block starts above every imported id
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String SELECT_ALL =
+            "SELECT id, first_name, last_name, email, version, created_at, updated_at FROM employees ORDER BY id";
+    private static final String INSERT =
+            "INSERT INTO employees (id, first_name, last_name, email, version, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheManager cacheManager;
+    private final EmployeeSearchIndex searchIndex;
+
+    public EmployeeSnapshotServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       CacheManager cacheManager, EmployeeSearchIndex searchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cacheManager = cacheManager;
+        this.searchIndex = searchIndex;
+    }
+
+    @Override
+    public long exportSnapshot(Path file) {
+        long started = System.nanoTime();
+        long rows = readOnlyTransaction.execute(status -> {
+            try (EmployeeSnapshotWriter writer = EmployeeSnapshotWriter.create(file, ROW_GROUP_SIZE)) {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(SELECT_ALL);
+                    statement.setFetchSize(FETCH_SIZE);
+                    return statement;
+                }, (ResultSet resultSet) -> {
+                    try {
+                        writer.write(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                                resultSet.getString(4), resultSet.getLong(5), resultSet.getTimestamp(6).toInstant(),
+                                resultSet.getTimestamp(7).toInstant());
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                return writer.rowCount();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        log.info("Exported {} employees to {} in {} ms", rows, file, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    // Ids are kept as they are in the snapshot, so the table must start empty; the whole import is one
+    // transaction, so a failure part-way leaves it empty again. The id sequence is moved past the highest
+    // imported id, but a block this process already holds is not re-fetched: import before taking writes.
+    @Override
+    public long importSnapshot(Path file) {
+        long started = System.nanoTime();
+        long rows = transactionTemplate.execute(status -> {
+            if (Boolean.TRUE.equals(jdbcTemplate.query("SELECT id FROM employees LIMIT 1", (ResultSetExtractor<Boolean>) ResultSet::next))) {
+                throw new ResourceAlreadyExistsException("Snapshots can only be imported into an empty employees table");
+            }
+            try (EmployeeSnapshotReader reader = EmployeeSnapshotReader.open(file)) {
+                long imported = 0;
+                long maxId = 0;
+                Instant importedAt = Employee.currentTimestamp();
+                for (EmployeeSnapshotReader.RowGroup group = reader.nextGroup(); group != null; group = reader.nextGroup()) {
+                    for (int from = 0; from < group.size(); from += INSERT_BATCH_SIZE) {
+                        insertBatch(group, from, Math.min(from + INSERT_BATCH_SIZE, group.size()), importedAt);
+                    }
+                    for (int row = 0; row < group.size(); row++) {
+                        maxId = Math.max(maxId, group.id(row));
+                    }
+                    imported += group.size();
+                }
+                if (imported != reader.rowCount()) {
+                    throw new IOException("Employee snapshot holds " + imported + " rows, header says " + reader.rowCount());
+                }
+                advanceIdSequence(maxId + ID_ALLOCATION_SIZE);
+                return imported;
+            } catch (IOException ex) {
+                // the file comes from the caller, so a bad header, checksum or length is their error
+                throw new BadRequestException("Invalid employee snapshot: " + ex.getMessage(), ex);
+            }
+        });
+
+        clearCache(CacheConfig.EMPLOYEES);
+        clearCache(CacheConfig.EMPLOYEES_BY_EMAIL);
+        searchIndex.rebuild();
+        log.info("Imported {} employees from {} in {} ms", rows, file, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private void insertBatch(EmployeeSnapshotReader.RowGroup group, int from, int to, Instant importedAt) {
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                int row = from + index;
+                statement.setLong(1, group.id(row));
+                statement.setString(2, group.firstName(row));
+                statement.setString(3, group.lastName(row));
+                statement.setString(4, group.email(row));
+                statement.setLong(5, group.version(row));
+                // files written before the time columns existed are stamped with the import time
+                Instant createdAt = group.createdAt(row);
+                statement.setTimestamp(6, Timestamp.from(createdAt != null ? createdAt : importedAt));
+                Instant updatedAt = group.updatedAt(row);
+                statement.setTimestamp(7, Timestamp.from(updatedAt != null ? updatedAt : importedAt));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return to - from;
+            }
+        });
+    }
+
+    // never moves the sequence backwards; MySQL emulates employees_seq with a table, H2 has a real sequence
+    private void advanceIdSequence(long nextValue) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        switch (database) {
+            case "MySQL" -> jdbcTemplate.update(
+                    "UPDATE employees_seq SET next_val = GREATEST(next_val, ?)", nextValue);
+            case "H2" -> {
+                Long current = jdbcTemplate.queryForObject(
+                        "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'EMPLOYEES_SEQ'",
+                        Long.class);
+                if (current == null || current < nextValue) {
+                    jdbcTemplate.execute("ALTER SEQUENCE employees_seq RESTART WITH " + nextValue);
+                }
+            }
+            default -> throw new IllegalStateException("Cannot advance the employee id sequence on " + database);
+        }
+    }
+
+    private void clearCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
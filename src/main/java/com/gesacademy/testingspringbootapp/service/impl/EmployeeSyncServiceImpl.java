@@ -0,0 +1,124 @@
+package com.gesacademy.testingspringbootapp.service.impl;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeDelta;
+import com.gesacademy.testingspringbootapp.dto.EmployeeDeltaPage;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.model.EmployeeTombstone;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.repository.EmployeeTombstoneRepository;
+import com.gesacademy.testingspringbootapp.service.EmployeeSyncService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Changed-since sync over the employees' update times and the tombstones left by deletions. Both are
+ * read as keyset pages on their time index and merged, so the result is ordered by (time, id) across the two.
+ * <p>
+ * Update times come from the writer's clock before its transaction commits, so a row can become visible with
+ * a time slightly in the past. Only rows older than {@code employee.sync.settle-time} are returned, which
+ * keeps such rows from landing behind a cursor already handed out, as long as writes commit within that time.
+ */
+@Service
+@Profile("!memory & !shards")
+public class EmployeeSyncServiceImpl implements EmployeeSyncService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeTombstoneRepository tombstoneRepository;
+    private final Duration settleTime;
+
+    private record Position(Instant time, long id) {
+    }
+
+    public EmployeeSyncServiceImpl(EmployeeRepository employeeRepository,
+                                   EmployeeTombstoneRepository tombstoneRepository,
+                                   @Value("${employee.sync.settle-time:5s}") Duration settleTime) {
+        this.employeeRepository = employeeRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.settleTime = settleTime;
+    }
+
+    // a cursor, when given, takes precedence over since; neither means from the beginning
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeDeltaPage getChangesSince(Instant since, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Position after = cursor != null && !cursor.isBlank()
+                ? decodeCursor(cursor)
+                : new Position(since != null ? since : Instant.EPOCH, 0L);
+        Instant until = Employee.currentTimestamp().minus(settleTime);
+
+        // one extra row from each side tells whether another page exists
+        List<Employee> updated = employeeRepository.findUpdatedAfter(after.time(), after.id(), until, Limit.of(size + 1));
+        List<EmployeeTombstone> deleted = tombstoneRepository.findDeletedAfter(after.time(), after.id(), until,
+                Limit.of(size + 1));
+        List<EmployeeDelta> changes = new ArrayList<>(Math.min(size + 1, updated.size() + deleted.size()));
+        int nextUpdated = 0;
+        int nextDeleted = 0;
+        while (changes.size() <= size && (nextUpdated < updated.size() || nextDeleted < deleted.size())) {
+            if (nextDeleted == deleted.size()
+                    || (nextUpdated < updated.size() && isBefore(updated.get(nextUpdated), deleted.get(nextDeleted)))) {
+                Employee employee = updated.get(nextUpdated++);
+                changes.add(new EmployeeDelta(employee.getId(), false, employee.getFirstName(), employee.getLastName(),
+                        employee.getEmail(), employee.getVersion(), employee.getUpdatedAt()));
+            } else {
+                EmployeeTombstone tombstone = deleted.get(nextDeleted++);
+                changes.add(new EmployeeDelta(tombstone.getEmployeeId(), true, null, null, null, null,
+                        tombstone.getDeletedAt()));
+            }
+        }
+
+        boolean hasMore = changes.size() > size;
+        List<EmployeeDelta> content = hasMore ? changes.subList(0, size) : changes;
+        Position last = content.isEmpty()
+                ? after
+                : new Position(content.getLast().changedAt(), content.getLast().id());
+        return new EmployeeDeltaPage(List.copyOf(content), encodeCursor(last), hasMore);
+    }
+
+    // Recorded in the deleting transaction, just before it commits. Deleting an id again only moves its time.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void recordTombstone(EmployeeDeletedEvent event) {
+        tombstoneRepository.save(EmployeeTombstone.builder()
+                .employeeId(event.id())
+                .deletedAt(Employee.currentTimestamp())
+                .build());
+    }
+
+    private static boolean isBefore(Employee employee, EmployeeTombstone tombstone) {
+        int byTime = employee.getUpdatedAt().compareTo(tombstone.getDeletedAt());
+        return byTime < 0 || (byTime == 0 && employee.getId() < tombstone.getEmployeeId());
+    }
+
+    private static String encodeCursor(Position position) {
+        String value = ChronoUnit.MICROS.between(Instant.EPOCH, position.time()) + ":" + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Position decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            return new Position(Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.gesacademy.testingspringbootapp.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gesacademy.testingspringbootapp.config.CacheConfig;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.dto.WriteRequestStatus;
+import com.gesacademy.testingspringbootapp.event.EmployeesSavedEvent;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.exception.ServiceUnavailableException;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.model.EmployeeWriteRequest;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.repository.EmployeeWriteRequestRepository;
+import com.gesacademy.testingspringbootapp.service.EmployeeWriteBehindService;
+import com.gesacademy.testingspringbootapp.writebehind.EmployeeWriteCommand;
+import com.gesacademy.testingspringbootapp.writebehind.WriteAheadLog;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts creates and updates into a local write-ahead log and applies them to the database in the
+ * background, a batch of log entries per transaction. Each applied entry leaves an
+ * {@link EmployeeWriteRequest} row in the same transaction, which is both the status clients poll and
+ * what lets a replay after a restart skip entries that were committed but not yet marked as drained.
+ */
+@Service
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehindServiceImpl implements EmployeeWriteBehindService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehindServiceImpl.class);
+
+    static final String LOG_FILE_NAME = "employees.wal";
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeWriteRequestRepository writeRequestRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final WriteAheadLog writeAheadLog;
+    private final int batchSize;
+    private final Duration drainInterval;
+    private final int maxAttempts;
+
+    // accepted but not yet applied; everything else is answered from employee_write_requests
+    private final Set<String> pendingTrackingIds = ConcurrentHashMap.newKeySet();
+    // failed attempts per entry since this process started; only touched by the drainer
+    private final Map<String, Integer> failedAttempts = new HashMap<>();
+    private final ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("employee-write-behind").daemon().factory());
+
+    public EmployeeWriteBehindServiceImpl(EmployeeRepository employeeRepository,
+                                          EmployeeWriteRequestRepository writeRequestRepository,
+                                          EntityManager entityManager,
+                                          PlatformTransactionManager transactionManager,
+                                          CacheManager cacheManager,
+                                          ApplicationEventPublisher eventPublisher,
+                                          ObjectMapper objectMapper,
+                                          @Value("${employee.write-behind.directory}") Path directory,
+                                          @Value("${employee.write-behind.capacity:64MB}") DataSize capacity,
+                                          @Value("${employee.write-behind.batch-size:500}") int batchSize,
+                                          @Value("${employee.write-behind.drain-interval:50ms}") Duration drainInterval,
+                                          @Value("${employee.write-behind.max-attempts:5}") int maxAttempts)
+            throws IOException {
+        this.employeeRepository = employeeRepository;
+        this.writeRequestRepository = writeRequestRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.drainInterval = drainInterval;
+        this.maxAttempts = maxAttempts;
+        this.writeAheadLog = WriteAheadLog.open(directory.resolve(LOG_FILE_NAME), Math.toIntExact(capacity.toBytes()));
+
+        // entries left over from the previous run are replayed by the drainer once the application is ready
+        writeAheadLog.read(writeAheadLog.drainedOffset(), Integer.MAX_VALUE).stream()
+                .map(this::decode)
+                .filter(Objects::nonNull)
+                .forEach(command -> pendingTrackingIds.add(command.trackingId()));
+        if (!pendingTrackingIds.isEmpty()) {
+            log.info("Replaying {} employee writes from the write-behind log", pendingTrackingIds.size());
+        }
+    }
+
+    @Override
+    public WriteRequestStatus submitCreate(Employee employee) {
+        requireFields(employee);
+        return append(new EmployeeWriteCommand(UUID.randomUUID().toString(), EmployeeWriteRequest.Operation.CREATE,
+                null, null, employee.getFirstName(), employee.getLastName(), employee.getEmail()));
+    }
+
+    @Override
+    public WriteRequestStatus submitUpdate(Long id, Employee employee, Long expectedVersion) {
+        requireFields(employee);
+        return append(new EmployeeWriteCommand(UUID.randomUUID().toString(), EmployeeWriteRequest.Operation.UPDATE,
+                id, expectedVersion, employee.getFirstName(), employee.getLastName(), employee.getEmail()));
+    }
+
+    @Override
+    public Optional<WriteRequestStatus> getStatus(String trackingId) {
+        if (pendingTrackingIds.contains(trackingId)) {
+            return Optional.of(WriteRequestStatus.pending(trackingId));
+        }
+        return writeRequestRepository.findById(trackingId)
+                .map(request -> new WriteRequestStatus(request.getTrackingId(),
+                        request.getStatus() == EmployeeWriteRequest.Status.APPLIED
+                                ? WriteRequestStatus.State.APPLIED
+                                : WriteRequestStatus.State.FAILED,
+                        request.getEmployeeId(), request.getMessage()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startDraining() {
+        drainer.scheduleWithFixedDelay(this::drain, 0, drainInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        drainer.shutdown();
+        drainer.awaitTermination(10, TimeUnit.SECONDS);
+        writeAheadLog.close();
+    }
+
+    private WriteRequestStatus append(EmployeeWriteCommand command) {
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(command);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        // registered first so the drainer can never finish the entry before it counts as pending
+        pendingTrackingIds.add(command.trackingId());
+        if (!writeAheadLog.append(payload)) {
+            pendingTrackingIds.remove(command.trackingId());
+            throw new ServiceUnavailableException("Write-behind log is full, retry shortly");
+        }
+        return WriteRequestStatus.pending(command.trackingId());
+    }
+
+    // Drains the log one batch per transaction until it is empty; a database outage, or an entry that keeps
+    // failing, leaves the entries in place to be retried on the next run
+    void drain() {
+        try {
+            List<WriteAheadLog.Entry> entries;
+            while (!(entries = writeAheadLog.read(writeAheadLog.drainedOffset(), batchSize)).isEmpty()) {
+                List<EmployeeWriteCommand> commands = entries.stream()
+                        .map(this::decode)
+                        .filter(Objects::nonNull)
+                        .toList();
+                List<Employee> savedEmployees = applyBatch(commands);
+                evictChanged(commands, savedEmployees);
+                writeAheadLog.markDrained(entries.getLast().endOffset());
+                commands.forEach(command -> pendingTrackingIds.remove(command.trackingId()));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Draining the employee write-behind log failed, retrying in {}", drainInterval, ex);
+        }
+    }
+
+    private List<Employee> applyBatch(List<EmployeeWriteCommand> commands) {
+        try {
+            return transactionTemplate.execute(status -> apply(commands));
+        } catch (RuntimeException ex) {
+            if (isTransient(ex)) {
+                throw ex;
+            }
+            // one bad entry rolls back the whole batch, so apply the entries one by one to isolate it
+            List<Employee> savedEmployees = new ArrayList<>();
+            try {
+                for (EmployeeWriteCommand command : commands) {
+                    savedEmployees.addAll(applyAlone(command));
+                }
+            } catch (RuntimeException rowEx) {
+                // the entries applied so far are committed; a replay skips them, so their caches are evicted now
+                evictChanged(commands, savedEmployees);
+                throw rowEx;
+            }
+            return savedEmployees;
+        }
+    }
+
+    // A conflict fails the entry at once. Any other error is retried on the next runs, holding back the entries
+    // behind it, until the entry has failed maxAttempts times; it is then dead-lettered as FAILED so the log
+    // moves on. Transient database errors never count as attempts.
+    private List<Employee> applyAlone(EmployeeWriteCommand command) {
+        try {
+            List<Employee> savedEmployees = transactionTemplate.execute(status -> apply(List.of(command)));
+            failedAttempts.remove(command.trackingId());
+            return savedEmployees;
+        } catch (DataIntegrityViolationException ex) {
+            recordFailure(command, "Request conflicts with existing data");
+        } catch (RuntimeException ex) {
+            if (isTransient(ex)) {
+                throw ex;
+            }
+            int attempts = failedAttempts.merge(command.trackingId(), 1, Integer::sum);
+            if (attempts < maxAttempts) {
+                log.warn("Write-behind entry {} failed (attempt {} of {}), retrying in {}", command.trackingId(),
+                        attempts, maxAttempts, drainInterval, ex);
+                throw ex;
+            }
+            log.error("Giving up on write-behind entry {} after {} attempts", command.trackingId(), attempts, ex);
+            failedAttempts.remove(command.trackingId());
+            recordFailure(command, "Request could not be applied after " + attempts + " attempts");
+        }
+        return List.of();
+    }
+
+    private void recordFailure(EmployeeWriteCommand command, String message) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!writeRequestRepository.existsById(command.trackingId())) {
+                entityManager.persist(outcome(command, EmployeeWriteRequest.Status.FAILED, command.employeeId(), message));
+            }
+        });
+    }
+
+    private static boolean isTransient(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    // runs inside a transaction; returns the employees that were written
+    private List<Employee> apply(List<EmployeeWriteCommand> commands) {
+        Set<String> alreadyApplied = writeRequestRepository.findExistingTrackingIds(
+                commands.stream().map(EmployeeWriteCommand::trackingId).toList());
+        List<Employee> savedEmployees = new ArrayList<>();
+        List<EmployeeSummary> createdEmployees = new ArrayList<>();
+        List<EmployeeSummary> updatedEmployees = new ArrayList<>();
+        for (EmployeeWriteCommand command : commands) {
+            if (alreadyApplied.contains(command.trackingId())) {
+                continue;
+            }
+            Optional<Employee> savedEmployee = switch (command.operation()) {
+                case CREATE -> Optional.of(employeeRepository.save(Employee.builder()
+                        .firstName(command.firstName())
+                        .lastName(command.lastName())
+                        .email(command.email())
+                        .build()));
+                case UPDATE -> update(command);
+            };
+            savedEmployee.ifPresent(employee -> {
+                savedEmployees.add(employee);
+                (command.operation() == EmployeeWriteRequest.Operation.CREATE ? createdEmployees : updatedEmployees)
+                        .add(EmployeeSummary.of(employee));
+            });
+            entityManager.persist(savedEmployee
+                    .map(employee -> outcome(command, EmployeeWriteRequest.Status.APPLIED, employee.getId(), null))
+                    .orElseGet(() -> outcome(command, EmployeeWriteRequest.Status.FAILED, command.employeeId(),
+                            command.expectedVersion() == null
+                                    ? "Employee not found with id:" + command.employeeId()
+                                    : "Employee " + command.employeeId() + " is gone or no longer at version "
+                                    + command.expectedVersion())));
+        }
+        // surface constraint violations here, translated, rather than at commit
+        employeeRepository.flush();
+        // published inside the transaction, so a batch that rolls back (and is retried row by row) leaves no trace
+        if (!createdEmployees.isEmpty()) {
+            eventPublisher.publishEvent(EmployeesSavedEvent.created(createdEmployees));
+        }
+        if (!updatedEmployees.isEmpty()) {
+            eventPublisher.publishEvent(EmployeesSavedEvent.updated(updatedEmployees));
+        }
+        return savedEmployees;
+    }
+
+    private Optional<Employee> update(EmployeeWriteCommand command) {
+        if (command.expectedVersion() == null) {
+            return employeeRepository.findById(command.employeeId()).map(employee -> {
+                employee.setFirstName(command.firstName());
+                employee.setLastName(command.lastName());
+                employee.setEmail(command.email());
+                return employee;
+            });
+        }
+        Instant updatedAt = Employee.currentTimestamp();
+        if (employeeRepository.updateIfVersionMatches(command.employeeId(), command.firstName(), command.lastName(),
+                command.email(), command.expectedVersion(), updatedAt) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Employee.builder()
+                .id(command.employeeId())
+                .firstName(command.firstName())
+                .lastName(command.lastName())
+                .email(command.email())
+                .version(command.expectedVersion() + 1)
+                .updatedAt(updatedAt)
+                .build());
+    }
+
+    // the same cache upkeep the synchronous write path gets
+    private void evictChanged(List<EmployeeWriteCommand> commands, List<Employee> savedEmployees) {
+        if (savedEmployees.isEmpty()) {
+            return;
+        }
+        Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (employees != null) {
+            commands.stream()
+                    .filter(command -> command.operation() == EmployeeWriteRequest.Operation.UPDATE)
+                    .forEach(command -> employees.evict(CacheConfig.tenantKey(command.employeeId())));
+        }
+        Cache employeesByEmail = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_EMAIL);
+        if (employeesByEmail != null) {
+            employeesByEmail.clear();
+        }
+    }
+
+    private EmployeeWriteCommand decode(WriteAheadLog.Entry entry) {
+        try {
+            return objectMapper.readValue(entry.payload(), EmployeeWriteCommand.class);
+        } catch (IOException ex) {
+            // checksummed on append, so this is a format change rather than a torn write; skip rather than block the log
+            log.error("Skipping unreadable write-behind log entry", ex);
+            return null;
+        }
+    }
+
+    private static EmployeeWriteRequest outcome(EmployeeWriteCommand command, EmployeeWriteRequest.Status status,
+                                                Long employeeId, String message) {
+        return EmployeeWriteRequest.builder()
+                .trackingId(command.trackingId())
+                .operation(command.operation())
+                .status(status)
+                .employeeId(employeeId)
+                .message(message)
+                .completedAt(Instant.now())
+                .build();
+    }
+
+    private static void requireFields(Employee employee) {
+        if (isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(employee.getEmail())) {
+            throw new BadRequestException("firstName, lastName and email are required");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,101 @@
+package com.gesacademy.testingspringbootapp.service.impl;
+
+import com.gesacademy.testingspringbootapp.config.CacheConfig;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.event.EmployeesSavedEvent;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.ReactiveEmployeeRepository;
+import com.gesacademy.testingspringbootapp.service.ReactiveEmployeeService;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+@Service
+@Profile("reactive & !shards")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository reactiveEmployeeRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository reactiveEmployeeRepository, CacheManager cacheManager,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager) {
+        this.reactiveEmployeeRepository = reactiveEmployeeRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return reactiveEmployeeRepository.findAll();
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(Long id) {
+        return reactiveEmployeeRepository.findById(id);
+    }
+
+    // The row is re-read after the UPDATE so the response carries the version it was bumped to
+    @Override
+    public Mono<Employee> updateEmployee(Long id, Employee employee) {
+        Employee changedEmployee = Employee.builder()
+                .id(id)
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build();
+
+        return reactiveEmployeeRepository.update(changedEmployee)
+                .filter(rowsUpdated -> rowsUpdated > 0)
+                .doOnNext(rowsUpdated -> evictCachedEmployee(id))
+                .flatMap(rowsUpdated -> reactiveEmployeeRepository.findById(id))
+                .flatMap(updatedEmployee -> publish(EmployeesSavedEvent.updated(List.of(EmployeeSummary.of(updatedEmployee))))
+                        .thenReturn(updatedEmployee));
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployee(Long id) {
+        return reactiveEmployeeRepository.deleteById(id)
+                .flatMap(rowsDeleted -> {
+                    if (rowsDeleted == 0) {
+                        return Mono.just(false);
+                    }
+                    evictCachedEmployee(id);
+                    return publish(new EmployeeDeletedEvent(id)).thenReturn(true);
+                });
+    }
+
+    // The outbox row and the tombstone are written through JDBC, so the listeners run on a worker thread rather than
+    // the event loop, inside one JPA transaction that commits them together. The R2DBC statement has committed by then:
+    // its transaction manager is off, and it could not span the JDBC connection anyway.
+    private Mono<Void> publish(Object event) {
+        return Mono.<Void>fromRunnable(() ->
+                        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // keep the blocking stack's caches consistent with writes made here
+    private void evictCachedEmployee(Long id) {
+        Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (employees != null) {
+            employees.evict(CacheConfig.tenantKey(id));
+        }
+        Cache employeesByEmail = cacheManager.getCache(CacheConfig.EMPLOYEES_BY_EMAIL);
+        if (employeesByEmail != null) {
+            employeesByEmail.clear();
+        }
+    }
+}
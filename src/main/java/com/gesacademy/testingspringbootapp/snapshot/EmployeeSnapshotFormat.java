@@ -0,0 +1,29 @@
+package com.gesacademy.testingspringbootapp.snapshot;
+
+/**
+ * On-disk layout shared by {@link EmployeeSnapshotWriter} and {@link EmployeeSnapshotReader}.
+ * <p>
+ * A 32-byte file header ({@code magic, formatVersion, rowCount, rowGroupCount}) is followed by row groups.
+ * Each group is {@code [int bodyLength][int crc32c][body]}, where the body stores one column after another:
+ * {@code rows}, then {@code rows} ids, versions, creation and update times (longs, the times in epoch
+ * microseconds), then the first name, last name and email columns, each as {@code rows + 1} int end offsets
+ * followed by the UTF-8 bytes. All numbers are big-endian. Row groups are bounded, so neither side ever holds
+ * more than one group in memory.
+ * <p>
+ * Version 1 files have no time columns; they are still read, with the times reported as unknown.
+ */
+final class EmployeeSnapshotFormat {
+
+    static final int MAGIC = 0x454d5053; // "EMPS"
+    static final int FORMAT_VERSION = 2;
+    static final int FORMAT_VERSION_WITHOUT_TIMES = 1;
+
+    static final int FILE_HEADER_SIZE = 32;
+    static final int ROW_COUNT_POSITION = 8;
+    static final int ROW_GROUP_COUNT_POSITION = 16;
+
+    static final int GROUP_HEADER_SIZE = 8;
+
+    private EmployeeSnapshotFormat() {
+    }
+}
@@ -0,0 +1,178 @@
+package com.gesacademy.testingspringbootapp.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.CRC32C;
+
+import static com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotFormat.*;
+
+/**
+ * Reads a snapshot written by {@link EmployeeSnapshotWriter}, one memory-mapped row group at a time.
+ * Columns are decoded straight from the mapping, so only the group being consumed is ever paged in.
+ * A group whose checksum doesn't match, or a file that ends early, fails with {@link IOException}.
+ */
+public final class EmployeeSnapshotReader implements Closeable {
+
+    private final FileChannel channel;
+    private final boolean hasTimes;
+    private final long rowCount;
+    private final int rowGroupCount;
+
+    private long position = FILE_HEADER_SIZE;
+    private int groupsRead;
+
+    /**
+     * One row group, backed by the mapped file. Only valid until the next call to {@link #nextGroup()}.
+     */
+    public static final class RowGroup {
+
+        private final ByteBuffer body;
+        private final int rows;
+        private final boolean hasTimes;
+        private final int firstNameOffsets;
+        private final int lastNameOffsets;
+        private final int emailOffsets;
+
+        private RowGroup(ByteBuffer body, boolean hasTimes) {
+            this.body = body;
+            this.rows = body.getInt(0);
+            this.hasTimes = hasTimes;
+            this.firstNameOffsets = Integer.BYTES + rows * (hasTimes ? 4 : 2) * Long.BYTES;
+            this.lastNameOffsets = columnEnd(firstNameOffsets);
+            this.emailOffsets = columnEnd(lastNameOffsets);
+        }
+
+        public int size() {
+            return rows;
+        }
+
+        public long id(int row) {
+            return body.getLong(Integer.BYTES + row * Long.BYTES);
+        }
+
+        public long version(int row) {
+            return body.getLong(Integer.BYTES + (rows + row) * Long.BYTES);
+        }
+
+        /**
+         * @return when the row was created, or {@code null} for files written without times
+         */
+        public Instant createdAt(int row) {
+            return time(2, row);
+        }
+
+        /**
+         * @return when the row was last updated, or {@code null} for files written without times
+         */
+        public Instant updatedAt(int row) {
+            return time(3, row);
+        }
+
+        public String firstName(int row) {
+            return string(firstNameOffsets, row);
+        }
+
+        public String lastName(int row) {
+            return string(lastNameOffsets, row);
+        }
+
+        public String email(int row) {
+            return string(emailOffsets, row);
+        }
+
+        private Instant time(int column, int row) {
+            if (!hasTimes) {
+                return null;
+            }
+            return Instant.EPOCH.plus(body.getLong(Integer.BYTES + (column * rows + row) * Long.BYTES), ChronoUnit.MICROS);
+        }
+
+        private int columnEnd(int offsets) {
+            return offsets + (rows + 1) * Integer.BYTES + body.getInt(offsets + rows * Integer.BYTES);
+        }
+
+        private String string(int offsets, int row) {
+            int start = body.getInt(offsets + row * Integer.BYTES);
+            int end = body.getInt(offsets + (row + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            body.get(offsets + (rows + 1) * Integer.BYTES + start, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private EmployeeSnapshotReader(FileChannel channel, boolean hasTimes, long rowCount, int rowGroupCount) {
+        this.channel = channel;
+        this.hasTimes = hasTimes;
+        this.rowCount = rowCount;
+        this.rowGroupCount = rowGroupCount;
+    }
+
+    public static EmployeeSnapshotReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    break;
+                }
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("Not an employee snapshot file");
+            }
+            int formatVersion = header.getInt(4);
+            if (formatVersion != FORMAT_VERSION && formatVersion != FORMAT_VERSION_WITHOUT_TIMES) {
+                throw new IOException("Unsupported employee snapshot version " + formatVersion);
+            }
+            return new EmployeeSnapshotReader(channel, formatVersion != FORMAT_VERSION_WITHOUT_TIMES,
+                    header.getLong(ROW_COUNT_POSITION),
+                    header.getInt(ROW_GROUP_COUNT_POSITION));
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the next row group, or {@code null} once every group has been read
+     */
+    public RowGroup nextGroup() throws IOException {
+        if (groupsRead == rowGroupCount) {
+            return null;
+        }
+        if (position + GROUP_HEADER_SIZE > channel.size()) {
+            throw new IOException("Employee snapshot is truncated at row group " + groupsRead);
+        }
+        MappedByteBuffer groupHeader = channel.map(FileChannel.MapMode.READ_ONLY, position, GROUP_HEADER_SIZE);
+        int bodyLength = groupHeader.getInt(0);
+        int checksum = groupHeader.getInt(4);
+        if (bodyLength < Integer.BYTES || position + GROUP_HEADER_SIZE + bodyLength > channel.size()) {
+            throw new IOException("Employee snapshot is truncated at row group " + groupsRead);
+        }
+        MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, position + GROUP_HEADER_SIZE, bodyLength);
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Employee snapshot row group " + groupsRead + " is corrupt");
+        }
+        position += GROUP_HEADER_SIZE + bodyLength;
+        groupsRead++;
+        return new RowGroup(body, hasTimes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
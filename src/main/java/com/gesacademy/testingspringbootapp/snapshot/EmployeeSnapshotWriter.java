@@ -0,0 +1,155 @@
+package com.gesacademy.testingspringbootapp.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.CRC32C;
+
+import static com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotFormat.*;
+
+/**
+ * Writes employees into a columnar snapshot file (see {@link EmployeeSnapshotFormat}). Rows are buffered
+ * column by column until a row group is full, then the group is written with a single channel write.
+ * The header's row counts are filled in and the file is forced to disk by {@link #close()}.
+ */
+public final class EmployeeSnapshotWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final int rowGroupSize;
+
+    private final long[] ids;
+    private final long[] versions;
+    private final long[] createdAts;
+    private final long[] updatedAts;
+    private final byte[][] firstNames;
+    private final byte[][] lastNames;
+    private final byte[][] emails;
+
+    private ByteBuffer groupBuffer = ByteBuffer.allocateDirect(1 << 20);
+    private int rows;
+    private long rowCount;
+    private int rowGroupCount;
+
+    private EmployeeSnapshotWriter(FileChannel channel, int rowGroupSize) {
+        this.channel = channel;
+        this.rowGroupSize = rowGroupSize;
+        this.ids = new long[rowGroupSize];
+        this.versions = new long[rowGroupSize];
+        this.createdAts = new long[rowGroupSize];
+        this.updatedAts = new long[rowGroupSize];
+        this.firstNames = new byte[rowGroupSize][];
+        this.lastNames = new byte[rowGroupSize][];
+        this.emails = new byte[rowGroupSize][];
+    }
+
+    public static EmployeeSnapshotWriter create(Path file, int rowGroupSize) throws IOException {
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException("Row group size must be positive");
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(FILE_HEADER_SIZE);
+        return new EmployeeSnapshotWriter(channel, rowGroupSize);
+    }
+
+    public void write(long id, String firstName, String lastName, String email, long version,
+                      Instant createdAt, Instant updatedAt) throws IOException {
+        ids[rows] = id;
+        versions[rows] = version;
+        createdAts[rows] = ChronoUnit.MICROS.between(Instant.EPOCH, createdAt);
+        updatedAts[rows] = ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+        firstNames[rows] = firstName.getBytes(StandardCharsets.UTF_8);
+        lastNames[rows] = lastName.getBytes(StandardCharsets.UTF_8);
+        emails[rows] = email.getBytes(StandardCharsets.UTF_8);
+        if (++rows == rowGroupSize) {
+            flushGroup();
+        }
+    }
+
+    public long rowCount() {
+        return rowCount + rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flushGroup();
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(rowCount)
+                    .putInt(rowGroupCount)
+                    .clear();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    private void flushGroup() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        int bodyLength = Integer.BYTES + rows * 4 * Long.BYTES
+                + columnLength(firstNames) + columnLength(lastNames) + columnLength(emails);
+        int groupLength = GROUP_HEADER_SIZE + bodyLength;
+        if (groupBuffer.capacity() < groupLength) {
+            groupBuffer = ByteBuffer.allocateDirect(Math.max(groupLength, groupBuffer.capacity() * 2));
+        }
+        ByteBuffer buffer = groupBuffer.clear().limit(groupLength);
+        buffer.position(GROUP_HEADER_SIZE);
+        buffer.putInt(rows);
+        for (int row = 0; row < rows; row++) {
+            buffer.putLong(ids[row]);
+        }
+        for (int row = 0; row < rows; row++) {
+            buffer.putLong(versions[row]);
+        }
+        for (int row = 0; row < rows; row++) {
+            buffer.putLong(createdAts[row]);
+        }
+        for (int row = 0; row < rows; row++) {
+            buffer.putLong(updatedAts[row]);
+        }
+        putColumn(buffer, firstNames);
+        putColumn(buffer, lastNames);
+        putColumn(buffer, emails);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.flip().position(GROUP_HEADER_SIZE));
+        buffer.putInt(0, bodyLength).putInt(4, (int) crc.getValue()).position(0);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        rowCount += rows;
+        rowGroupCount++;
+        rows = 0;
+    }
+
+    private int columnLength(byte[][] column) {
+        int length = (rows + 1) * Integer.BYTES;
+        for (int row = 0; row < rows; row++) {
+            length += column[row].length;
+        }
+        return length;
+    }
+
+    private void putColumn(ByteBuffer buffer, byte[][] column) {
+        int end = 0;
+        buffer.putInt(end);
+        for (int row = 0; row < rows; row++) {
+            end += column[row].length;
+            buffer.putInt(end);
+        }
+        for (int row = 0; row < rows; row++) {
+            buffer.put(column[row]);
+            column[row] = null;
+        }
+    }
+}
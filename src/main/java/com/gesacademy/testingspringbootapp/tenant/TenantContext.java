@@ -0,0 +1,89 @@
+package com.gesacademy.testingspringbootapp.tenant;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * The tenant the current thread works for. Hibernate stamps it on new employees and restricts every employee
+ * query to it, and under the "shards" profile it picks the database the connection comes from.
+ * <p>
+ * Nothing is bound outside the "shards" profile, so everything runs as {@link #DEFAULT_TENANT}, the tenant
+ * existing rows were migrated to.
+ */
+public final class TenantContext {
+
+    public static final String DEFAULT_TENANT = "default";
+
+    // lifts the tenant restriction for reads that span tenants; not a valid tenant id, so no client can pick it
+    public static final String ALL_TENANTS = "*";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT_TENANT;
+    }
+
+    /**
+     * Binds the tenant to the current thread until {@link #clear()}.
+     */
+    public static void set(String tenant) {
+        validate(tenant);
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs the task as the given tenant and restores the previous binding afterwards, for work handed to
+     * another thread.
+     */
+    public static <T> T callAs(String tenant, Supplier<T> task) {
+        validate(tenant);
+        return bound(tenant, task);
+    }
+
+    /**
+     * Wraps the task so that it runs as the current thread's tenant on whichever thread executes it.
+     */
+    public static Runnable propagate(Runnable task) {
+        String tenant = current();
+        return () -> bound(tenant, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the task with queries that see every tenant's employees, for reads that span tenants.
+     */
+    public static <T> T callAsAllTenants(Supplier<T> task) {
+        return bound(ALL_TENANTS, task);
+    }
+
+    private static <T> T bound(String tenant, Supplier<T> task) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return task.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    private static void validate(String tenant) {
+        if (tenant == null || !TENANT_ID.matcher(tenant).matches()) {
+            throw new IllegalArgumentException("Invalid tenant id: " + tenant);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.gesacademy.testingspringbootapp.tenant;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Hands Hibernate the tenant for {@code Employee.tenantId} (registered through
+ * {@code hibernate.tenant_identifier_resolver}, so it also applies to the JPA test slices).
+ */
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return TenantContext.current();
+    }
+
+    // a session lives for one transaction, which never changes tenant
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    // no tenant restriction at all while reading across tenants
+    @Override
+    public boolean isRoot(String tenant) {
+        return TenantContext.ALL_TENANTS.equals(tenant);
+    }
+}
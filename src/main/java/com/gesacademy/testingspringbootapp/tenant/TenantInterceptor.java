@@ -0,0 +1,38 @@
+package com.gesacademy.testingspringbootapp.tenant;
+
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Binds the tenant named by the {@value #TENANT_HEADER} header for the duration of an API request; requests
+ * without the header work for {@link TenantContext#DEFAULT_TENANT}. An invalid tenant id fails the request
+ * with 400 before the handler runs.
+ */
+public class TenantInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String tenant = request.getHeader(TENANT_HEADER);
+        try {
+            TenantContext.set(tenant != null ? tenant : TenantContext.DEFAULT_TENANT);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException(ex.getMessage(), ex);
+        }
+        return true;
+    }
+
+    // a streamed response carries on elsewhere (the task decorator hands the tenant over); this thread is done
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        TenantContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        TenantContext.clear();
+    }
+}
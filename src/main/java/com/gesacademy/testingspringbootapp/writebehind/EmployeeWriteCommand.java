@@ -0,0 +1,18 @@
+package com.gesacademy.testingspringbootapp.writebehind;
+
+import com.gesacademy.testingspringbootapp.model.EmployeeWriteRequest;
+
+/**
+ * A create or update as it is stored in the write-ahead log.
+ *
+ * @param trackingId      id handed back to the client to poll for the outcome
+ * @param operation       whether the employee is created or updated
+ * @param employeeId      employee to update, {@code null} for a create
+ * @param expectedVersion version the update is conditional on (from If-Match), {@code null} for none
+ * @param firstName       first name to write
+ * @param lastName        last name to write
+ * @param email           email to write
+ */
+public record EmployeeWriteCommand(String trackingId, EmployeeWriteRequest.Operation operation, Long employeeId,
+                                   Long expectedVersion, String firstName, String lastName, String email) {
+}
@@ -0,0 +1,222 @@
+package com.gesacademy.testingspringbootapp.writebehind;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log in a single memory-mapped file.
+ * <p>
+ * Layout: a 64-byte header ({@code magic, epoch, drainedOffset}) followed by records of the form
+ * {@code [int length][int epoch][int crc32c][payload]}. Every append is forced to disk before it returns.
+ * Once the consumer has drained everything written, the log rewinds to the start under a new epoch, so
+ * records left over from an earlier pass can never be mistaken for new ones. A consumer that never quite
+ * catches up doesn't get that chance, so once the drained prefix is large enough (and at least as long as the
+ * undrained tail) the tail is copied to the front under a new epoch instead; the copy never overlaps its
+ * source, and the header switches to it only once it is on disk, so a crash mid-copy replays the original.
+ * Offsets handed out by {@link #read(long, int)} are therefore only valid until the next
+ * {@link #markDrained(long)}. On open, records are scanned from the drained offset until the first one that
+ * is empty, from another epoch or fails its checksum, which drops a record torn by a crash.
+ */
+public final class WriteAheadLog implements Closeable {
+
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_HEADER_SIZE = 12;
+    private static final int MAGIC = 0x57424c31; // "WBL1"
+
+    private static final int MAGIC_POSITION = 0;
+    private static final int EPOCH_POSITION = 4;
+    private static final int DRAINED_POSITION = 8;
+    // the drained prefix is reclaimed once it reaches this fraction of the file
+    private static final int COMPACTION_RATIO = 4;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private int epoch;
+    private volatile long drainedOffset;
+    private volatile long writeOffset;
+
+    /**
+     * A record read back from the log.
+     *
+     * @param payload   the appended bytes
+     * @param endOffset offset just past the record, to pass to {@link #markDrained(long)} once it is applied
+     */
+    public record Entry(byte[] payload, long endOffset) {
+    }
+
+    private WriteAheadLog(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    public static WriteAheadLog open(Path file, int capacity) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = Math.max(capacity, channel.size());
+        WriteAheadLog log = new WriteAheadLog(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        log.recover();
+        return log;
+    }
+
+    /**
+     * Appends one record and forces it to disk.
+     *
+     * @return {@code false} when the log has no room left for the record
+     */
+    public boolean append(byte[] payload) {
+        lock.lock();
+        try {
+            long offset = writeOffset;
+            if (offset + RECORD_HEADER_SIZE + payload.length > buffer.capacity()) {
+                return false;
+            }
+            int position = (int) offset;
+            buffer.putInt(position + 4, epoch);
+            buffer.putInt(position + 8, checksum(epoch, payload));
+            buffer.put(position + RECORD_HEADER_SIZE, payload);
+            // the length goes in last: a record without it reads as the end of the log
+            buffer.putInt(position, payload.length);
+            buffer.force(position, RECORD_HEADER_SIZE + payload.length);
+            writeOffset = offset + RECORD_HEADER_SIZE + payload.length;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code maxEntries} records starting at {@code offset}, without consuming them.
+     */
+    public List<Entry> read(long offset, int maxEntries) {
+        ByteBuffer view = buffer.duplicate();
+        long end = writeOffset;
+        List<Entry> entries = new ArrayList<>();
+        long position = offset;
+        while (position < end && entries.size() < maxEntries) {
+            int length = view.getInt((int) position);
+            byte[] payload = new byte[length];
+            view.get((int) position + RECORD_HEADER_SIZE, payload);
+            position += RECORD_HEADER_SIZE + length;
+            entries.add(new Entry(payload, position));
+        }
+        return entries;
+    }
+
+    /**
+     * Records that everything before {@code offset} has been applied; rewinds the log when it is fully drained
+     * and compacts it when the drained prefix is worth reclaiming.
+     */
+    public void markDrained(long offset) {
+        lock.lock();
+        try {
+            drainedOffset = offset;
+            long drained = offset - HEADER_SIZE;
+            long undrained = writeOffset - offset;
+            if (undrained == 0) {
+                epoch++;
+                drainedOffset = HEADER_SIZE;
+                writeOffset = HEADER_SIZE;
+                buffer.putInt(EPOCH_POSITION, epoch);
+            } else if (drained >= undrained && drained >= (buffer.capacity() - HEADER_SIZE) / COMPACTION_RATIO) {
+                compact();
+            }
+            buffer.putLong(DRAINED_POSITION, drainedOffset);
+            buffer.force(0, HEADER_SIZE);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long drainedOffset() {
+        return drainedOffset;
+    }
+
+    public long writeOffset() {
+        return writeOffset;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock and writes the header. The tail is no longer than the drained prefix, so the copy
+    // only overwrites drained records; it is re-stamped with the next epoch, so until the header says so the
+    // copies read as stale, and afterwards the original tail does.
+    private void compact() {
+        int nextEpoch = epoch + 1;
+        long target = HEADER_SIZE;
+        for (Entry entry : read(drainedOffset, Integer.MAX_VALUE)) {
+            byte[] payload = entry.payload();
+            int position = (int) target;
+            buffer.putInt(position, payload.length);
+            buffer.putInt(position + 4, nextEpoch);
+            buffer.putInt(position + 8, checksum(nextEpoch, payload));
+            buffer.put(position + RECORD_HEADER_SIZE, payload);
+            target += RECORD_HEADER_SIZE + payload.length;
+        }
+        buffer.force(HEADER_SIZE, (int) target - HEADER_SIZE);
+        epoch = nextEpoch;
+        drainedOffset = HEADER_SIZE;
+        writeOffset = target;
+        buffer.putInt(EPOCH_POSITION, epoch);
+    }
+
+    private void recover() {
+        if (buffer.getInt(MAGIC_POSITION) != MAGIC) {
+            epoch = 1;
+            drainedOffset = HEADER_SIZE;
+            writeOffset = HEADER_SIZE;
+            buffer.putInt(MAGIC_POSITION, MAGIC);
+            buffer.putInt(EPOCH_POSITION, epoch);
+            buffer.putLong(DRAINED_POSITION, drainedOffset);
+            buffer.force(0, HEADER_SIZE);
+            return;
+        }
+        epoch = buffer.getInt(EPOCH_POSITION);
+        drainedOffset = buffer.getLong(DRAINED_POSITION);
+        long position = drainedOffset;
+        while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt((int) position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.capacity()
+                    || buffer.getInt((int) position + 4) != epoch) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get((int) position + RECORD_HEADER_SIZE, payload);
+            if (buffer.getInt((int) position + 8) != checksum(epoch, payload)) {
+                break;
+            }
+            position += RECORD_HEADER_SIZE + length;
+        }
+        writeOffset = position;
+    }
+
+    private static int checksum(int epoch, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(4).putInt(0, epoch));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,10 @@
+CREATE TABLE employee_write_requests
+(
+    tracking_id  VARCHAR(36)  NOT NULL,
+    operation    VARCHAR(16)  NOT NULL,
+    status       VARCHAR(16)  NOT NULL,
+    employee_id  BIGINT,
+    message      VARCHAR(512),
+    completed_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (tracking_id)
+);
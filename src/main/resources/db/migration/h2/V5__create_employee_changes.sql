@@ -0,0 +1,22 @@
+CREATE TABLE employee_changes
+(
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    stream_position BIGINT,
+    employee_id     BIGINT       NOT NULL,
+    change_type     VARCHAR(16)  NOT NULL,
+    first_name      VARCHAR(255),
+    last_name       VARCHAR(255),
+    email           VARCHAR(255),
+    changed_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT ux_employee_changes_stream_position UNIQUE (stream_position)
+);
+
+CREATE INDEX ix_employee_changes_changed_at ON employee_changes (changed_at);
+
+CREATE TABLE employee_change_positions
+(
+    next_position BIGINT NOT NULL
+);
+
+INSERT INTO employee_change_positions (next_position) VALUES (1);
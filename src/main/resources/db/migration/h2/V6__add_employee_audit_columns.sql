@@ -0,0 +1,13 @@
+ALTER TABLE employees ADD COLUMN created_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL;
+ALTER TABLE employees ADD COLUMN updated_at TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) NOT NULL;
+
+CREATE INDEX ix_employees_updated_at ON employees (updated_at);
+
+CREATE TABLE employee_tombstones
+(
+    employee_id BIGINT       NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (employee_id)
+);
+
+CREATE INDEX ix_employee_tombstones_deleted_at ON employee_tombstones (deleted_at);
@@ -0,0 +1,12 @@
+ALTER TABLE employees ADD COLUMN tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+
+DROP INDEX ux_employees_email;
+CREATE UNIQUE INDEX ux_employees_email ON employees (tenant_id, email);
+
+DROP INDEX ix_employees_first_name_last_name;
+CREATE INDEX ix_employees_first_name_last_name ON employees (tenant_id, first_name, last_name);
+
+DROP INDEX ix_employees_updated_at;
+CREATE INDEX ix_employees_updated_at ON employees (tenant_id, updated_at);
+
+CREATE INDEX ix_employees_tenant_id ON employees (tenant_id, id);
@@ -0,0 +1,28 @@
+CREATE TABLE bulk_jobs
+(
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    tenant_id        VARCHAR(64)  NOT NULL,
+    job_type         VARCHAR(32)  NOT NULL,
+    email_domain     VARCHAR(255),
+    new_email_domain VARCHAR(255),
+    state            VARCHAR(16)  NOT NULL,
+    first_id         BIGINT       NOT NULL,
+    last_id          BIGINT       NOT NULL,
+    chunk_size       INT          NOT NULL,
+    total_chunks     INT          NOT NULL,
+    message          VARCHAR(512),
+    created_at       TIMESTAMP(6) NOT NULL,
+    finished_at      TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX ix_bulk_jobs_state ON bulk_jobs (state);
+
+CREATE TABLE bulk_job_chunks
+(
+    job_id        BIGINT       NOT NULL,
+    chunk_index   INT          NOT NULL,
+    rows_affected INT          NOT NULL,
+    completed_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (job_id, chunk_index)
+);
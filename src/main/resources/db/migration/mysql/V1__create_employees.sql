@@ -0,0 +1,24 @@
+-- Matches the schema previously generated by ddl-auto=update, so existing databases pass through unchanged
+CREATE TABLE IF NOT EXISTS employees
+(
+    id         BIGINT       NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- MySQL has no sequences; Hibernate emulates employees_seq with a single-row table
+CREATE TABLE IF NOT EXISTS employees_seq
+(
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO employees_seq (next_val)
+SELECT 1
+FROM DUAL
+WHERE NOT EXISTS (SELECT 1 FROM employees_seq);
+
+-- Rows inserted under the old IDENTITY strategy must stay below the first pooled block (allocation size 50)
+UPDATE employees_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM employees));
@@ -0,0 +1,3 @@
+CREATE UNIQUE INDEX ux_employees_email ON employees (email);
+
+CREATE INDEX ix_employees_first_name_last_name ON employees (first_name, last_name);
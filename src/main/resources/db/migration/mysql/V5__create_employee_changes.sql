@@ -0,0 +1,24 @@
+-- Transactional outbox of employee changes. Rows are inserted with the write they describe and get their
+-- stream_position from the relay once committed, so positions follow commit order rather than id order.
+CREATE TABLE employee_changes
+(
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    stream_position BIGINT,
+    employee_id     BIGINT       NOT NULL,
+    change_type     VARCHAR(16)  NOT NULL,
+    first_name      VARCHAR(255),
+    last_name       VARCHAR(255),
+    email           VARCHAR(255),
+    changed_at      TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY ux_employee_changes_stream_position (stream_position),
+    KEY ix_employee_changes_changed_at (changed_at)
+) ENGINE = InnoDB;
+
+-- Single row holding the next position to hand out; the relay locks it, which serializes relays across instances
+CREATE TABLE employee_change_positions
+(
+    next_position BIGINT NOT NULL
+) ENGINE = InnoDB;
+
+INSERT INTO employee_change_positions (next_position) VALUES (1);
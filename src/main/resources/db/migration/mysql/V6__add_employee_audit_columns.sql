@@ -0,0 +1,14 @@
+-- Audit timestamps for changed-since sync; existing rows count as changed at migration time
+ALTER TABLE employees
+    ADD COLUMN created_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    ADD COLUMN updated_at TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    ADD INDEX ix_employees_updated_at (updated_at);
+
+-- One row per deleted employee, so clients syncing by timestamp learn about deletions
+CREATE TABLE employee_tombstones
+(
+    employee_id BIGINT       NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (employee_id),
+    KEY ix_employee_tombstones_deleted_at (deleted_at)
+) ENGINE = InnoDB;
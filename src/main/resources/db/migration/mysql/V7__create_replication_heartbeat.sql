@@ -0,0 +1,10 @@
+-- Single row the primary stamps at a fixed interval. It reaches the replicas through replication like any
+-- other write, so how old it is when read from a replica is how far that replica is behind.
+CREATE TABLE replication_heartbeat
+(
+    id      INT          NOT NULL,
+    beat_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP(6));
@@ -0,0 +1,12 @@
+-- Tenant of every employee, also the shard key under the "shards" profile; existing rows belong to the
+-- default tenant. Emails are unique per tenant, and the secondary indexes lead with the tenant because
+-- every employee query is restricted to one.
+ALTER TABLE employees
+    ADD COLUMN tenant_id VARCHAR(64) NOT NULL DEFAULT 'default' AFTER id,
+    DROP INDEX ux_employees_email,
+    ADD UNIQUE INDEX ux_employees_email (tenant_id, email),
+    DROP INDEX ix_employees_first_name_last_name,
+    ADD INDEX ix_employees_first_name_last_name (tenant_id, first_name, last_name),
+    DROP INDEX ix_employees_updated_at,
+    ADD INDEX ix_employees_updated_at (tenant_id, updated_at),
+    ADD INDEX ix_employees_tenant_id (tenant_id, id);
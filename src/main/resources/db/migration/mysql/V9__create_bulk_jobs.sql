@@ -0,0 +1,30 @@
+-- Background bulk jobs over the employees table. A job covers the ids from first_id to last_id (the tenant's
+-- rows when it was submitted) in chunks of chunk_size ids; a chunk's row is inserted in the transaction that
+-- processes it, so the set of rows is the job's checkpoint and a chunk is never applied twice.
+CREATE TABLE bulk_jobs
+(
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    tenant_id        VARCHAR(64)  NOT NULL,
+    job_type         VARCHAR(32)  NOT NULL,
+    email_domain     VARCHAR(255),
+    new_email_domain VARCHAR(255),
+    state            VARCHAR(16)  NOT NULL,
+    first_id         BIGINT       NOT NULL,
+    last_id          BIGINT       NOT NULL,
+    chunk_size       INT          NOT NULL,
+    total_chunks     INT          NOT NULL,
+    message          VARCHAR(512),
+    created_at       TIMESTAMP(6) NOT NULL,
+    finished_at      TIMESTAMP(6) NULL,
+    PRIMARY KEY (id),
+    KEY ix_bulk_jobs_state (state)
+) ENGINE = InnoDB;
+
+CREATE TABLE bulk_job_chunks
+(
+    job_id        BIGINT       NOT NULL,
+    chunk_index   INT          NOT NULL,
+    rows_affected INT          NOT NULL,
+    completed_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (job_id, chunk_index)
+) ENGINE = InnoDB;
@@ -0,0 +1,124 @@
+package com.gesacademy.testingspringbootapp.cdc;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeChange;
+import com.gesacademy.testingspringbootapp.dto.EmployeeChangePage;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.event.EmployeesSavedEvent;
+import com.gesacademy.testingspringbootapp.exception.ChangesExpiredException;
+import com.gesacademy.testingspringbootapp.service.EmployeeChangeService;
+import com.gesacademy.testingspringbootapp.service.impl.EmployeeChangeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// the outbox only writes when a transaction commits, so the tests run their own transactions
+@DataJpaTest(properties = {"employee.changes.relay-interval=1h", "employee.changes.retention=0s"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EmployeeChangeOutbox.class, EmployeeChangeRelay.class, EmployeeChangeServiceImpl.class})
+class EmployeeChangeRelayTest {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeChangeRelay changeRelay;
+
+    @Autowired
+    private EmployeeChangeService changeService;
+
+    private TransactionTemplate transactionTemplate;
+    private EmployeeSummary john;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        john = new EmployeeSummary(1L, "John", "Doe", "john.doe@example.com");
+        changeRelay.relay();
+    }
+
+    @DisplayName("JUnit test for relaying committed changes in order and skipping rolled back ones")
+    @Test
+    void givenCommittedAndRolledBackWrites_whenRelay_thenStreamOnlyCommittedChangesInOrder() {
+        // Given - precondition or setup
+        long start = changeRelay.latestPosition();
+        transactionTemplate.executeWithoutResult(status ->
+                eventPublisher.publishEvent(EmployeesSavedEvent.created(List.of(john))));
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new EmployeeDeletedEvent(2L));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(EmployeesSavedEvent.updated(
+                List.of(new EmployeeSummary(1L, "Johnny", "Doe", "john.doe@example.com")))));
+
+        // When - action or the behaviour that we are going to test
+        changeRelay.relay();
+        EmployeeChangePage page = changeService.getChanges(start, 10);
+
+        // Then - verify the output
+        assertThat(page.changes()).extracting(EmployeeChange::position).containsExactly(start + 1, start + 2);
+        assertThat(page.changes()).extracting(EmployeeChange::type)
+                .containsExactly(EmployeeChange.Type.CREATED, EmployeeChange.Type.UPDATED);
+        assertThat(page.changes().getLast().firstName()).isEqualTo("Johnny");
+        assertThat(page.next()).isEqualTo(start + 2);
+        assertThat(changeService.getChanges(page.next(), 10).changes()).isEmpty();
+    }
+
+    @DisplayName("JUnit test for a long poll completed by the next relayed change")
+    @Test
+    void givenWaitingReader_whenChangeRelayed_thenCompleteWithChange() throws Exception {
+        // Given - precondition or setup
+        long start = changeRelay.latestPosition();
+        CompletableFuture<EmployeeChangePage> pending = changeService.awaitChanges(start, 10, Duration.ofSeconds(30));
+        assertThat(pending).isNotDone();
+
+        // When - action or the behaviour that we are going to test
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(new EmployeeDeletedEvent(1L)));
+        changeRelay.relay();
+
+        // Then - verify the output
+        EmployeeChangePage page = pending.get(5, TimeUnit.SECONDS);
+        assertThat(page.changes()).singleElement().satisfies(change -> {
+            assertThat(change.position()).isEqualTo(start + 1);
+            assertThat(change.employeeId()).isEqualTo(1L);
+            assertThat(change.type()).isEqualTo(EmployeeChange.Type.DELETED);
+        });
+    }
+
+    @DisplayName("JUnit test for reading from a position that was already pruned")
+    @Test
+    void givenPrunedChanges_whenGetChanges_thenThrowChangesExpiredException() {
+        // Given - precondition or setup
+        long start = changeRelay.latestPosition();
+        transactionTemplate.executeWithoutResult(status ->
+                eventPublisher.publishEvent(EmployeesSavedEvent.created(List.of(john))));
+        changeRelay.relay();
+
+        // When - action or the behaviour that we are going to test
+        changeRelay.prune();
+
+        // Then - verify the output
+        assertThatThrownBy(() -> changeService.getChanges(start, 10))
+                .isInstanceOf(ChangesExpiredException.class);
+        assertThat(changeService.getChanges(start + 1, 10).changes()).isEmpty();
+    }
+}
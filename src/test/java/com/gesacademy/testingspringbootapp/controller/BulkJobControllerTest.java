@@ -0,0 +1,111 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gesacademy.testingspringbootapp.dto.BulkJobRequest;
+import com.gesacademy.testingspringbootapp.dto.BulkJobStatus;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.service.BulkJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(BulkJobController.class)
+class BulkJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private BulkJobService bulkJobService;
+
+    @Test
+    void givenBulkJobRequest_whenSubmitJob_thenReturnAcceptedWithStatusLocation() throws Exception {
+
+        // given - precondition or setup
+        BulkJobRequest request = new BulkJobRequest(BulkJobRequest.Type.CHANGE_EMAIL_DOMAIN, "example.com", "example.org");
+        given(bulkJobService.submitJob(request)).willReturn(jobStatus(7L, BulkJobStatus.State.RUNNING, 0, null));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+
+        // then - verify the output
+        response.andExpect(status().isAccepted())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/v1/employees/jobs/7"))
+                .andExpect(jsonPath("$.state", is("RUNNING")))
+                .andExpect(jsonPath("$.totalChunks", is(10)));
+    }
+
+    @Test
+    void givenInvalidEmailDomain_whenSubmitJob_thenReturnBadRequest() throws Exception {
+
+        // given - precondition or setup
+        given(bulkJobService.submitJob(any(BulkJobRequest.class)))
+                .willThrow(new BadRequestException("Invalid email domain: %"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"DELETE_BY_EMAIL_DOMAIN\",\"emailDomain\":\"%\"}"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print())
+                .andExpect(jsonPath("$.detail", is("Invalid email domain: %")));
+    }
+
+    @Test
+    void givenRunningJob_whenCancelJob_thenReturnCancelledStatus() throws Exception {
+
+        // given - precondition or setup
+        given(bulkJobService.cancelJob(7L)).willReturn(Optional.of(jobStatus(7L, BulkJobStatus.State.CANCELLED, 4, Instant.now())));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/api/v1/employees/jobs/{id}", 7L));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.state", is("CANCELLED")))
+                .andExpect(jsonPath("$.completedChunks", is(4)));
+    }
+
+    @Test
+    void givenUnknownJobId_whenGetJob_thenReturnNotFound() throws Exception {
+
+        // given - precondition or setup
+        given(bulkJobService.getJob(99L)).willReturn(Optional.empty());
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/jobs/{id}", 99L));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    private static BulkJobStatus jobStatus(Long id, BulkJobStatus.State state, int completedChunks, Instant finishedAt) {
+        return new BulkJobStatus(id, BulkJobRequest.Type.CHANGE_EMAIL_DOMAIN, "example.com", "example.org", state,
+                10, completedChunks, completedChunks * 100L, null, Instant.now(), finishedAt);
+    }
+}
@@ -0,0 +1,101 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeChange;
+import com.gesacademy.testingspringbootapp.dto.EmployeeChangePage;
+import com.gesacademy.testingspringbootapp.exception.ChangesExpiredException;
+import com.gesacademy.testingspringbootapp.service.EmployeeChangeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeChangeController.class)
+class EmployeeChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeChangeService changeService;
+
+    private final EmployeeChange change = new EmployeeChange(8L, 3L, EmployeeChange.Type.UPDATED,
+            "John", "Doe", "john.doe@example.com", Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void givenChangesAfterPosition_whenLongPoll_thenReturnChanges() throws Exception {
+
+        // given - precondition or setup
+        given(changeService.awaitChanges(7L, 100, Duration.ofSeconds(20)))
+                .willReturn(CompletableFuture.completedFuture(new EmployeeChangePage(List.of(change), 8L)));
+
+        // when - action or behaviour that we are going test
+        MvcResult result = mockMvc.perform(get("/api/v1/employees/events")
+                        .param("after", "7")
+                        .param("wait", "20"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(result));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.changes[0].position", is(8)))
+                .andExpect(jsonPath("$.changes[0].type", is("UPDATED")))
+                .andExpect(jsonPath("$.next", is(8)));
+    }
+
+    @Test
+    void givenLastEventId_whenStreamChanges_thenSendChangesAsServerSentEvents() throws Exception {
+
+        // given - precondition or setup
+        given(changeService.getChanges(7L, EmployeeChangeController.STREAM_BATCH_SIZE))
+                .willReturn(new EmployeeChangePage(List.of(change), 8L));
+        given(changeService.awaitChanges(anyLong(), anyInt(), any(Duration.class)))
+                .willReturn(new CompletableFuture<>());
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/events")
+                .accept("text/event-stream")
+                .header("Last-Event-ID", "7"));
+
+        // then - verify the output
+        response.andExpect(request().asyncStarted())
+                .andDo(print())
+                .andExpect(content().string(containsString("id:8\n")))
+                .andExpect(content().string(containsString("\"email\":\"john.doe@example.com\"")));
+    }
+
+    @Test
+    void givenPrunedPosition_whenLongPoll_thenReturn410() throws Exception {
+
+        // given - precondition or setup
+        given(changeService.awaitChanges(0L, 100, Duration.ZERO))
+                .willThrow(new ChangesExpiredException("Changes after position 0 are no longer retained"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/events"));
+
+        // then - verify the output
+        response.andExpect(status().isGone())
+                .andDo(print());
+    }
+}
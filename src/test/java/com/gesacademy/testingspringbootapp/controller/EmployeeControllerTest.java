@@ -1,7 +1,17 @@
 package com.gesacademy.testingspringbootapp.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.gesacademy.testingspringbootapp.dto.CursorPage;
+import com.gesacademy.testingspringbootapp.dto.EmployeeBatchResult;
+import com.gesacademy.testingspringbootapp.dto.EmployeeListVersion;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.exception.PreconditionFailedException;
 import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeView;
 import com.gesacademy.testingspringbootapp.service.EmployeeService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,11 +20,16 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -23,10 +38,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.mockito.BDDMockito.given;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 
 
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 class EmployeeControllerTest {
 
     @Autowired
@@ -38,6 +56,9 @@ class EmployeeControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final EmployeeListVersion LIST_VERSION =
+            new EmployeeListVersion(2L, 3L, Instant.parse("2024-05-01T10:15:30.123456Z"), null);
+
     @Test
     void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() throws Exception {
 
@@ -66,14 +87,43 @@ class EmployeeControllerTest {
     }
 
     @Test
-    void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
+    void givenListOfEmployees_whenCreateEmployeesBatch_thenReturnPerRowOutcomes() throws Exception {
 
         // given - precondition or setup
         List<Employee> listOfEmployees = List.of(
-                Employee.builder().id(1L).firstName("John").lastName("Doe").email("john.doe@example.com").build(),
-                Employee.builder().id(2L).firstName("Jane").lastName("Smith").email("jane.smith@example.com").build()
+                Employee.builder().firstName("John").lastName("Doe").email("john.doe@example.com").build(),
+                Employee.builder().firstName("Jane").lastName("Smith").email("john.doe@example.com").build()
+        );
+
+        given(employeeService.saveEmployees(anyList())).willReturn(List.of(
+                EmployeeBatchResult.created(0, "john.doe@example.com", 1L),
+                EmployeeBatchResult.rejected(1, "john.doe@example.com", EmployeeBatchResult.Status.DUPLICATE,
+                        "Email appears more than once in the batch:john.doe@example.com")
+        ));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees/batch")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(listOfEmployees)));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(listOfEmployees.size())))
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("DUPLICATE")));
+    }
+
+    @Test
+    void givenListOfEmployees_whenGetAllEmployees_thenReturnEmployeesList() throws Exception {
+
+        // given - precondition or setup
+        List<EmployeeSummary> listOfEmployees = List.of(
+                new EmployeeSummary(1L, "John", "Doe", "john.doe@example.com"),
+                new EmployeeSummary(2L, "Jane", "Smith", "jane.smith@example.com")
         );
 
+        given(employeeService.getEmployeeListVersion()).willReturn(LIST_VERSION);
         given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
 
         // when - action or behaviour that we are going test
@@ -82,9 +132,177 @@ class EmployeeControllerTest {
         // then - verify the output
         response.andExpect(status().isOk())
                 .andDo(print())
+                .andExpect(header().string("ETag", "W/\"2-3-1714558530123456-0\""))
+                .andExpect(header().exists("Last-Modified"))
                 .andExpect(jsonPath("$.size()", is(listOfEmployees.size())));
     }
 
+    @Test
+    void givenUnchangedList_whenGetAllEmployeesWithIfNoneMatch_thenReturnNotModifiedWithoutLoadingList() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeeListVersion()).willReturn(LIST_VERSION);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees")
+                .header("If-None-Match", "W/\"2-3-1714558530123456-0\""));
+
+        // then - verify the output
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(header().string("ETag", "W/\"2-3-1714558530123456-0\""))
+                .andExpect(content().string(""));
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void givenCursorAndSize_whenGetEmployeesPage_thenReturnPageWithNextCursor() throws Exception {
+
+        // given - precondition or setup
+        List<EmployeeSummary> listOfEmployees = List.of(
+                new EmployeeSummary(1L, "John", "Doe", "john.doe@example.com"),
+                new EmployeeSummary(2L, "Jane", "Smith", "jane.smith@example.com")
+        );
+
+        given(employeeService.getEmployeesPage(null, 2)).willReturn(new CursorPage<>(listOfEmployees, "Mg"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/page").param("size", "2"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(listOfEmployees.size())))
+                .andExpect(jsonPath("$.nextCursor", is("Mg")));
+    }
+
+    @Test
+    void givenInvalidPageSize_whenGetEmployeesPage_thenReturnBadRequest() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeesPage(null, 0))
+                .willThrow(new BadRequestException("Page size must be between 1 and 1000"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/page").param("size", "0"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
+    @Test
+    void givenFirstNameAndLastName_whenSearchEmployees_thenReturnMatchingEmployees() throws Exception {
+
+        // given - precondition or setup
+        EmployeeView view = new EmployeeView() {
+            public Long getId() { return 1L; }
+            public String getFirstName() { return "John"; }
+            public String getLastName() { return "Doe"; }
+            public String getEmail() { return "john.doe@example.com"; }
+        };
+
+        given(employeeService.searchEmployees("John", "Doe")).willReturn(List.of(view));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/search")
+                .param("firstName", "John")
+                .param("lastName", "Doe"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].email", is("john.doe@example.com")));
+    }
+
+    @Test
+    void givenQuery_whenSuggestEmployees_thenReturnMatchingEmployees() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.suggestEmployees("jo d", 5))
+                .willReturn(List.of(new EmployeeSummary(1L, "John", "Doe", "john.doe@example.com")));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/search")
+                .param("q", "jo d")
+                .param("limit", "5"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].firstName", is("John")));
+    }
+
+    @Test
+    void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesList() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> listOfEmployees = List.of(
+                Employee.builder().id(1L).firstName("John").lastName("Doe").email("john.doe@example.com").build(),
+                Employee.builder().id(2L).firstName("Jane").lastName("Smith").email("jane.smith@example.com").build()
+        );
+
+        given(employeeService.getEmployeesByIds(List.of(1L, 2L))).willReturn(listOfEmployees);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees").param("ids", "1,2"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(listOfEmployees.size())))
+                .andExpect(jsonPath("$[1].email", is("jane.smith@example.com")));
+    }
+
+    @Test
+    void givenListOfEmployees_whenGetAllEmployeesAsSmile_thenReturnSmileEncodedList() throws Exception {
+
+        // given - precondition or setup
+        List<EmployeeSummary> listOfEmployees = List.of(
+                new EmployeeSummary(1L, "John", "Doe", "john.doe@example.com"),
+                new EmployeeSummary(2L, "Jane", "Smith", "jane.smith@example.com")
+        );
+        given(employeeService.getEmployeeListVersion()).willReturn(LIST_VERSION);
+        given(employeeService.getAllEmployees()).willReturn(listOfEmployees);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees").accept("application/x-jackson-smile"));
+
+        // then - verify the output
+        byte[] body = response.andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<EmployeeSummary> decoded = objectMapper.copyWith(new SmileFactory())
+                .readValue(body, new TypeReference<>() {
+                });
+        assertThat(decoded).isEqualTo(listOfEmployees);
+    }
+
+    @Test
+    void givenEmployeeIds_whenGetEmployeesByIdsAsCbor_thenReturnCborEncodedEmployees() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> listOfEmployees = List.of(
+                Employee.builder().id(1L).firstName("John").lastName("Doe").email("john.doe@example.com").build(),
+                Employee.builder().id(2L).firstName("Jane").lastName("Smith").email("jane.smith@example.com").build()
+        );
+        given(employeeService.getEmployeesByIds(List.of(1L, 2L))).willReturn(listOfEmployees);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees").param("ids", "1,2").accept("application/cbor"));
+
+        // then - verify the output
+        byte[] body = response.andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<Employee> decoded = objectMapper.copyWith(new CBORFactory())
+                .readValue(body, new TypeReference<>() {
+                });
+        assertThat(decoded).extracting(Employee::getEmail).containsExactly("john.doe@example.com", "jane.smith@example.com");
+    }
+
     // get employee by id (positive scenario)
     @Test
     void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
@@ -110,6 +328,34 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
     }
 
+    // get employee by id (conditional scenario)
+    @Test
+    void givenCurrentETag_whenGetEmployeeById_thenReturnNotModified() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .version(3L)
+                .updatedAt(LIST_VERSION.lastUpdatedAt())
+                .build();
+
+        given(employeeService.getEmployeeById(employee.getId())).willReturn(Optional.of(employee));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId())
+                .header("If-None-Match", "\"3\""));
+
+        // then - verify the output
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().string(""));
+    }
+
     // get employee by id (negative scenario)
     @Test
     void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnNotFound() throws Exception {
@@ -145,9 +391,8 @@ class EmployeeControllerTest {
                 .email("jane.smith@example.com")
                 .build();
 
-        given(employeeService.getEmployeeById(savedEmployee.getId())).willReturn(Optional.of(savedEmployee));
-        given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer(invocation -> invocation.getArgument(0));
+        given(employeeService.updateEmployee(eq(savedEmployee.getId()), any(Employee.class), isNull()))
+                .willReturn(Optional.of(updatedEmployee));
 
         // when - action or behaviour that we are going test
         ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", savedEmployee.getId())
@@ -181,9 +426,8 @@ class EmployeeControllerTest {
                 .email("jane.smith@example.com")
                 .build();
 
-        given(employeeService.getEmployeeById(savedEmployee.getId())).willReturn(Optional.empty());
-        given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer(invocation -> invocation.getArgument(0));
+        given(employeeService.updateEmployee(eq(savedEmployee.getId()), any(Employee.class), isNull()))
+                .willReturn(Optional.empty());
 
         // when - action or behaviour that we are going test
         ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", savedEmployee.getId())
@@ -195,6 +439,60 @@ class EmployeeControllerTest {
                 .andDo(print());
     }
 
+    // test for conditional update employee REST API
+    @Test
+    void givenIfMatch_whenUpdateEmployee_thenReturnUpdatedEmployeeWithNewETag() throws Exception {
+
+        // given - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .id(1L)
+                .firstName("Jane")
+                .lastName("Smith")
+                .email("jane.smith@example.com")
+                .version(4L)
+                .build();
+
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class), eq(3L)))
+                .willReturn(Optional.of(updatedEmployee));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", 1L)
+                .header("If-Match", "\"3\"")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version", is(4)));
+    }
+
+    // test for conditional update employee REST API (negative scenario)
+    @Test
+    void givenStaleIfMatch_whenUpdateEmployee_thenReturn412() throws Exception {
+
+        // given - precondition or setup
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Jane")
+                .lastName("Smith")
+                .email("jane.smith@example.com")
+                .build();
+
+        given(employeeService.updateEmployee(eq(1L), any(Employee.class), eq(3L)))
+                .willThrow(new PreconditionFailedException("Employee 1 is no longer at version 3"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", 1L)
+                .header("If-Match", "\"3\"")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+
+        // then - verify the output
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
     // test for delete employee REST API
     @Test
     void givenEmployeeId_whenDeleteEmployee_thenReturn200() throws Exception {
@@ -202,7 +500,7 @@ class EmployeeControllerTest {
         // given - precondition or setup
         Long employeeId = 1L;
 
-        willDoNothing().given(employeeService).deleteEmployee(employeeId);
+        given(employeeService.deleteEmployee(employeeId)).willReturn(true);
 
         // when - action or behaviour that we are going test
         ResultActions response = mockMvc.perform(delete("/api/v1/employees/{id}", employeeId));
@@ -212,4 +510,20 @@ class EmployeeControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    void givenUnknownEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        Long employeeId = 99L;
+
+        given(employeeService.deleteEmployee(employeeId)).willReturn(false);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(delete("/api/v1/employees/{id}", employeeId));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
 }
\ No newline at end of file
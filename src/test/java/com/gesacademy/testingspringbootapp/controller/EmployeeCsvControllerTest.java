@@ -0,0 +1,101 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.CsvImportResult;
+import com.gesacademy.testingspringbootapp.dto.EmployeeBatchResult;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.service.EmployeeCsvService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeCsvController.class)
+class EmployeeCsvControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeCsvService csvService;
+
+    @Test
+    void givenCsvBody_whenImportEmployees_thenReturnImportSummary() throws Exception {
+
+        // given - precondition or setup
+        given(csvService.importCsv(any(InputStream.class))).willReturn(new CsvImportResult(3, 2, 1, 0, List.of(
+                new CsvImportResult.RejectedRow(4, "john.doe@example.com", EmployeeBatchResult.Status.DUPLICATE,
+                        "Email appears more than once in the batch:john.doe@example.com"))));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees/import")
+                .contentType("text/csv")
+                .content("firstName,lastName,email\nJohn,Doe,john.doe@example.com\n"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.duplicates", is(1)))
+                .andExpect(jsonPath("$.rejected[0].line", is(4)))
+                .andExpect(jsonPath("$.rejected[0].status", is("DUPLICATE")));
+    }
+
+    @Test
+    void givenInvalidCsv_whenImportEmployees_thenReturnBadRequest() throws Exception {
+
+        // given - precondition or setup
+        given(csvService.importCsv(any(InputStream.class)))
+                .willThrow(new BadRequestException("Invalid CSV at line 2: quoted field is not closed"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees/import")
+                .contentType("text/csv")
+                .content("firstName,lastName,email\n\"John,Doe,john.doe@example.com\n"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print())
+                .andExpect(jsonPath("$.detail", is("Invalid CSV at line 2: quoted field is not closed")));
+    }
+
+    @Test
+    void givenEmployees_whenExportEmployees_thenStreamCsvAttachment() throws Exception {
+
+        // given - precondition or setup
+        given(csvService.exportCsv(any(OutputStream.class))).willAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("id,firstName,lastName,email\r\n1,John,Doe,john.doe@example.com\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // when - action or behaviour that we are going test
+        MvcResult started = mockMvc.perform(get("/api/v1/employees/export.csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(started));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"employees.csv\""))
+                .andExpect(content().string("id,firstName,lastName,email\r\n1,John,Doe,john.doe@example.com\r\n"));
+    }
+}
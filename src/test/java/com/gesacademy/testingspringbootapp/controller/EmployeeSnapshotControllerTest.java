@@ -0,0 +1,71 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.service.EmployeeSnapshotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeSnapshotController.class)
+class EmployeeSnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeSnapshotService snapshotService;
+
+    @Test
+    void givenEmployees_whenExportSnapshot_thenReturnSnapshotFile() throws Exception {
+
+        // given - precondition or setup
+        willAnswer(invocation -> {
+            Files.write(invocation.getArgument(0, Path.class), new byte[]{1, 2, 3});
+            return 1L;
+        }).given(snapshotService).exportSnapshot(any(Path.class));
+
+        // when - action or behaviour that we are going test
+        MvcResult result = mockMvc.perform(get("/api/v1/employees/snapshot"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(result));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string("Content-Type", "application/octet-stream"))
+                .andExpect(header().string("Content-Length", "3"))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void givenSnapshotFile_whenImportSnapshot_thenReturnImportedRows() throws Exception {
+
+        // given - precondition or setup
+        given(snapshotService.importSnapshot(any(Path.class))).willReturn(2L);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees/snapshot")
+                .contentType("application/octet-stream")
+                .content(new byte[]{1, 2, 3}));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.importedRows", is(2)));
+    }
+}
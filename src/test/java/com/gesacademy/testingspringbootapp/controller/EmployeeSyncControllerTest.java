@@ -0,0 +1,75 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeDelta;
+import com.gesacademy.testingspringbootapp.dto.EmployeeDeltaPage;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.service.EmployeeSyncService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EmployeeSyncController.class)
+class EmployeeSyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeSyncService syncService;
+
+    @Test
+    void givenChangesSinceTime_whenGetChanges_thenReturnUpdatesAndDeletions() throws Exception {
+
+        // given - precondition or setup
+        Instant since = Instant.parse("2025-01-01T00:00:00Z");
+        List<EmployeeDelta> changes = List.of(
+                new EmployeeDelta(1L, false, "John", "Doe", "john.doe@example.com", 2L, since.plusSeconds(1)),
+                new EmployeeDelta(2L, true, null, null, null, null, since.plusSeconds(2)));
+        given(syncService.getChangesSince(since, null, 50)).willReturn(new EmployeeDeltaPage(changes, "abc", true));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/changes")
+                .param("since", "2025-01-01T00:00:00Z")
+                .param("size", "50"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.changes.size()", is(2)))
+                .andExpect(jsonPath("$.changes[0].email", is("john.doe@example.com")))
+                .andExpect(jsonPath("$.changes[1].deleted", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("abc")))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    @Test
+    void givenInvalidCursor_whenGetChanges_thenReturnBadRequest() throws Exception {
+
+        // given - precondition or setup
+        given(syncService.getChangesSince(isNull(), eq("bad"), anyInt()))
+                .willThrow(new BadRequestException("Invalid cursor: bad"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/changes").param("cursor", "bad"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print())
+                .andExpect(jsonPath("$.detail", is("Invalid cursor: bad")));
+    }
+}
@@ -0,0 +1,89 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.ratelimit.RateLimitInterceptor;
+import com.gesacademy.testingspringbootapp.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// every test sends as its own client, so the buckets of one test don't drain another's
+@WebMvcTest(controllers = EmployeeController.class, properties = {
+        "employee.rate-limit.write.rate=0.1",
+        "employee.rate-limit.write.burst=2"})
+class RateLimitedEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeService employeeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenWriteBurstUsedUp_whenCreateEmployee_thenReturn429WithRetryAfter() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("John").lastName("Doe").email("john.doe@example.com").build();
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
+        createEmployee("batch-client", employee).andExpect(status().isCreated());
+        createEmployee("batch-client", employee).andExpect(status().isCreated());
+
+        // when - action or behaviour that we are going test
+        ResultActions response = createEmployee("batch-client", employee);
+
+        // then - verify the output
+        response.andExpect(status().isTooManyRequests())
+                .andDo(print())
+                .andExpect(header().string("Retry-After", "10"))
+                .andExpect(jsonPath("$.detail", is("Rate limit exceeded for write requests")));
+        verify(employeeService, times(2)).saveEmployee(any(Employee.class));
+    }
+
+    @Test
+    void givenWriteBurstUsedUp_whenGetEmployeeOrWriteAsOtherClient_thenServed() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().id(1L).firstName("John").lastName("Doe").email("john.doe@example.com").build();
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+        createEmployee("busy-client", employee);
+        createEmployee("busy-client", employee);
+        createEmployee("busy-client", employee).andExpect(status().isTooManyRequests());
+
+        // when - action or behaviour that we are going test
+        ResultActions read = mockMvc.perform(get("/api/v1/employees/{id}", 1L)
+                .header(RateLimitInterceptor.CLIENT_HEADER, "busy-client"));
+        ResultActions otherClientWrite = createEmployee("quiet-client", employee);
+
+        // then - verify the output
+        read.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.firstName", is("John")));
+        otherClientWrite.andExpect(status().isCreated());
+    }
+
+    private ResultActions createEmployee(String client, Employee employee) throws Exception {
+        return mockMvc.perform(post("/api/v1/employees")
+                .header(RateLimitInterceptor.CLIENT_HEADER, client)
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employee)));
+    }
+}
@@ -0,0 +1,177 @@
+package com.gesacademy.testingspringbootapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gesacademy.testingspringbootapp.config.RespondAsyncMappingConfig;
+import com.gesacademy.testingspringbootapp.dto.WriteRequestStatus;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.service.EmployeeService;
+import com.gesacademy.testingspringbootapp.service.EmployeeWriteBehindService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = {EmployeeController.class, WriteBehindEmployeeController.class},
+        properties = "employee.write-behind.enabled=true")
+@Import(RespondAsyncMappingConfig.class)
+class WriteBehindEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EmployeeService employeeService;
+
+    @MockitoBean
+    private EmployeeWriteBehindService writeBehindService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenPreferRespondAsync_whenCreateEmployee_thenReturn202WithTrackingLocation() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build();
+
+        given(writeBehindService.submitCreate(any(Employee.class))).willReturn(WriteRequestStatus.pending("abc"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees")
+                .header("Prefer", "respond-async")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andExpect(status().isAccepted())
+                .andDo(print())
+                .andExpect(header().string("Location", endsWith("/api/v1/employees/write-requests/abc")))
+                .andExpect(jsonPath("$.state", is("PENDING")));
+        verify(employeeService, never()).saveEmployee(any(Employee.class));
+    }
+
+    @Test
+    void givenPreferRespondAsyncAndIfMatch_whenUpdateEmployee_thenReturn202() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .build();
+
+        given(writeBehindService.submitUpdate(eq(1L), any(Employee.class), eq(3L)))
+                .willReturn(WriteRequestStatus.pending("abc"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(put("/api/v1/employees/{id}", 1L)
+                .header("Prefer", "respond-async")
+                .header("If-Match", "\"3\"")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andExpect(status().isAccepted())
+                .andDo(print());
+    }
+
+    @Test
+    void givenRespondAsyncAmongOtherPreferences_whenCreateEmployee_thenReturn202() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build();
+
+        given(writeBehindService.submitCreate(any(Employee.class))).willReturn(WriteRequestStatus.pending("abc"));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees")
+                .header("Prefer", "return=minimal, Respond-Async; wait=5")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andExpect(status().isAccepted())
+                .andDo(print())
+                .andExpect(header().string("Preference-Applied", "respond-async"));
+        verify(employeeService, never()).saveEmployee(any(Employee.class));
+    }
+
+    @Test
+    void givenOtherPreferencesOnly_whenCreateEmployee_thenCreateSynchronously() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build();
+
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees")
+                .header("Prefer", "return=minimal, wait=5")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andExpect(status().isCreated())
+                .andDo(print());
+        verify(writeBehindService, never()).submitCreate(any(Employee.class));
+    }
+
+    @Test
+    void givenTrackingId_whenGetWriteRequestStatus_thenReturnStatus() throws Exception {
+
+        // given - precondition or setup
+        given(writeBehindService.getStatus("abc"))
+                .willReturn(Optional.of(new WriteRequestStatus("abc", WriteRequestStatus.State.APPLIED, 7L, null)));
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/write-requests/{trackingId}", "abc"));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.state", is("APPLIED")))
+                .andExpect(jsonPath("$.employeeId", is(7)));
+    }
+
+    @Test
+    void givenUnknownTrackingId_whenGetWriteRequestStatus_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        given(writeBehindService.getStatus("missing")).willReturn(Optional.empty());
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/write-requests/{trackingId}", "missing"));
+
+        // then - verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+}
@@ -0,0 +1,192 @@
+package com.gesacademy.testingspringbootapp.controller.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gesacademy.testingspringbootapp.dto.BulkJobRequest;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.service.impl.BulkJobServiceImpl;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// small chunks so every job spans several of them and both workers take part
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkjobs;DB_CLOSE_DELAY=-1",
+        "employee.jobs.chunk-size=5",
+        "employee.jobs.workers=2",
+        "employee.jobs.resume-interval=1h"})
+@AutoConfigureMockMvc
+public class BulkJobITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private BulkJobServiceImpl bulkJobService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        employees = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            String domain = i % 3 == 2 ? "other.com" : "example.com";
+            employees.add(Employee.builder().firstName("First" + i).lastName("Last" + i)
+                    .email("employee" + i + "@" + domain).build());
+        }
+        employees = employeeRepository.saveAll(employees);
+    }
+
+    @Test
+    void givenEmployeesInDomain_whenChangeEmailDomainJob_thenEveryMatchingEmailMovedAndRecorded() throws Exception {
+
+        // given - precondition or setup
+        long changesBefore = countChanges("UPDATED");
+
+        // when - action or behaviour that we are going test
+        ResultActions response = submit(new BulkJobRequest(BulkJobRequest.Type.CHANGE_EMAIL_DOMAIN, "example.com", "example.org"));
+
+        // then - verify the output
+        response.andExpect(status().isAccepted())
+                .andDo(print())
+                .andExpect(jsonPath("$.totalChunks", is(5)));
+        awaitState(jobId(response), "SUCCEEDED")
+                .andExpect(jsonPath("$.completedChunks", is(5)))
+                .andExpect(jsonPath("$.rowsAffected", is(16)));
+        assertThat(employeeRepository.findAll())
+                .extracting(Employee::getEmail)
+                .noneMatch(email -> email.endsWith("@example.com"))
+                .filteredOn(email -> email.endsWith("@example.org")).hasSize(16);
+        assertThat(employeeRepository.findById(employees.getFirst().getId()).orElseThrow().getVersion()).isEqualTo(1L);
+        assertThat(countChanges("UPDATED") - changesBefore).isEqualTo(16);
+    }
+
+    @Test
+    void givenEmployeesInDomain_whenDeleteByEmailDomainJob_thenOnlyMatchingEmployeesDeletedWithTombstones() throws Exception {
+
+        // given - precondition or setup
+        BulkJobRequest request = new BulkJobRequest(BulkJobRequest.Type.DELETE_BY_EMAIL_DOMAIN, "other.com", null);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = submit(request);
+
+        // then - verify the output
+        awaitState(jobId(response), "SUCCEEDED")
+                .andExpect(jsonPath("$.rowsAffected", is(7)));
+        assertThat(employeeRepository.count()).isEqualTo(16);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee_tombstones WHERE employee_id = ?",
+                Long.class, employees.get(2).getId())).isEqualTo(1L);
+    }
+
+    @Test
+    void givenJobInterruptedAfterSomeChunks_whenResumed_thenOnlyRemainingChunksProcessed() throws Exception {
+
+        // given - precondition or setup
+        long firstId = employees.getFirst().getId();
+        long lastId = employees.getLast().getId();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("INSERT INTO bulk_jobs (tenant_id, job_type, email_domain, new_email_domain, state, "
+                        + "first_id, last_id, chunk_size, total_chunks, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                "default", "CHANGE_EMAIL_DOMAIN", "example.com", "example.net", "RUNNING", firstId, lastId, 5, 5, now);
+        long jobId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM bulk_jobs", Long.class);
+        // the first two chunks were committed before the crash
+        jdbcTemplate.update("INSERT INTO bulk_job_chunks (job_id, chunk_index, rows_affected, completed_at) VALUES (?, 0, 0, ?)", jobId, now);
+        jdbcTemplate.update("INSERT INTO bulk_job_chunks (job_id, chunk_index, rows_affected, completed_at) VALUES (?, 1, 0, ?)", jobId, now);
+
+        // when - action or behaviour that we are going test
+        bulkJobService.resumeJobs();
+
+        // then - verify the output
+        awaitState(jobId, "SUCCEEDED")
+                .andExpect(jsonPath("$.completedChunks", is(5)));
+        assertThat(employeeRepository.findById(firstId).orElseThrow().getEmail()).isEqualTo("employee0@example.com");
+        assertThat(employeeRepository.findById(lastId).orElseThrow().getEmail()).isEqualTo("employee22@example.net");
+    }
+
+    @Test
+    void givenNewDomainEmailAlreadyTaken_whenChangeEmailDomainJob_thenJobFailsWithMessage() throws Exception {
+
+        // given - precondition or setup
+        employeeRepository.save(Employee.builder().firstName("Taken").lastName("Taken").email("employee0@example.org").build());
+
+        // when - action or behaviour that we are going test
+        ResultActions response = submit(new BulkJobRequest(BulkJobRequest.Type.CHANGE_EMAIL_DOMAIN, "example.com", "example.org"));
+
+        // then - verify the output
+        awaitState(jobId(response), "FAILED")
+                .andExpect(jsonPath("$.message", is("Ids " + employees.getFirst().getId() + " to "
+                        + (employees.getFirst().getId() + 4) + " could not be processed: "
+                        + "the change violates a constraint (an email already taken, or too long)")));
+        assertThat(employeeRepository.findById(employees.getFirst().getId()).orElseThrow().getEmail())
+                .isEqualTo("employee0@example.com");
+    }
+
+    @Test
+    void givenInvalidEmailDomain_whenSubmitJob_thenReturnBadRequest() throws Exception {
+
+        // given - precondition or setup
+        BulkJobRequest request = new BulkJobRequest(BulkJobRequest.Type.DELETE_BY_EMAIL_DOMAIN, "%", null);
+
+        // when - action or behaviour that we are going test
+        ResultActions response = submit(request);
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print())
+                .andExpect(jsonPath("$.detail", is("Invalid email domain: %")));
+    }
+
+    private ResultActions submit(BulkJobRequest request) throws Exception {
+        return mockMvc.perform(post("/api/v1/employees/jobs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private static long jobId(ResultActions response) throws Exception {
+        return ((Number) JsonPath.read(response.andReturn().getResponse().getContentAsString(), "$.id")).longValue();
+    }
+
+    private ResultActions awaitState(long jobId, String state) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            ResultActions response = mockMvc.perform(get("/api/v1/employees/jobs/{id}", jobId));
+            String current = JsonPath.read(response.andReturn().getResponse().getContentAsString(), "$.state");
+            if (current.equals(state) || System.currentTimeMillis() > deadline) {
+                return response.andExpect(jsonPath("$.state", is(state)));
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private long countChanges(String type) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee_changes WHERE change_type = ?", Long.class, type);
+    }
+}
@@ -0,0 +1,104 @@
+package com.gesacademy.testingspringbootapp.controller.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.sql.Connection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// an embedded H2 database behind two small pools; holding every connection of one pool stands in for a storm of
+// slow requests of that kind
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkheads;DB_CLOSE_DELAY=-1",
+        "employee.datasource.read-pool.maximum-pool-size=2",
+        "employee.datasource.read-pool.connection-timeout=250",
+        "employee.datasource.write-pool.maximum-pool-size=2",
+        "employee.datasource.write-pool.connection-timeout=250"})
+@AutoConfigureMockMvc
+public class PoolBulkheadITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("readDataSource")
+    private HikariDataSource readDataSource;
+
+    @Autowired
+    @Qualifier("writeDataSource")
+    private HikariDataSource writeDataSource;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        employee = employeeRepository.save(Employee.builder().firstName("John").lastName("Doe").email("john.doe@example.com").build());
+    }
+
+    @Test
+    void givenWritePoolExhausted_whenGetAndCreateEmployee_thenReadServedAndWriteRejectedWith503() throws Exception {
+
+        // given - precondition or setup
+        try (Connection first = writeDataSource.getConnection(); Connection second = writeDataSource.getConnection()) {
+
+            // when - action or behaviour that we are going test
+            ResultActions read = mockMvc.perform(get("/api/v1/employees/{id}", employee.getId()));
+            ResultActions write = createEmployee("jane.doe@example.com");
+
+            // then - verify the output
+            read.andExpect(status().isOk())
+                    .andDo(print())
+                    .andExpect(jsonPath("$.email", is("john.doe@example.com")));
+            write.andExpect(status().isServiceUnavailable())
+                    .andDo(print())
+                    .andExpect(header().string("Retry-After", "1"));
+        }
+    }
+
+    @Test
+    void givenReadPoolExhausted_whenGetAllAndCreateEmployee_thenWriteServedAndReadRejectedWith503() throws Exception {
+
+        // given - precondition or setup
+        try (Connection first = readDataSource.getConnection(); Connection second = readDataSource.getConnection()) {
+
+            // when - action or behaviour that we are going test
+            ResultActions read = mockMvc.perform(get("/api/v1/employees"));
+            ResultActions write = createEmployee("jane.doe@example.com");
+
+            // then - verify the output
+            read.andExpect(status().isServiceUnavailable())
+                    .andDo(print());
+            write.andExpect(status().isCreated())
+                    .andDo(print())
+                    .andExpect(jsonPath("$.email", is("jane.doe@example.com")));
+        }
+    }
+
+    private ResultActions createEmployee(String email) throws Exception {
+        Employee newEmployee = Employee.builder().firstName("Jane").lastName("Doe").email(email).build();
+        return mockMvc.perform(post("/api/v1/employees")
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(newEmployee)));
+    }
+}
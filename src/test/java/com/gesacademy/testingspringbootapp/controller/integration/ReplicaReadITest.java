@@ -0,0 +1,111 @@
+package com.gesacademy.testingspringbootapp.controller.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gesacademy.testingspringbootapp.datasource.ReplicaLagMonitor;
+import com.gesacademy.testingspringbootapp.datasource.ReplicaRoutingDataSource;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// a second embedded H2 database stands in for the replica; rows reach it only when a test copies them over, so
+// it lags the primary for as long as the test wants
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replica_primary;DB_CLOSE_DELAY=-1",
+        "employee.datasource.replica-urls=jdbc:h2:mem:replica_0;DB_CLOSE_DELAY=-1"})
+@ActiveProfiles("replicas")
+@AutoConfigureMockMvc
+public class ReplicaReadITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        DataSource replicaPool = replicaDataSource.replicas().get(0).dataSource();
+        Flyway.configure().dataSource(replicaPool).locations("classpath:db/migration/h2").load().migrate();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaPool);
+        primary.update("DELETE FROM employees");
+        replica.update("DELETE FROM employees");
+    }
+
+    @Test
+    void givenEmployeeStillOnLaggingReplica_whenDeleteThenGetEmployee_thenReturnNotFound() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("John").lastName("Doe").email("john.doe@example.com").build();
+        ResultActions created = mockMvc.perform(post("/api/v1/employees")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isCreated());
+        long id = objectMapper.readTree(created.andReturn().getResponse().getContentAsString()).get("id").asLong();
+        replicateEmployee(id);
+        mockMvc.perform(get("/api/v1/employees/{id}", id)).andExpect(status().isOk());
+
+        // when - action or behaviour that we are going test
+        mockMvc.perform(delete("/api/v1/employees/{id}", id)).andExpect(status().isOk());
+        replicateHeartbeat();
+        ResultActions response = mockMvc.perform(get("/api/v1/employees/{id}", id));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+        // the list is read from the replica, which still has the row
+        mockMvc.perform(get("/api/v1/employees"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)));
+        mockMvc.perform(get("/api/v1/employees/{id}", id)).andExpect(status().isNotFound());
+    }
+
+    // stands in for replication: copies the row and the primary's current heartbeat, then lets the monitor
+    // take the replica in
+    private void replicateEmployee(long id) {
+        primary.query("SELECT * FROM employees WHERE id = ?", rs -> {
+            replica.update("INSERT INTO employees (id, first_name, last_name, email, version, created_at, updated_at, tenant_id) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    rs.getLong("id"), rs.getString("first_name"), rs.getString("last_name"), rs.getString("email"),
+                    rs.getLong("version"), rs.getTimestamp("created_at"), rs.getTimestamp("updated_at"),
+                    rs.getString("tenant_id"));
+        }, id);
+        replicateHeartbeat();
+    }
+
+    private void replicateHeartbeat() {
+        replicaLagMonitor.check();
+        Timestamp beatAt = primary.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Timestamp.class);
+        replica.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", beatAt);
+        replicaLagMonitor.check();
+    }
+}
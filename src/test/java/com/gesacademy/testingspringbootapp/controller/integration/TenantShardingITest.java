@@ -0,0 +1,159 @@
+package com.gesacademy.testingspringbootapp.controller.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gesacademy.testingspringbootapp.config.ShardDataSourceConfig;
+import com.gesacademy.testingspringbootapp.datasource.TenantShardRoutingDataSource;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.tenant.TenantInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// three embedded H2 databases stand in for the shards
+@SpringBootTest(properties = "employee.datasource.shard-urls="
+        + "jdbc:h2:mem:shard_0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard_1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard_2;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("shards")
+@AutoConfigureMockMvc
+public class TenantShardingITest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TenantShardRoutingDataSource shards;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String tenantOnShard0;
+    private String tenantOnShard1;
+
+    // every test gets tenants of its own, so cached reads from an earlier test cannot show up
+    @BeforeEach
+    void setUp() {
+        shards.shards().values().forEach(shard -> new JdbcTemplate(shard).update("DELETE FROM employees"));
+        tenantOnShard0 = tenantOn(TenantShardRoutingDataSource.shardName(0));
+        tenantOnShard1 = tenantOn(TenantShardRoutingDataSource.shardName(1));
+    }
+
+    @Test
+    void givenTenantHeader_whenCreateEmployee_thenStoredOnlyOnTenantShard() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("John").lastName("Doe").email("john.doe@example.com").build();
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(post("/api/v1/employees")
+                .header(TenantInterceptor.TENANT_HEADER, tenantOnShard1)
+                .contentType("application/json")
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the output
+        response.andDo(print())
+                .andExpect(status().isCreated());
+        long id = objectMapper.readTree(response.andReturn().getResponse().getContentAsString()).get("id").asLong();
+        assertThat(id).isGreaterThanOrEqualTo(ShardDataSourceConfig.SHARD_ID_RANGE);
+        for (Map.Entry<String, DataSource> shard : shards.shards().entrySet()) {
+            List<String> tenants = new JdbcTemplate(shard.getValue()).queryForList("SELECT tenant_id FROM employees", String.class);
+            assertThat(tenants).isEqualTo(shard.getKey().equals(shards.shardFor(tenantOnShard1)) ? List.of(tenantOnShard1) : List.of());
+        }
+    }
+
+    @Test
+    void givenEmployeesOfTwoTenants_whenGetAllEmployees_thenReturnOnlyOwnTenantsEmployees() throws Exception {
+
+        // given - precondition or setup
+        long ownId = createEmployee(tenantOnShard0, "John", "john.doe@example.com");
+        long otherId = createEmployee(tenantOnShard1, "Jane", "john.doe@example.com");
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees").header(TenantInterceptor.TENANT_HEADER, tenantOnShard0));
+
+        // then - verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id").value(ownId))
+                .andExpect(jsonPath("$[0].firstName", is("John")));
+        mockMvc.perform(get("/api/v1/employees/{id}", otherId).header(TenantInterceptor.TENANT_HEADER, tenantOnShard0))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void givenEmployeesOnSeveralShards_whenGetAllTenantsPages_thenReturnEmployeesMergedInIdOrder() throws Exception {
+
+        // given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (int index = 0; index < 3; index++) {
+            ids.add(createEmployee(tenantOnShard1, "John" + index, "john" + index + "@example.com"));
+            ids.add(createEmployee(tenantOnShard0, "Jane" + index, "jane" + index + "@example.com"));
+        }
+
+        // when - action or behaviour that we are going test
+        List<Long> pagedIds = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResultActions response = mockMvc.perform(get("/api/v1/employees/all-tenants")
+                    .param("size", "4")
+                    .param("cursor", cursor));
+            response.andExpect(status().isOk()).andDo(print());
+            JsonNode page = objectMapper.readTree(response.andReturn().getResponse().getContentAsString());
+            page.get("content").forEach(summary -> pagedIds.add(summary.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        // then - verify the output
+        assertThat(pagedIds).isEqualTo(ids.stream().sorted().toList());
+    }
+
+    @Test
+    void givenInvalidTenantHeader_whenGetAllEmployees_thenReturnBadRequest() throws Exception {
+
+        // when - action or behaviour that we are going test
+        ResultActions response = mockMvc.perform(get("/api/v1/employees").header(TenantInterceptor.TENANT_HEADER, "no spaces"));
+
+        // then - verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print())
+                .andExpect(jsonPath("$.detail", is("Invalid tenant id: no spaces")));
+    }
+
+    private long createEmployee(String tenant, String firstName, String email) throws Exception {
+        Employee employee = Employee.builder().firstName(firstName).lastName("Doe").email(email).build();
+        String body = mockMvc.perform(post("/api/v1/employees")
+                        .header(TenantInterceptor.TENANT_HEADER, tenant)
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private String tenantOn(String shard) {
+        for (int index = 0; ; index++) {
+            String tenant = "tenant-" + System.nanoTime() + "-" + index;
+            if (shards.shardFor(tenant).equals(shard)) {
+                return tenant;
+            }
+        }
+    }
+}
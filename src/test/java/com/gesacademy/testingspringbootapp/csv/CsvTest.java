@@ -0,0 +1,98 @@
+package com.gesacademy.testingspringbootapp.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvTest {
+
+    private static final int MAX_FIELD_LENGTH = 64;
+
+    @DisplayName("JUnit test for reading back values that need quoting")
+    @Test
+    void givenValuesWithSeparatorsQuotesAndLineBreaks_whenWriteAndRead_thenReturnSameValues() throws IOException {
+        // Given - precondition or setup
+        List<List<String>> records = List.of(
+                List.of("1", "John", "Doe", "john.doe@example.com"),
+                List.of("2", "Zoë, \"Zo\"", "Ångström\r\nSmith", " padded "),
+                List.of("3", "", "O'Brien", "x@example.com"));
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        for (List<String> record : records) {
+            writer.writeRecord(record.toArray(String[]::new));
+        }
+
+        // When - action or the behaviour that we are going to test
+        List<List<String>> read = readAll(out.toString());
+
+        // Then - verify the output
+        assertThat(read).isEqualTo(records);
+        assertThat(out.toString()).startsWith("1,John,Doe,john.doe@example.com\r\n2,\"Zoë, \"\"Zo\"\"\",");
+    }
+
+    @DisplayName("JUnit test for reading LF and CRLF line endings, a byte order mark and a missing final line break")
+    @Test
+    void givenMixedLineEndingsAndByteOrderMark_whenRead_thenReturnRecordsWithLineNumbers() throws IOException {
+        // Given - precondition or setup
+        CsvReader reader = new CsvReader(new StringReader("\uFEFFa,b\r\n\"multi\nline\",c\nlast,row"), MAX_FIELD_LENGTH);
+
+        // When - action or the behaviour that we are going to test
+        List<String> first = reader.nextRecord();
+        long firstLine = reader.recordLine();
+        List<String> second = reader.nextRecord();
+        long secondLine = reader.recordLine();
+        List<String> third = reader.nextRecord();
+        long thirdLine = reader.recordLine();
+
+        // Then - verify the output
+        assertThat(first).containsExactly("a", "b");
+        assertThat(second).containsExactly("multi\nline", "c");
+        assertThat(third).containsExactly("last", "row");
+        assertThat(List.of(firstLine, secondLine, thirdLine)).containsExactly(1L, 2L, 4L);
+        assertThat(reader.nextRecord()).isNull();
+    }
+
+    @DisplayName("JUnit test for failing on a quoted field that is never closed")
+    @Test
+    void givenUnclosedQuote_whenRead_thenThrowsCsvFormatException() {
+        // Given - precondition or setup
+        String csv = "a,b\n\"never closed,c\n" + "x".repeat(MAX_FIELD_LENGTH);
+
+        // When - action or the behaviour that we are going to test
+        // Then - verify the output
+        assertThatThrownBy(() -> readAll(csv))
+                .isInstanceOf(CsvFormatException.class)
+                .hasMessage("line 2: field is longer than " + MAX_FIELD_LENGTH + " characters");
+        assertThatThrownBy(() -> readAll("a,\"b"))
+                .isInstanceOf(CsvFormatException.class)
+                .hasMessage("line 1: quoted field is not closed");
+    }
+
+    @DisplayName("JUnit test for failing on text after a closing quote")
+    @Test
+    void givenTextAfterClosingQuote_whenRead_thenThrowsCsvFormatException() {
+        // When - action or the behaviour that we are going to test
+        // Then - verify the output
+        assertThatThrownBy(() -> readAll("a,b\n\"quoted\"tail,c\n"))
+                .isInstanceOf(CsvFormatException.class)
+                .hasMessage("line 2: unexpected character after a closing quote");
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv), MAX_FIELD_LENGTH)) {
+            for (List<String> record = reader.nextRecord(); record != null; record = reader.nextRecord()) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
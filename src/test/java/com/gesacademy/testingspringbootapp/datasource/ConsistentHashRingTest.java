@@ -0,0 +1,68 @@
+package com.gesacademy.testingspringbootapp.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 30_000;
+    private static final int VIRTUAL_NODES = 128;
+
+    @DisplayName("JUnit test for spreading keys evenly over the nodes")
+    @Test
+    void givenThreeNodes_whenNodeFor_thenKeysSpreadEvenly() {
+
+        // Given - precondition or setup
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), VIRTUAL_NODES);
+
+        // When - action or behaviour that we are going test
+        Map<String, Integer> keysPerNode = new HashMap<>();
+        for (int key = 0; key < KEYS; key++) {
+            keysPerNode.merge(ring.nodeFor("tenant-" + key), 1, Integer::sum);
+        }
+
+        // Then - verify the output
+        assertThat(keysPerNode).containsOnlyKeys("shard-0", "shard-1", "shard-2");
+        assertThat(keysPerNode.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 4, KEYS / 2));
+    }
+
+    @DisplayName("JUnit test for moving only the new node's share of keys when a node is added")
+    @Test
+    void givenRingWithThreeNodes_whenAddFourthNode_thenOnlyKeysForNewNodeMove() {
+
+        // Given - precondition or setup
+        ConsistentHashRing before = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), VIRTUAL_NODES);
+
+        // When - action or behaviour that we are going test
+        int moved = 0;
+        for (int key = 0; key < KEYS; key++) {
+            String tenant = "tenant-" + key;
+            String owner = after.nodeFor(tenant);
+            if (!owner.equals(before.nodeFor(tenant))) {
+                // Then - verify the output
+                assertThat(owner).isEqualTo("shard-3");
+                moved++;
+            }
+        }
+
+        // Then - verify the output
+        assertThat(moved).isBetween(KEYS / 6, KEYS / 3);
+    }
+
+    @DisplayName("JUnit test for rejecting a ring without nodes")
+    @Test
+    void givenNoNodes_whenCreateRing_thenThrowsIllegalArgumentException() {
+
+        // When - action or behaviour that we are going test
+        // Then - verify the output
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing(List.of(), VIRTUAL_NODES));
+    }
+}
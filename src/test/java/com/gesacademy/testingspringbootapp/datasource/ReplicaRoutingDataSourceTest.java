@@ -0,0 +1,189 @@
+package com.gesacademy.testingspringbootapp.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// every database has a "marker" table holding its own name, so a query shows where it ran
+class ReplicaRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final Duration CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private ReplicaRoutingDataSource routingDataSource;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replicaA = database("replica_a");
+        replicaB = database("replica_b");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica_a", replicaA);
+        replicas.put("replica_b", replicaB);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas);
+        lagMonitor = new ReplicaLagMonitor(primary, routingDataSource, MAX_LAG, CHECK_INTERVAL);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lagMonitor.destroy();
+        for (DataSource dataSource : List.of(primary, replicaA, replicaB)) {
+            new JdbcTemplate(dataSource).execute("DROP ALL OBJECTS");
+        }
+    }
+
+    @DisplayName("JUnit test for sending read-only transactions to replicas and writes to the primary")
+    @Test
+    void givenReplicasInSync_whenReadAndWrite_thenReadsGoToReplicasAndWritesToPrimary() {
+
+        // Given - precondition or setup
+        replicateHeartbeat(replicaA, replicaB);
+        lagMonitor.check();
+
+        // When - action or behaviour that we are going test
+        List<String> reads = List.of(readMarker(), readMarker(), readMarker(), readMarker());
+        String written = writeTransaction.execute(status -> {
+            jdbcTemplate.update("UPDATE marker SET name = name");
+            return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+        });
+
+        // Then - verify the output
+        assertThat(reads).containsExactly("replica_a", "replica_b", "replica_a", "replica_b");
+        assertThat(written).isEqualTo("primary");
+        assertThat(routingDataSource.replicas()).allMatch(ReplicaRoutingDataSource.Replica::available);
+    }
+
+    @DisplayName("JUnit test for taking a lagging replica out of the rotation")
+    @Test
+    void givenOneReplicaBehind_whenRead_thenReadsSkipIt() {
+
+        // Given - precondition or setup
+        replicateHeartbeat(replicaA);
+        new JdbcTemplate(replicaB).update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1",
+                Timestamp.from(Instant.now().minus(MAX_LAG).minusSeconds(1)));
+        lagMonitor.check();
+
+        // When - action or behaviour that we are going test
+        List<String> reads = List.of(readMarker(), readMarker(), readMarker());
+
+        // Then - verify the output
+        assertThat(reads).containsOnly("replica_a");
+        assertThat(routingDataSource.replicas().get(1).available()).isFalse();
+        assertThat(routingDataSource.replicas().get(1).lag()).isGreaterThan(MAX_LAG);
+    }
+
+    @DisplayName("JUnit test for reading from the primary when no replica is available")
+    @Test
+    void givenNoReplicaAvailable_whenRead_thenReadFromPrimary() {
+
+        // Given - precondition or setup
+        new JdbcTemplate(replicaA).update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1",
+                Timestamp.from(Instant.now().minus(Duration.ofMinutes(1))));
+        new JdbcTemplate(replicaB).execute("DROP TABLE replication_heartbeat");
+        lagMonitor.check();
+
+        // When - action or behaviour that we are going test
+        String read = readMarker();
+
+        // Then - verify the output
+        assertThat(read).isEqualTo("primary");
+        assertThat(routingDataSource.replicas().get(1).lag()).isNull();
+    }
+
+    @DisplayName("JUnit test for reading from the primary on request while replicas are available")
+    @Test
+    void givenReplicasInSync_whenReadOnPrimary_thenReadFromPrimary() {
+
+        // Given - precondition or setup
+        replicateHeartbeat(replicaA, replicaB);
+        lagMonitor.check();
+
+        // When - action or behaviour that we are going test
+        String onPrimary = ReplicaRoutingDataSource.callOnPrimary(this::readMarker);
+        String afterwards = readMarker();
+
+        // Then - verify the output
+        assertThat(onPrimary).isEqualTo("primary");
+        assertThat(afterwards).isEqualTo("replica_a");
+    }
+
+    @DisplayName("JUnit test for reading from the primary before the first lag check")
+    @Test
+    void givenReplicasNotCheckedYet_whenRead_thenReadFromPrimary() {
+
+        // Given - precondition or setup
+        replicateHeartbeat(replicaA, replicaB);
+
+        // When - action or behaviour that we are going test
+        String read = readMarker();
+
+        // Then - verify the output
+        assertThat(read).isEqualTo("primary");
+    }
+
+    @DisplayName("JUnit test for rejecting a lag limit the check interval cannot measure")
+    @Test
+    void givenMaxLagNotAboveCheckInterval_whenCreateMonitor_thenThrowsIllegalArgumentException() {
+
+        // When - action or behaviour that we are going test
+        // Then - verify the output
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReplicaLagMonitor(primary, routingDataSource, CHECK_INTERVAL, CHECK_INTERVAL));
+    }
+
+    private String readMarker() {
+        return readTransaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    // stands in for replication: copies the primary's current heartbeat to the replicas
+    private void replicateHeartbeat(DataSource... replicas) {
+        lagMonitor.check();
+        Timestamp beatAt = new JdbcTemplate(primary)
+                .queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Timestamp.class);
+        for (DataSource replica : replicas) {
+            new JdbcTemplate(replica).update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", beatAt);
+        }
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP(6) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", Timestamp.from(Instant.EPOCH));
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,108 @@
+package com.gesacademy.testingspringbootapp.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration THRESHOLD = Duration.ofMillis(100);
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    @DisplayName("JUnit test for refusing requests beyond the limit")
+    @Test
+    void givenLimitReached_whenTryAcquire_thenRefuse() {
+
+        // Given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD);
+
+        // When - action or behaviour that we are going test
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Then - verify the output
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(third).isFalse();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @DisplayName("JUnit test for shrinking the limit on slow requests down to the minimum")
+    @Test
+    void givenSlowRequests_whenRelease_thenLimitBacksOffToMinimum() {
+
+        // Given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 3, 50, THRESHOLD);
+
+        // When - action or behaviour that we are going test
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+        int afterOneSlowRequest = limiter.limit();
+        for (int request = 0; request < 50; request++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+
+        // Then - verify the output
+        assertThat(afterOneSlowRequest).isEqualTo(18);
+        assertThat(limiter.limit()).isEqualTo(3);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @DisplayName("JUnit test for growing the limit on fast requests only while it is in use")
+    @Test
+    void givenFastRequests_whenRelease_thenLimitGrowsOnlyUnderLoad() {
+
+        // Given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 6, THRESHOLD);
+
+        // When - action or behaviour that we are going test
+        limiter.tryAcquire();
+        limiter.release(FAST);
+        int afterIdleRequest = limiter.limit();
+        for (int round = 0; round < 5; round++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(FAST);
+            limiter.release(FAST);
+            limiter.release(FAST);
+        }
+
+        // Then - verify the output
+        assertThat(afterIdleRequest).isEqualTo(4);
+        assertThat(limiter.limit()).isEqualTo(6);
+    }
+
+    @DisplayName("JUnit test for leaving the limit alone when a slot is released without a sample")
+    @Test
+    void givenUnsampledRelease_whenRelease_thenLimitUnchanged() {
+
+        // Given - precondition or setup
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        // When - action or behaviour that we are going test
+        limiter.release();
+
+        // Then - verify the output
+        assertThat(limiter.limit()).isEqualTo(2);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @DisplayName("JUnit test for rejecting an initial limit outside the bounds")
+    @Test
+    void givenInitialLimitAboveMax_whenCreateLimiter_thenThrowsIllegalArgumentException() {
+
+        // When - action or behaviour that we are going test
+        // Then - verify the output
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(20, 1, 10, THRESHOLD));
+    }
+}
@@ -0,0 +1,65 @@
+package com.gesacademy.testingspringbootapp.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @DisplayName("JUnit test for allowing a full burst and refusing the next request until a token is refilled")
+    @Test
+    void givenFullBucket_whenBurstExceeded_thenRefuseWithTimeToNextToken() {
+
+        // Given - precondition or setup
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(10, 5, now);
+
+        // When - action or behaviour that we are going test
+        long[] waits = new long[6];
+        for (int request = 0; request < waits.length; request++) {
+            waits[request] = bucket.tryConsume(now);
+        }
+
+        // Then - verify the output
+        assertThat(waits).startsWith(0, 0, 0, 0, 0);
+        assertThat(waits[5]).isEqualTo(SECOND / 10);
+        assertThat(bucket.tryConsume(now + SECOND / 10)).isZero();
+        assertThat(bucket.tryConsume(now + SECOND / 10)).isPositive();
+    }
+
+    @DisplayName("JUnit test for refilling an idle bucket up to its capacity only")
+    @Test
+    void givenIdleBucket_whenRequestsAfterLongPause_thenAllowCapacityOnly() {
+
+        // Given - precondition or setup
+        long now = -5 * SECOND;
+        TokenBucket bucket = new TokenBucket(10, 3, now);
+        bucket.tryConsume(now);
+        bucket.tryConsume(now);
+
+        // When - action or behaviour that we are going test
+        long later = now + 60 * SECOND;
+        int allowed = 0;
+        while (bucket.tryConsume(later) == 0) {
+            allowed++;
+        }
+
+        // Then - verify the output
+        assertThat(allowed).isEqualTo(3);
+    }
+
+    @DisplayName("JUnit test for rejecting a bucket without capacity")
+    @Test
+    void givenZeroCapacity_whenCreateBucket_thenThrowsIllegalArgumentException() {
+
+        // When - action or behaviour that we are going test
+        // Then - verify the output
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 0, 0));
+    }
+}
@@ -0,0 +1,67 @@
+package com.gesacademy.testingspringbootapp.repository;
+
+import com.gesacademy.testingspringbootapp.config.RepositoryMetricsConfig;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({RepositoryMetricsConfig.class, EmployeeRepositoryMetricsTest.MeterRegistryConfig.class})
+class EmployeeRepositoryMetricsTest {
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class MeterRegistryConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DisplayName("JUnit test for the rows returned metric of a finder")
+    @Test
+    void givenEmployees_whenFindEmployees_thenRowCountRecorded() {
+
+        // Given - precondition or setup
+        employeeRepository.saveAll(List.of(
+                Employee.builder().firstName("John").lastName("Doe").email("john.doe@example.com").build(),
+                Employee.builder().firstName("John").lastName("Doe").email("john.doe2@example.com").build(),
+                Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@example.com").build()));
+        // registered when the repository was created, before any call
+        assertThat(meterRegistry.find(RepositoryMetricsConfig.ROWS_METRIC)
+                .tag("repository", "EmployeeRepository").tag("method", "findByEmail").summary()).isNotNull();
+
+        // When - action or the behaviour that we are going to test
+        employeeRepository.findAll();
+        employeeRepository.findByEmail("nobody@example.com");
+
+        // Then - verify the output
+        DistributionSummary findAll = meterRegistry.get(RepositoryMetricsConfig.ROWS_METRIC)
+                .tag("repository", "EmployeeRepository").tag("method", "findAll").summary();
+        assertThat(findAll.count()).isEqualTo(1);
+        assertThat(findAll.totalAmount()).isEqualTo(3);
+
+        DistributionSummary findByEmail = meterRegistry.get(RepositoryMetricsConfig.ROWS_METRIC)
+                .tag("repository", "EmployeeRepository").tag("method", "findByEmail").summary();
+        assertThat(findByEmail.count()).isEqualTo(1);
+        assertThat(findByEmail.totalAmount()).isZero();
+    }
+}
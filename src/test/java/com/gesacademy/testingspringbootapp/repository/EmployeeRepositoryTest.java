@@ -1,5 +1,7 @@
 package com.gesacademy.testingspringbootapp.repository;
 
+import com.gesacademy.testingspringbootapp.dto.EmployeeListVersion;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
 import com.gesacademy.testingspringbootapp.exception.ResourceNotFoundException;
 import com.gesacademy.testingspringbootapp.model.Employee;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +9,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -254,4 +261,182 @@ class EmployeeRepositoryTest {
         // Then - verify the output
         assertThat(savedEmployee).isNotNull();
     }
-}
\ No newline at end of file
+
+    // JUnit test for keyset pagination query
+    @DisplayName("JUnit test for keyset pagination query")
+    @Test
+    public void givenEmployeesList_whenFindByIdGreaterThan_thenReturnNextSlice() {
+        // Given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        // When - action or the behaviour that we are going to test
+        var employees = employeeRepository.findSummariesByIdGreaterThanOrderByIdAsc(employee.getId(), Limit.of(10));
+
+        // Then - verify the output
+        assertThat(employees).extracting(EmployeeSummary::email).containsExactly("jane.doe@example.com");
+    }
+
+    // JUnit test for conditional update on the version column
+    @DisplayName("JUnit test for conditional update on the version column")
+    @Test
+    public void givenSavedEmployee_whenUpdateIfVersionMatches_thenOnlyCurrentVersionWins() {
+        // Given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        Long version = employee.getVersion();
+
+        Instant updatedAt = Employee.currentTimestamp();
+
+        // When - action or the behaviour that we are going to test
+        int firstUpdate = employeeRepository.updateIfVersionMatches(employee.getId(), "Ram", "Doe", "ram@gmail.com", version, updatedAt);
+        int staleUpdate = employeeRepository.updateIfVersionMatches(employee.getId(), "Jane", "Doe", "jane@gmail.com", version, updatedAt);
+
+        // Then - verify the output
+        assertThat(firstUpdate).isEqualTo(1);
+        assertThat(staleUpdate).isEqualTo(0);
+    }
+
+    // JUnit test for the audit timestamps
+    @DisplayName("JUnit test for the audit timestamps")
+    @Test
+    public void givenSavedEmployee_whenUpdate_thenKeepCreatedAtAndMoveUpdatedAt() {
+        // Given - precondition or setup
+        Employee savedEmployee = employeeRepository.saveAndFlush(employee);
+        Instant createdAt = savedEmployee.getCreatedAt();
+
+        // When - action or the behaviour that we are going to test
+        savedEmployee.setFirstName("Ram");
+        Employee updatedEmployee = employeeRepository.saveAndFlush(savedEmployee);
+
+        // Then - verify the output
+        assertThat(createdAt).isNotNull();
+        assertThat(updatedEmployee.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(updatedEmployee.getUpdatedAt()).isAfterOrEqualTo(createdAt);
+    }
+
+    // JUnit test for the list fingerprint
+    @DisplayName("JUnit test for the list fingerprint")
+    @Test
+    public void givenSavedEmployees_whenFindListVersion_thenReturnCountAndLatestUpdate() {
+        // Given - precondition or setup
+        Employee jane = Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@example.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, jane));
+        Instant lastUpdatedAt = employee.getUpdatedAt().isAfter(jane.getUpdatedAt()) ? employee.getUpdatedAt() : jane.getUpdatedAt();
+
+        // When - action or the behaviour that we are going to test
+        EmployeeListVersion version = employeeRepository.findListVersion();
+
+        // Then - verify the output
+        assertThat(version.count()).isEqualTo(2);
+        assertThat(version.versionSum()).isZero();
+        assertThat(version.lastUpdatedAt()).isEqualTo(lastUpdatedAt);
+        assertThat(version.lastModified()).isEqualTo(lastUpdatedAt);
+    }
+
+    // JUnit test for the list fingerprint after an update stamped no later than the latest one
+    @DisplayName("JUnit test for the list fingerprint after an update stamped no later than the latest one")
+    @Test
+    public void givenUpdateStampedBeforeLatestUpdate_whenFindListVersion_thenFingerprintChanges() {
+        // Given - precondition or setup
+        Employee jane = Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@example.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, jane));
+        EmployeeListVersion before = employeeRepository.findListVersion();
+
+        // When - action or the behaviour that we are going to test
+        // stamped before the commit, so a write committing late can carry a time the fingerprint has already passed
+        employeeRepository.updateIfVersionMatches(employee.getId(), "Ram", "Doe", "ram@gmail.com", employee.getVersion(),
+                employee.getCreatedAt());
+        EmployeeListVersion after = employeeRepository.findListVersion();
+
+        // Then - verify the output
+        assertThat(after.count()).isEqualTo(before.count());
+        assertThat(after.lastUpdatedAt()).isEqualTo(before.lastUpdatedAt());
+        assertThat(after).isNotEqualTo(before);
+        assertThat(after.versionSum()).isEqualTo(before.versionSum() + 1);
+    }
+
+    // JUnit test for keyset reads by update time
+    @DisplayName("JUnit test for keyset reads by update time")
+    @Test
+    public void givenEmployeesUpdatedAtDifferentTimes_whenFindUpdatedAfter_thenReturnTimeThenIdOrder() {
+        // Given - precondition or setup
+        Employee jane = Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@example.com").build();
+        Employee ram = Employee.builder().firstName("Ram").lastName("Doe").email("ram@gmail.com").build();
+        Employee max = Employee.builder().firstName("Max").lastName("Doe").email("max@gmail.com").build();
+        employeeRepository.saveAllAndFlush(List.of(employee, jane, ram, max));
+        Instant base = Employee.currentTimestamp().plusSeconds(3600);
+        employeeRepository.updateIfVersionMatches(employee.getId(), "John", "Doe", "john.doe@example.com", 0L, base.plusSeconds(2));
+        employeeRepository.updateIfVersionMatches(jane.getId(), "Jane", "Doe", "jane.doe@example.com", 0L, base.plusSeconds(1));
+        employeeRepository.updateIfVersionMatches(ram.getId(), "Ram", "Doe", "ram@gmail.com", 0L, base.plusSeconds(1));
+        employeeRepository.updateIfVersionMatches(max.getId(), "Max", "Doe", "max@gmail.com", 0L, base.plusSeconds(10));
+
+        // When - action or the behaviour that we are going to test
+        List<Employee> firstPage = employeeRepository.findUpdatedAfter(base, 0L, base.plusSeconds(5), Limit.of(2));
+        List<Employee> secondPage = employeeRepository.findUpdatedAfter(base.plusSeconds(1), firstPage.getLast().getId(),
+                base.plusSeconds(5), Limit.of(2));
+
+        // Then - verify the output
+        assertThat(firstPage).extracting(Employee::getEmail).containsExactly("jane.doe@example.com", "ram@gmail.com");
+        assertThat(secondPage).extracting(Employee::getEmail).containsExactly("john.doe@example.com");
+    }
+
+    // JUnit test for interface projection search
+    @DisplayName("JUnit test for interface projection search")
+    @Test
+    public void givenEmployeesList_whenFindByFirstNameAndLastName_thenReturnMatchingViews() {
+        // Given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee2);
+
+        // When - action or the behaviour that we are going to test
+        var employees = employeeRepository.findByFirstNameAndLastNameOrderByIdAsc("John", "Doe");
+
+        // Then - verify the output
+        assertThat(employees).extracting(EmployeeView::getEmail).containsExactly("john.doe@example.com");
+    }
+
+    // JUnit test for batched duplicate email lookup
+    @DisplayName("JUnit test for batched duplicate email lookup")
+    @Test
+    public void givenSavedEmployee_whenFindExistingEmails_thenReturnOnlyTakenEmails() {
+        // Given - precondition or setup
+        employeeRepository.save(employee);
+
+        // When - action or the behaviour that we are going to test
+        var existingEmails = employeeRepository.findExistingEmails(List.of(employee.getEmail(), "jane.doe@example.com"));
+
+        // Then - verify the output
+        assertThat(existingEmails).containsExactly(employee.getEmail());
+    }
+
+    // JUnit test for the unique email index
+    @DisplayName("JUnit test for the unique email index")
+    @Test
+    public void givenSavedEmployee_whenSaveEmployeeWithSameEmail_thenThrowsException() {
+        // Given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+
+        Employee duplicate = Employee.builder()
+                .firstName("Jane")
+                .lastName("Doe")
+                .email(employee.getEmail())
+                .build();
+
+        // When - action or the behaviour that we are going to test
+        // Then - verify the output
+        assertThatThrownBy(() -> employeeRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,178 @@
+package com.gesacademy.testingspringbootapp.repository;
+
+import com.gesacademy.testingspringbootapp.config.InMemoryStoreConfig;
+import com.gesacademy.testingspringbootapp.dto.EmployeeListVersion;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.memory.InMemoryEmployeeRepository;
+import com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotReader;
+import com.gesacademy.testingspringbootapp.snapshot.EmployeeSnapshotWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManagerAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the whole {@link EmployeeRepositoryTest} suite against the in-memory backend, plus the behaviour
+ * that only it has. The "memory" profile switches the DataSource and JPA off, as in the application.
+ */
+@DataJpaTest(excludeAutoConfiguration = TestEntityManagerAutoConfiguration.class)
+@ActiveProfiles("memory")
+@Import({InMemoryEmployeeRepository.class, InMemoryStoreConfig.class})
+class InMemoryEmployeeRepositoryTest extends EmployeeRepositoryTest {
+
+    @Autowired
+    private InMemoryEmployeeRepository inMemoryRepository;
+
+    @TempDir
+    Path directory;
+
+    // the store has no transactions to roll back between tests
+    @BeforeEach
+    public void clearStore() {
+        inMemoryRepository.deleteAll();
+    }
+
+    @DisplayName("JUnit test for keyset reads after inserting an explicit lower id")
+    @Test
+    public void givenEmployeeInsertedBelowHighestId_whenFindByIdGreaterThan_thenReturnIdOrder() {
+        // Given - precondition or setup
+        long first = inMemoryRepository.save(employee(null, "a@example.com")).getId();
+        long second = inMemoryRepository.save(employee(null, "b@example.com")).getId();
+        inMemoryRepository.save(employee(second + 100, "c@example.com"));
+        inMemoryRepository.save(employee(second + 50, "d@example.com"));
+
+        // When - action or the behaviour that we are going to test
+        var summaries = inMemoryRepository.findSummariesByIdGreaterThanOrderByIdAsc(first, Limit.of(10));
+
+        // Then - verify the output
+        assertThat(summaries).extracting(EmployeeSummary::id).containsExactly(second, second + 50, second + 100);
+        assertThat(inMemoryRepository.save(employee(null, "e@example.com")).getId()).isEqualTo(second + 101);
+    }
+
+    @DisplayName("JUnit test for the list fingerprint after a delete")
+    @Test
+    public void givenDeletedEmployee_whenFindListVersion_thenReturnDeleteTime() {
+        // Given - precondition or setup
+        inMemoryRepository.save(employee(null, "a@example.com"));
+        Employee deleted = inMemoryRepository.save(employee(null, "b@example.com"));
+
+        // When - action or the behaviour that we are going to test
+        inMemoryRepository.deleteById(deleted.getId());
+        EmployeeListVersion version = inMemoryRepository.findListVersion();
+
+        // Then - verify the output
+        assertThat(version.count()).isEqualTo(1);
+        assertThat(version.versionSum()).isZero();
+        assertThat(version.lastDeletedAt()).isAfterOrEqualTo(deleted.getUpdatedAt());
+        assertThat(version.lastModified()).isEqualTo(version.lastDeletedAt());
+    }
+
+    @DisplayName("JUnit test for saving an employee read at an older version")
+    @Test
+    public void givenStaleVersion_whenSave_thenThrowsOptimisticLockingFailure() {
+        // Given - precondition or setup
+        Employee saved = inMemoryRepository.save(employee(null, "a@example.com"));
+        Employee stale = inMemoryRepository.findById(saved.getId()).orElseThrow();
+        inMemoryRepository.updateIfVersionMatches(saved.getId(), "Jane", "Doe", "a@example.com", saved.getVersion(),
+                Employee.currentTimestamp());
+
+        // When - action or the behaviour that we are going to test
+        stale.setFirstName("Ram");
+
+        // Then - verify the output
+        assertThatThrownBy(() -> inMemoryRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    @DisplayName("JUnit test for moving an email between employees within one batch")
+    @Test
+    public void givenEmailsSwappedInOneBatch_whenSaveAll_thenBothRowsUpdated() {
+        // Given - precondition or setup
+        Employee first = inMemoryRepository.save(employee(null, "a@example.com"));
+        Employee second = inMemoryRepository.save(employee(null, "b@example.com"));
+        first.setEmail("b@example.com");
+        second.setEmail("a@example.com");
+
+        // When - action or the behaviour that we are going to test
+        inMemoryRepository.saveAll(List.of(first, second));
+
+        // Then - verify the output
+        assertThat(inMemoryRepository.findByEmail("a@example.com")).get()
+                .extracting(Employee::getId).isEqualTo(second.getId());
+        assertThat(inMemoryRepository.findByEmail("b@example.com")).get()
+                .extracting(Employee::getId).isEqualTo(first.getId());
+    }
+
+    @DisplayName("JUnit test for taking the email of an employee outside the batch")
+    @Test
+    public void givenEmailOfEmployeeOutsideBatch_whenSaveAll_thenThrowsAndWritesNothing() {
+        // Given - precondition or setup
+        Employee first = inMemoryRepository.save(employee(null, "a@example.com"));
+        inMemoryRepository.save(employee(null, "b@example.com"));
+        first.setEmail("b@example.com");
+        Employee created = employee(null, "c@example.com");
+
+        // When - action or the behaviour that we are going to test
+        // Then - verify the output
+        assertThatThrownBy(() -> inMemoryRepository.saveAll(List.of(created, first)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(inMemoryRepository.findByEmail("a@example.com")).isPresent();
+        assertThat(inMemoryRepository.findByEmail("c@example.com")).isEmpty();
+    }
+
+    @DisplayName("JUnit test for persisting the store to a snapshot and loading it back")
+    @Test
+    public void givenStoredEmployees_whenWriteAndLoadSnapshot_thenRestoreRowsAndVersions() throws IOException {
+        // Given - precondition or setup
+        List<Long> ids = new ArrayList<>();
+        for (int index = 0; index < 3000; index++) {
+            ids.add(inMemoryRepository.save(employee(null, "employee" + index + "@example.com")).getId());
+        }
+        inMemoryRepository.deleteById(ids.get(1));
+        inMemoryRepository.updateIfVersionMatches(ids.get(2), "Zoë", "Doe", "zoe@example.com", 0L, Employee.currentTimestamp());
+        Path file = directory.resolve("employees.snapshot");
+        try (EmployeeSnapshotWriter writer = EmployeeSnapshotWriter.create(file, 1000)) {
+            inMemoryRepository.writeSnapshot(writer);
+        }
+
+        // When - action or the behaviour that we are going to test
+        InMemoryEmployeeRepository restored = new InMemoryEmployeeRepository();
+        try (EmployeeSnapshotReader reader = EmployeeSnapshotReader.open(file)) {
+            restored.loadSnapshot(reader);
+        }
+
+        // Then - verify the output
+        assertThat(restored.count()).isEqualTo(2999);
+        assertThat(restored.existsById(ids.get(1))).isFalse();
+        assertThat(restored.findByEmail("zoe@example.com")).get()
+                .extracting(Employee::getId, Employee::getFirstName, Employee::getVersion)
+                .containsExactly(ids.get(2), "Zoë", 1L);
+        assertThat(restored.findAllSummaries()).isEqualTo(inMemoryRepository.findAllSummaries());
+    }
+
+    private static Employee employee(Long id, String email) {
+        return Employee.builder()
+                .id(id)
+                .firstName("John")
+                .lastName("Doe")
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.gesacademy.testingspringbootapp.search;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.dto.TenantEmployeeSummary;
+import com.gesacademy.testingspringbootapp.service.CrossTenantEmployeeService;
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSearchIndexTest {
+
+    @Mock
+    private CrossTenantEmployeeService crossTenantEmployeeService;
+
+    @InjectMocks
+    private EmployeeSearchIndex searchIndex;
+
+    private EmployeeSummary john;
+    private EmployeeSummary jane;
+
+    @BeforeEach
+    void setUp() {
+        john = new EmployeeSummary(1L, "John", "Doe", "john.doe@example.com");
+        jane = new EmployeeSummary(2L, "Jane", "Smith", "jane.smith@example.com");
+        searchIndex.index(john);
+        searchIndex.index(jane);
+    }
+
+    @DisplayName("JUnit test for prefix search over names and emails")
+    @Test
+    void givenIndexedEmployees_whenSearchByPrefix_thenReturnMatches() {
+        // When - action or the behaviour that we are going to test
+        List<EmployeeSummary> byFirstName = searchIndex.search("ja", 10);
+        List<EmployeeSummary> byLastName = searchIndex.search("DO", 10);
+        List<EmployeeSummary> byBoth = searchIndex.search("j", 10);
+
+        // Then - verify the output
+        assertThat(byFirstName).containsExactly(jane);
+        assertThat(byLastName).containsExactly(john);
+        assertThat(byBoth).containsExactlyInAnyOrder(john, jane);
+    }
+
+    @DisplayName("JUnit test for prefix search where every token must match")
+    @Test
+    void givenSeveralTokens_whenSearch_thenEveryTokenMustMatch() {
+        // When - action or the behaviour that we are going to test
+        List<EmployeeSummary> employees = searchIndex.search("j smi", 10);
+
+        // Then - verify the output
+        assertThat(employees).containsExactly(jane);
+        assertThat(searchIndex.search("john smi", 10)).isEmpty();
+    }
+
+    @DisplayName("JUnit test for prefix search limit")
+    @Test
+    void givenLimit_whenSearch_thenReturnAtMostLimitEmployees() {
+        // When - action or the behaviour that we are going to test
+        List<EmployeeSummary> employees = searchIndex.search("j", 1);
+
+        // Then - verify the output
+        assertThat(employees).hasSize(1);
+    }
+
+    @DisplayName("JUnit test for re-indexing an updated employee")
+    @Test
+    void givenUpdatedEmployee_whenIndex_thenOldTermsNoLongerMatch() {
+        // When - action or the behaviour that we are going to test
+        searchIndex.index(new EmployeeSummary(1L, "Ram", "Doe", "ram@gmail.com"));
+
+        // Then - verify the output
+        assertThat(searchIndex.search("john", 10)).isEmpty();
+        assertThat(searchIndex.search("ram", 10)).extracting(EmployeeSummary::id).containsExactly(1L);
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+    @DisplayName("JUnit test for removing an employee from the index")
+    @Test
+    void givenRemovedEmployee_whenSearch_thenNotReturned() {
+        // When - action or the behaviour that we are going to test
+        searchIndex.remove(john.id());
+
+        // Then - verify the output
+        assertThat(searchIndex.search("j", 10)).containsExactly(jane);
+        assertThat(searchIndex.size()).isEqualTo(1);
+    }
+
+    @DisplayName("JUnit test for keeping each tenant's employees to itself")
+    @Test
+    void givenEmployeesOfTwoTenants_whenSearch_thenOnlyCurrentTenantsEmployeesReturned() {
+        // Given - precondition or setup
+        EmployeeSummary acmeJohn = new EmployeeSummary(3L, "John", "Acme", "john@acme.example");
+        TenantContext.callAs("acme", () -> {
+            searchIndex.index(acmeJohn);
+            return null;
+        });
+
+        // When - action or the behaviour that we are going to test
+        List<EmployeeSummary> asDefaultTenant = searchIndex.search("john", 10);
+        List<EmployeeSummary> asAcme = TenantContext.callAs("acme", () -> searchIndex.search("john", 10));
+
+        // Then - verify the output
+        assertThat(asDefaultTenant).containsExactly(john);
+        assertThat(asAcme).containsExactly(acmeJohn);
+    }
+
+    @DisplayName("JUnit test for rebuilding the index from every tenant's employees")
+    @Test
+    @SuppressWarnings("unchecked")
+    void givenEmployeesOfSeveralTenants_whenRebuild_thenIndexedUnderTheirTenant() {
+        // Given - precondition or setup
+        doAnswer(invocation -> {
+            Consumer<TenantEmployeeSummary> consumer = invocation.getArgument(0);
+            consumer.accept(new TenantEmployeeSummary("acme", 3L, "Ram", "Acme", "ram@acme.example"));
+            consumer.accept(new TenantEmployeeSummary("globex", 4L, "Ram", "Globex", "ram@globex.example"));
+            return null;
+        }).when(crossTenantEmployeeService).streamEmployees(any(Consumer.class));
+
+        // When - action or the behaviour that we are going to test
+        searchIndex.rebuild();
+
+        // Then - verify the output
+        assertThat(TenantContext.callAs("acme", () -> searchIndex.search("ram", 10)))
+                .extracting(EmployeeSummary::id).containsExactly(3L);
+        assertThat(TenantContext.callAs("globex", () -> searchIndex.search("ram", 10)))
+                .extracting(EmployeeSummary::id).containsExactly(4L);
+        assertThat(searchIndex.search("ram", 10)).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,131 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.service.impl.CoalescingEmployeeLoader;
+import com.gesacademy.testingspringbootapp.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingEmployeeLoaderTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private CoalescingEmployeeLoader employeeLoader;
+
+    private Employee employee;
+    private Employee employee2;
+
+    @BeforeEach
+    void setUp() {
+        employee = Employee.builder().id(1L).firstName("John").lastName("Doe").email("john.doe@example.com").build();
+        employee2 = Employee.builder().id(2L).firstName("Jane").lastName("Doe").email("jane.doe@example.com").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (employeeLoader != null) {
+            employeeLoader.destroy();
+        }
+    }
+
+    @DisplayName("JUnit test for coalescing concurrent lookups into one batched query")
+    @Test
+    void givenConcurrentLookups_whenLoad_thenOneBatchedQueryWithDeduplicatedIds() throws Exception {
+        // Given - precondition or setup
+        employeeLoader = new CoalescingEmployeeLoader(employeeRepository, Duration.ofMillis(200), 500);
+        given(employeeRepository.findAllById(any())).willReturn(List.of(employee, employee2));
+        List<Long> ids = List.of(1L, 2L, 1L, 3L, 2L, 1L);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When - action or the behaviour that we are going to test
+        List<Future<Optional<Employee>>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newFixedThreadPool(ids.size())) {
+            for (Long id : ids) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return employeeLoader.load(id);
+                }));
+            }
+            start.countDown();
+
+            // Then - verify the output
+            assertThat(results.get(0).get()).contains(employee);
+            assertThat(results.get(1).get()).contains(employee2);
+            assertThat(results.get(3).get()).isEmpty();
+            assertThat(results.get(5).get()).contains(employee);
+        }
+        verify(employeeRepository, times(1)).findAllById(Set.of(1L, 2L, 3L));
+        verify(employeeRepository, never()).findById(any());
+    }
+
+    @DisplayName("JUnit test for coalescing lookups of different tenants into one query per tenant")
+    @Test
+    void givenLookupsFromTwoTenants_whenLoad_thenOneQueryPerTenant() throws Exception {
+        // Given - precondition or setup
+        employeeLoader = new CoalescingEmployeeLoader(employeeRepository, Duration.ofMillis(200), 500);
+        Set<String> queriedAs = ConcurrentHashMap.newKeySet();
+        given(employeeRepository.findAllById(any())).willAnswer(invocation -> {
+            queriedAs.add(TenantContext.current());
+            return TenantContext.current().equals("acme") ? List.of(employee) : List.of();
+        });
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When - action or the behaviour that we are going to test
+        try (ExecutorService callers = Executors.newFixedThreadPool(2)) {
+            Future<Optional<Employee>> acme = callers.submit(() -> {
+                start.await();
+                return TenantContext.callAs("acme", () -> employeeLoader.load(1L));
+            });
+            Future<Optional<Employee>> globex = callers.submit(() -> {
+                start.await();
+                return TenantContext.callAs("globex", () -> employeeLoader.load(1L));
+            });
+            start.countDown();
+
+            // Then - verify the output
+            assertThat(acme.get()).contains(employee);
+            assertThat(globex.get()).isEmpty();
+        }
+        assertThat(queriedAs).containsExactlyInAnyOrder("acme", "globex");
+        verify(employeeRepository, times(2)).findAllById(Set.of(1L));
+    }
+
+    @DisplayName("JUnit test for lookups with coalescing turned off")
+    @Test
+    void givenZeroWindow_whenLoad_thenPlainFindById() {
+        // Given - precondition or setup
+        employeeLoader = new CoalescingEmployeeLoader(employeeRepository, Duration.ZERO, 500);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+
+        // When - action or the behaviour that we are going to test
+        Optional<Employee> loadedEmployee = employeeLoader.load(1L);
+
+        // Then - verify the output
+        assertThat(loadedEmployee).contains(employee);
+        verify(employeeRepository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,144 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.dto.CsvImportResult;
+import com.gesacademy.testingspringbootapp.dto.EmployeeBatchResult;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.service.impl.EmployeeCsvServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeCsvServiceTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeCsvServiceImpl csvService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        csvService = new EmployeeCsvServiceImpl(employeeService, meterRegistry);
+    }
+
+    @DisplayName("JUnit test for importing a CSV in chunks and reporting rejected rows by line")
+    @Test
+    void givenCsvLargerThanOneChunk_whenImportCsv_thenSaveChunksAndReportRejectedLines() {
+
+        // Given - precondition or setup
+        StringBuilder csv = new StringBuilder("email,lastName,firstName\n");
+        for (int row = 0; row < 1500; row++) {
+            csv.append("user").append(row).append("@example.com,Doe,John\n");
+        }
+        csv.append("\n").append("short,row\n").append("dup@example.com,Doe,Jane\n");
+        List<Integer> chunkSizes = new ArrayList<>();
+        given(employeeService.saveEmployees(anyList())).willAnswer(invocation -> {
+            List<Employee> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            List<EmployeeBatchResult> results = new ArrayList<>();
+            for (int index = 0; index < chunk.size(); index++) {
+                String email = chunk.get(index).getEmail();
+                results.add(email.equals("dup@example.com")
+                        ? EmployeeBatchResult.rejected(index, email, EmployeeBatchResult.Status.DUPLICATE, "Employee already exist with given email:" + email)
+                        : EmployeeBatchResult.created(index, email, (long) index));
+            }
+            return results;
+        });
+
+        // When - action or behaviour that we are going test
+        CsvImportResult result = csvService.importCsv(stream(csv.toString()));
+
+        // Then - verify the output
+        assertThat(chunkSizes).containsExactly(1000, 501);
+        assertThat(result.rows()).isEqualTo(1502);
+        assertThat(result.created()).isEqualTo(1500);
+        assertThat(result.duplicates()).isEqualTo(1);
+        assertThat(result.invalid()).isEqualTo(1);
+        assertThat(result.rejected()).containsExactly(
+                new CsvImportResult.RejectedRow(1503, "short", EmployeeBatchResult.Status.INVALID, "Expected 3 columns, got 2"),
+                new CsvImportResult.RejectedRow(1504, "dup@example.com", EmployeeBatchResult.Status.DUPLICATE,
+                        "Employee already exist with given email:dup@example.com"));
+        assertThat(meterRegistry.get(EmployeeCsvServiceImpl.ROWS_METRIC).tag("outcome", "created").counter().count())
+                .isEqualTo(1500);
+    }
+
+    @DisplayName("JUnit test for rejecting a CSV whose header lacks a required column")
+    @Test
+    void givenHeaderWithoutEmail_whenImportCsv_thenThrowsBadRequestException() {
+
+        // Given - precondition or setup
+        String csv = "firstName,lastName\nJohn,Doe\n";
+
+        // When - action or behaviour that we are going test
+        // Then - verify the output
+        assertThatThrownBy(() -> csvService.importCsv(stream(csv)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageStartingWith("CSV header must name the columns firstName, lastName and email");
+        verify(employeeService, never()).saveEmployees(anyList());
+    }
+
+    @DisplayName("JUnit test for stopping at malformed CSV with the line and the rows already imported")
+    @Test
+    void givenUnclosedQuote_whenImportCsv_thenThrowsBadRequestExceptionWithLine() {
+
+        // Given - precondition or setup
+        String csv = "firstName,lastName,email\nJohn,Doe,john.doe@example.com\n\"Jane,Doe,jane@example.com\n";
+
+        // When - action or behaviour that we are going test
+        // Then - verify the output
+        assertThatThrownBy(() -> csvService.importCsv(stream(csv)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid CSV at line 3: quoted field is not closed; 0 employees from the rows before it were imported");
+    }
+
+    @DisplayName("JUnit test for exporting employees as CSV with a header")
+    @Test
+    void givenEmployees_whenExportCsv_thenWriteHeaderAndRows() {
+
+        // Given - precondition or setup
+        willAnswer(invocation -> {
+            Consumer<EmployeeSummary> consumer = invocation.getArgument(0);
+            consumer.accept(new EmployeeSummary(1L, "John", "Doe", "john.doe@example.com"));
+            consumer.accept(new EmployeeSummary(2L, "Jane", "Doe, Jr.", "jane@example.com"));
+            return null;
+        }).given(employeeService).streamEmployees(any());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When - action or behaviour that we are going test
+        long rows = csvService.exportCsv(out);
+
+        // Then - verify the output
+        assertThat(rows).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("id,firstName,lastName,email\r\n"
+                + "1,John,Doe,john.doe@example.com\r\n"
+                + "2,Jane,\"Doe, Jr.\",jane@example.com\r\n");
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,20 +1,36 @@
 package com.gesacademy.testingspringbootapp.service;
 
+import com.gesacademy.testingspringbootapp.dto.CursorPage;
+import com.gesacademy.testingspringbootapp.dto.EmployeeBatchResult;
+import com.gesacademy.testingspringbootapp.dto.EmployeeSummary;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.exception.PreconditionFailedException;
 import com.gesacademy.testingspringbootapp.exception.ResourceAlreadyExistsException;
 import com.gesacademy.testingspringbootapp.exception.ResourceNotFoundException;
 import com.gesacademy.testingspringbootapp.model.Employee;
 import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.search.EmployeeSearchIndex;
+import com.gesacademy.testingspringbootapp.service.impl.CoalescingEmployeeLoader;
 import com.gesacademy.testingspringbootapp.service.impl.EmployeeServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -27,6 +43,18 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private ObjectProvider<EntityManager> entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeSearchIndex searchIndex;
+
+    @Mock
+    private CoalescingEmployeeLoader employeeLoader;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -47,9 +75,7 @@ class EmployeeServiceTest {
     void givenEmployeeObject_whenSave_thenReturnSavedEmployee() {
 
         // Given - precondition or setup
-        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.empty());
-
-        BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         // When - action or the behaviour that we are going to test
         Employee savedEmployee = employeeService.saveEmployee(employee);
@@ -63,7 +89,9 @@ class EmployeeServiceTest {
     void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
 
         // Given - precondition or setup
-        BDDMockito.given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException("Duplicate entry", null, "employees.ux_employees_email")));
 
         // When - action or the behaviour that we are going to test
        assertThrows(ResourceAlreadyExistsException.class, () -> {
@@ -71,8 +99,32 @@ class EmployeeServiceTest {
         });
 
         // Then
-        //verify(employeeRepository, never()).save(employee);
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).findByEmail(any(String.class));
+    }
+
+    @DisplayName("JUnit test for bulk save employees operation")
+    @Test
+    void givenEmployeesBatch_whenSaveEmployees_thenReturnPerRowOutcomes() {
+
+        // Given - precondition or setup
+        Employee existing = Employee.builder().firstName("Jane").lastName("Doe").email("jane.doe@example.com").build();
+        Employee repeated = Employee.builder().firstName("John").lastName("Smith").email("john.doe@example.com").build();
+        Employee invalid = Employee.builder().firstName("Jim").lastName("Doe").build();
+
+        BDDMockito.given(employeeRepository.findExistingEmails(List.of("john.doe@example.com", "jane.doe@example.com")))
+                .willReturn(Set.of("jane.doe@example.com"));
+
+        // When - action or the behaviour that we are going to test
+        List<EmployeeBatchResult> results = employeeService.saveEmployees(List.of(employee, existing, repeated, invalid));
+
+        // Then - verify the output
+        assertThat(results).extracting(EmployeeBatchResult::status).containsExactly(
+                EmployeeBatchResult.Status.CREATED,
+                EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.DUPLICATE,
+                EmployeeBatchResult.Status.INVALID);
+        verify(employeeRepository, times(1)).saveAll(List.of(employee));
+        verify(employeeRepository, times(1)).flush();
     }
 
     @DisplayName("JUnit test for get all employees operation")
@@ -86,10 +138,10 @@ class EmployeeServiceTest {
                 .email("jane.doe@example.com")
                 .build();
 
-        BDDMockito.given(employeeRepository.findAll()).willReturn(List.of(employee, employee2));
+        BDDMockito.given(employeeRepository.findAllSummaries()).willReturn(List.of(summaryOf(employee), summaryOf(employee2)));
 
         // When - action or the behaviour that we are going to test
-        List<Employee> employeesList = employeeService.getAllEmployees();
+        List<EmployeeSummary> employeesList = employeeService.getAllEmployees();
 
         // Then - verify the output
         assertThat(employeesList).isNotNull();
@@ -107,21 +159,62 @@ class EmployeeServiceTest {
                 .email("jane.doe@example.com")
                 .build();
 
-        BDDMockito.given(employeeRepository.findAll()).willReturn(Collections.emptyList());
+        BDDMockito.given(employeeRepository.findAllSummaries()).willReturn(Collections.emptyList());
 
         // When - action or the behaviour that we are going to test
-        List<Employee> employeesList = employeeService.getAllEmployees();
+        List<EmployeeSummary> employeesList = employeeService.getAllEmployees();
 
         // Then - verify the output
         assertThat(employeesList).isEmpty();
         assertThat(employeesList.size()).isEqualTo(0);
     }
 
+    @DisplayName("JUnit test for keyset page of employees operation")
+    @Test
+    void givenMoreEmployeesThanPageSize_whenGetEmployeesPage_thenReturnPageWithNextCursor() {
+        // Given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .id(2L)
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .build();
+
+        BDDMockito.given(employeeRepository.findSummariesByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .willReturn(List.of(summaryOf(employee), summaryOf(employee2)));
+
+        // When - action or the behaviour that we are going to test
+        CursorPage<EmployeeSummary> page = employeeService.getEmployeesPage(null, 1);
+
+        // Then - verify the output
+        assertThat(page.content()).containsExactly(summaryOf(employee));
+        assertThat(page.nextCursor()).isNotNull();
+
+        // And the cursor resumes right after the last returned employee
+        BDDMockito.given(employeeRepository.findSummariesByIdGreaterThanOrderByIdAsc(1L, Limit.of(2)))
+                .willReturn(List.of(summaryOf(employee2)));
+
+        CursorPage<EmployeeSummary> nextPage = employeeService.getEmployeesPage(page.nextCursor(), 1);
+
+        assertThat(nextPage.content()).containsExactly(summaryOf(employee2));
+        assertThat(nextPage.nextCursor()).isNull();
+    }
+
+    @DisplayName("JUnit test for keyset page of employees operation with an invalid cursor")
+    @Test
+    void givenInvalidCursor_whenGetEmployeesPage_thenThrowsException() {
+        // When - action or the behaviour that we are going to test
+        assertThrows(BadRequestException.class, () -> employeeService.getEmployeesPage("not-a-cursor", 10));
+
+        // Then
+        verify(employeeRepository, never()).findSummariesByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
     @DisplayName("JUnit test for get employee by id operation")
     @Test
     void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() {
         // Given - precondition or setup
-        BDDMockito.given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeLoader.load(1L)).willReturn(Optional.of(employee));
 
         // When - action or the behaviour that we are going to test
         Employee savedEmployee = employeeService.getEmployeeById(employee.getId())
@@ -131,20 +224,75 @@ class EmployeeServiceTest {
         assertThat(savedEmployee).isNotNull();
     }
 
+    @DisplayName("JUnit test for get employees by ids operation")
+    @Test
+    void givenEmployeeIds_whenGetEmployeesByIds_thenReturnFoundEmployeesInRequestedOrder() {
+        // Given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .id(2L)
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .build();
+
+        BDDMockito.given(employeeRepository.findAllById(Set.of(2L, 1L, 3L))).willReturn(List.of(employee, employee2));
+
+        // When - action or the behaviour that we are going to test
+        List<Employee> employees = employeeService.getEmployeesByIds(List.of(2L, 1L, 3L, 2L));
+
+        // Then - verify the output
+        assertThat(employees).containsExactly(employee2, employee);
+        verify(employeeRepository, never()).findById(any());
+    }
+
     @DisplayName("JUnit test for update employee operation")
     @Test
     void givenEmployeeObject_whenUpdateEmployee_thenReturnUpdatedEmployee() {
         // Given - precondition or setup
-        BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
-        employee.setEmail("ram@gmail.com");
-        employee.setFirstName("Ram");
+        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
+        BDDMockito.given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+        Employee changes = Employee.builder().firstName("Ram").lastName("Doe").email("ram@gmail.com").build();
 
         // When - action or the behaviour that we are going to test
-        Employee updatedEmployee = employeeService.updateEmployee(employee);
+        Optional<Employee> updatedEmployee = employeeService.updateEmployee(employee.getId(), changes, null);
 
         // Then - verify the output
-        assertThat(updatedEmployee.getEmail()).isEqualTo("ram@gmail.com");
-        assertThat(updatedEmployee.getFirstName()).isEqualTo("Ram");
+        assertThat(updatedEmployee).isPresent();
+        assertThat(updatedEmployee.get().getEmail()).isEqualTo("ram@gmail.com");
+        assertThat(updatedEmployee.get().getFirstName()).isEqualTo("Ram");
+    }
+
+    @DisplayName("JUnit test for conditional update employee operation")
+    @Test
+    void givenCurrentVersion_whenUpdateEmployee_thenConditionalUpdateAndRowReadBack() {
+        // Given - precondition or setup
+        BDDMockito.given(employeeRepository.updateIfVersionMatches(eq(1L), eq("Ram"), eq("Doe"), eq("ram@gmail.com"), eq(3L), any(Instant.class))).willReturn(1);
+        Instant createdAt = Instant.parse("2024-01-01T00:00:00Z");
+        BDDMockito.given(employeeRepository.findById(1L)).willReturn(Optional.of(Employee.builder().id(1L)
+                .firstName("Ram").lastName("Doe").email("ram@gmail.com").version(4L).createdAt(createdAt).build()));
+        Employee changes = Employee.builder().firstName("Ram").lastName("Doe").email("ram@gmail.com").build();
+
+        // When - action or the behaviour that we are going to test
+        Optional<Employee> updatedEmployee = employeeService.updateEmployee(1L, changes, 3L);
+
+        // Then - verify the output
+        assertThat(updatedEmployee).isPresent();
+        assertThat(updatedEmployee.get().getVersion()).isEqualTo(4L);
+        assertThat(updatedEmployee.get().getCreatedAt()).isEqualTo(createdAt);
+        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).existsById(any());
+    }
+
+    @DisplayName("JUnit test for conditional update employee operation with a stale version")
+    @Test
+    void givenStaleVersion_whenUpdateEmployee_thenThrowsException() {
+        // Given - precondition or setup
+        BDDMockito.given(employeeRepository.updateIfVersionMatches(eq(1L), eq("Ram"), eq("Doe"), eq("ram@gmail.com"), eq(3L), any(Instant.class))).willReturn(0);
+        BDDMockito.given(employeeRepository.existsById(1L)).willReturn(true);
+        Employee changes = Employee.builder().firstName("Ram").lastName("Doe").email("ram@gmail.com").build();
+
+        // When - action or the behaviour that we are going to test
+        assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(1L, changes, 3L));
     }
 
     @DisplayName("JUnit test for delete employee operation")
@@ -152,13 +300,48 @@ class EmployeeServiceTest {
     void givenEmployeeId_whenDeleteEmployee_thenNothing() {
         // Given - precondition or setup
 
-        BDDMockito.willDoNothing().given(employeeRepository).deleteById(employee.getId());
+        BDDMockito.given(employeeRepository.findById(employee.getId())).willReturn(Optional.of(employee));
 
         // When - action or the behaviour that we are going to test
-        employeeService.deleteEmployee(employee.getId());
+        boolean deleted = employeeService.deleteEmployee(employee.getId());
 
         // Then - verify the output
-        verify(employeeRepository, times(1)).deleteById(employee.getId());
+        assertThat(deleted).isTrue();
+        verify(employeeRepository, times(1)).delete(employee);
+        verify(eventPublisher).publishEvent(new EmployeeDeletedEvent(employee.getId()));
     }
 
-}
\ No newline at end of file
+    @DisplayName("JUnit test for delete employee operation with an unknown id")
+    @Test
+    void givenUnknownEmployeeId_whenDeleteEmployee_thenReturnFalseWithoutEvent() {
+        // Given - precondition or setup
+        BDDMockito.given(employeeRepository.findById(99L)).willReturn(Optional.empty());
+
+        // When - action or the behaviour that we are going to test
+        boolean deleted = employeeService.deleteEmployee(99L);
+
+        // Then - verify the output
+        assertThat(deleted).isFalse();
+        verify(employeeRepository, never()).delete(any(Employee.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @DisplayName("JUnit test for type-ahead search operation")
+    @Test
+    void givenQuery_whenSuggestEmployees_thenReturnIndexMatches() {
+        // Given - precondition or setup
+        BDDMockito.given(searchIndex.search("jo", 10)).willReturn(List.of(summaryOf(employee)));
+
+        // When - action or the behaviour that we are going to test
+        List<EmployeeSummary> employees = employeeService.suggestEmployees("jo", 10);
+
+        // Then - verify the output
+        assertThat(employees).containsExactly(summaryOf(employee));
+        verifyNoInteractions(employeeRepository);
+    }
+
+
+    private static EmployeeSummary summaryOf(Employee employee) {
+        return new EmployeeSummary(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail());
+    }
+}
@@ -0,0 +1,149 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.dto.EmployeeDelta;
+import com.gesacademy.testingspringbootapp.dto.EmployeeDeltaPage;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.exception.BadRequestException;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.model.EmployeeTombstone;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.repository.EmployeeTombstoneRepository;
+import com.gesacademy.testingspringbootapp.service.impl.EmployeeSyncServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSyncServiceTest {
+
+    private static final Instant SINCE = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeTombstoneRepository tombstoneRepository;
+
+    private EmployeeSyncServiceImpl syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new EmployeeSyncServiceImpl(employeeRepository, tombstoneRepository, Duration.ofSeconds(5));
+    }
+
+    @DisplayName("JUnit test for merging updates and deletions in time order")
+    @Test
+    void givenUpdatesAndTombstones_whenGetChangesSince_thenMergeInTimeThenIdOrder() {
+
+        // Given - precondition or setup
+        Employee john = employee(1L, "John", SINCE.plusSeconds(1));
+        Employee ram = employee(3L, "Ram", SINCE.plusSeconds(2));
+        EmployeeTombstone deleted = EmployeeTombstone.builder().employeeId(2L).deletedAt(SINCE.plusSeconds(2)).build();
+        when(employeeRepository.findUpdatedAfter(eq(SINCE), eq(0L), any(Instant.class), eq(Limit.of(11))))
+                .thenReturn(List.of(john, ram));
+        when(tombstoneRepository.findDeletedAfter(eq(SINCE), eq(0L), any(Instant.class), eq(Limit.of(11))))
+                .thenReturn(List.of(deleted));
+
+        // When - action or the behaviour that we are going to test
+        EmployeeDeltaPage page = syncService.getChangesSince(SINCE, null, 10);
+
+        // Then - verify the output
+        assertThat(page.changes()).extracting(EmployeeDelta::id).containsExactly(1L, 2L, 3L);
+        assertThat(page.changes()).extracting(EmployeeDelta::deleted).containsExactly(false, true, false);
+        assertThat(page.hasMore()).isFalse();
+    }
+
+    @DisplayName("JUnit test for continuing from the returned cursor")
+    @Test
+    void givenFullPage_whenGetChangesSinceWithNextCursor_thenContinueAfterLastChange() {
+
+        // Given - precondition or setup
+        Employee john = employee(1L, "John", SINCE.plusSeconds(1));
+        Employee ram = employee(3L, "Ram", SINCE.plusSeconds(1));
+        when(employeeRepository.findUpdatedAfter(eq(SINCE), eq(0L), any(Instant.class), eq(Limit.of(2))))
+                .thenReturn(List.of(john, ram));
+        when(tombstoneRepository.findDeletedAfter(eq(SINCE), eq(0L), any(Instant.class), eq(Limit.of(2))))
+                .thenReturn(List.of());
+        EmployeeDeltaPage firstPage = syncService.getChangesSince(SINCE, null, 1);
+
+        // When - action or the behaviour that we are going to test
+        syncService.getChangesSince(null, firstPage.nextCursor(), 1);
+
+        // Then - verify the output
+        assertThat(firstPage.changes()).extracting(EmployeeDelta::id).containsExactly(1L);
+        assertThat(firstPage.hasMore()).isTrue();
+        verify(employeeRepository).findUpdatedAfter(eq(SINCE.plusSeconds(1)), eq(1L), any(Instant.class), eq(Limit.of(2)));
+        verify(tombstoneRepository).findDeletedAfter(eq(SINCE.plusSeconds(1)), eq(1L), any(Instant.class), eq(Limit.of(2)));
+    }
+
+    @DisplayName("JUnit test for only returning settled changes")
+    @Test
+    void givenSettleTime_whenGetChangesSince_thenReadUntilBeforeSettleTime() {
+
+        // Given - precondition or setup
+        Instant before = Employee.currentTimestamp();
+        ArgumentCaptor<Instant> until = ArgumentCaptor.forClass(Instant.class);
+        when(employeeRepository.findUpdatedAfter(eq(Instant.EPOCH), eq(0L), until.capture(), eq(Limit.of(101))))
+                .thenReturn(List.of());
+
+        // When - action or the behaviour that we are going to test
+        EmployeeDeltaPage page = syncService.getChangesSince(null, null, 100);
+
+        // Then - verify the output
+        assertThat(until.getValue()).isBetween(before.minusSeconds(5), Employee.currentTimestamp().minusSeconds(5));
+        assertThat(page.changes()).isEmpty();
+        assertThat(page.nextCursor()).isNotBlank();
+    }
+
+    @DisplayName("JUnit test for rejecting an invalid page size or cursor")
+    @Test
+    void givenInvalidSizeOrCursor_whenGetChangesSince_thenThrowsException() {
+
+        // When - action or the behaviour that we are going to test
+        assertThrows(BadRequestException.class, () -> syncService.getChangesSince(SINCE, null, 0));
+        assertThrows(BadRequestException.class, () -> syncService.getChangesSince(SINCE, "not-a-cursor", 10));
+
+        // Then - verify the output
+        verifyNoInteractions(employeeRepository, tombstoneRepository);
+    }
+
+    @DisplayName("JUnit test for recording a tombstone on delete")
+    @Test
+    void givenEmployeeDeletedEvent_whenRecordTombstone_thenSaveTombstone() {
+
+        // When - action or the behaviour that we are going to test
+        syncService.recordTombstone(new EmployeeDeletedEvent(4L));
+
+        // Then - verify the output
+        ArgumentCaptor<EmployeeTombstone> tombstone = ArgumentCaptor.forClass(EmployeeTombstone.class);
+        verify(tombstoneRepository).save(tombstone.capture());
+        assertThat(tombstone.getValue().getEmployeeId()).isEqualTo(4L);
+        assertThat(tombstone.getValue().getDeletedAt()).isNotNull();
+    }
+
+    private static Employee employee(Long id, String firstName, Instant updatedAt) {
+        return Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName("Doe")
+                .email(firstName.toLowerCase() + "@gmail.com")
+                .version(0L)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gesacademy.testingspringbootapp.dto.WriteRequestStatus;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.model.EmployeeWriteRequest;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.repository.EmployeeWriteRequestRepository;
+import com.gesacademy.testingspringbootapp.service.impl.EmployeeWriteBehindServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeWriteBehindServiceTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeWriteRequestRepository writeRequestRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @TempDir
+    Path directory;
+
+    private EmployeeWriteBehindServiceImpl writeBehindService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writeBehindService = new EmployeeWriteBehindServiceImpl(employeeRepository, writeRequestRepository,
+                entityManager, transactionManager, cacheManager, eventPublisher, new ObjectMapper(), directory,
+                DataSize.ofKilobytes(64), 500, Duration.ofMillis(10), MAX_ATTEMPTS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        writeBehindService.destroy();
+    }
+
+    @DisplayName("JUnit test for dead-lettering a write-behind entry that keeps failing")
+    @Test
+    void givenEntryThatAlwaysFails_whenDrained_thenRecordedAsFailedAndLaterEntriesApplied() {
+        // Given - precondition or setup
+        given(employeeRepository.save(any(Employee.class))).willAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            if (employee.getEmail().startsWith("rejected")) {
+                throw new IllegalStateException("Value rejected by the column");
+            }
+            employee.setId(7L);
+            return employee;
+        });
+        WriteRequestStatus rejected = writeBehindService.submitCreate(Employee.builder()
+                .firstName("Bad").lastName("Row").email("rejected@example.com").build());
+        WriteRequestStatus accepted = writeBehindService.submitCreate(Employee.builder()
+                .firstName("John").lastName("Doe").email("john.doe@example.com").build());
+
+        // When - action or the behaviour that we are going to test
+        writeBehindService.startDraining();
+
+        // Then - verify the output
+        ArgumentCaptor<EmployeeWriteRequest> outcomes = ArgumentCaptor.forClass(EmployeeWriteRequest.class);
+        verify(entityManager, timeout(5000).times(2)).persist(outcomes.capture());
+        assertThat(outcomes.getAllValues())
+                .extracting(EmployeeWriteRequest::getTrackingId, EmployeeWriteRequest::getStatus, EmployeeWriteRequest::getMessage)
+                .containsExactly(
+                        tuple(rejected.trackingId(), EmployeeWriteRequest.Status.FAILED,
+                                "Request could not be applied after " + MAX_ATTEMPTS + " attempts"),
+                        tuple(accepted.trackingId(), EmployeeWriteRequest.Status.APPLIED, null));
+        // each run tries the batch, then the failing entry alone
+        verify(employeeRepository, times(2 * MAX_ATTEMPTS + 1)).save(any(Employee.class));
+    }
+}
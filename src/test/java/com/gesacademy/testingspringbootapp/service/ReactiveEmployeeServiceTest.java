@@ -0,0 +1,153 @@
+package com.gesacademy.testingspringbootapp.service;
+
+import com.gesacademy.testingspringbootapp.config.CacheConfig;
+import com.gesacademy.testingspringbootapp.event.EmployeeDeletedEvent;
+import com.gesacademy.testingspringbootapp.event.EmployeesSavedEvent;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.ReactiveEmployeeRepository;
+import com.gesacademy.testingspringbootapp.service.impl.ReactiveEmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.BDDMockito;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEmployeeServiceTest {
+
+    @Mock
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ReactiveEmployeeServiceImpl reactiveEmployeeService;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("John")
+                .lastName("Doe")
+                .email("john.doe@example.com")
+                .build();
+    }
+
+    @DisplayName("JUnit test for reactive get all employees operation")
+    @Test
+    void givenEmployeesList_whenGetAllEmployees_thenEmitEmployees() {
+        // Given - precondition or setup
+        Employee employee2 = Employee.builder()
+                .id(2L)
+                .firstName("Jane")
+                .lastName("Doe")
+                .email("jane.doe@example.com")
+                .build();
+
+        BDDMockito.given(reactiveEmployeeRepository.findAll()).willReturn(Flux.just(employee, employee2));
+
+        // When - action or the behaviour that we are going to test
+        // Then - verify the output
+        StepVerifier.create(reactiveEmployeeService.getAllEmployees())
+                .expectNext(employee, employee2)
+                .verifyComplete();
+    }
+
+    @DisplayName("JUnit test for reactive update employee operation")
+    @Test
+    void givenEmployeeObject_whenUpdateEmployee_thenEmitUpdatedEmployeeAndEvictCache() {
+        // Given - precondition or setup
+        BDDMockito.given(reactiveEmployeeRepository.update(any(Employee.class))).willReturn(Mono.just(1L));
+        BDDMockito.given(cacheManager.getCache(any(String.class))).willReturn(cache);
+
+        Employee changes = Employee.builder().firstName("Ram").lastName("Doe").email("ram@gmail.com").build();
+        BDDMockito.given(reactiveEmployeeRepository.findById(employee.getId())).willReturn(Mono.just(Employee.builder()
+                .id(employee.getId()).firstName("Ram").lastName("Doe").email("ram@gmail.com").version(1L).build()));
+
+        // When - action or the behaviour that we are going to test
+        // Then - verify the output
+        StepVerifier.create(reactiveEmployeeService.updateEmployee(employee.getId(), changes))
+                .expectNextMatches(updatedEmployee -> updatedEmployee.getId().equals(employee.getId())
+                        && updatedEmployee.getEmail().equals("ram@gmail.com")
+                        && updatedEmployee.getVersion() == 1L)
+                .verifyComplete();
+
+        verify(cacheManager).getCache(CacheConfig.EMPLOYEES);
+        verify(cache).evict(CacheConfig.tenantKey(employee.getId()));
+        verify(eventPublisher).publishEvent(any(EmployeesSavedEvent.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @DisplayName("JUnit test for reactive update employee operation (negative scenario)")
+    @Test
+    void givenMissingEmployee_whenUpdateEmployee_thenCompleteEmpty() {
+        // Given - precondition or setup
+        BDDMockito.given(reactiveEmployeeRepository.update(any(Employee.class))).willReturn(Mono.just(0L));
+
+        // When - action or the behaviour that we are going to test
+        // Then - verify the output
+        StepVerifier.create(reactiveEmployeeService.updateEmployee(employee.getId(), employee))
+                .verifyComplete();
+
+        verify(cacheManager, never()).getCache(any(String.class));
+    }
+
+    @DisplayName("JUnit test for reactive delete employee operation")
+    @Test
+    void givenEmployeeId_whenDeleteEmployee_thenEmitTrueAndPublishEvent() {
+        // Given - precondition or setup
+        BDDMockito.given(reactiveEmployeeRepository.deleteById(employee.getId())).willReturn(Mono.just(1L));
+        BDDMockito.given(cacheManager.getCache(any(String.class))).willReturn(cache);
+
+        // When - action or the behaviour that we are going to test
+        // Then - verify the output
+        StepVerifier.create(reactiveEmployeeService.deleteEmployee(employee.getId()))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(cache).evict(CacheConfig.tenantKey(employee.getId()));
+        verify(eventPublisher).publishEvent(new EmployeeDeletedEvent(employee.getId()));
+        verify(transactionManager).commit(any());
+    }
+
+    @DisplayName("JUnit test for reactive delete employee operation (negative scenario)")
+    @Test
+    void givenMissingEmployee_whenDeleteEmployee_thenEmitFalseWithoutEvent() {
+        // Given - precondition or setup
+        BDDMockito.given(reactiveEmployeeRepository.deleteById(employee.getId())).willReturn(Mono.just(0L));
+
+        // When - action or the behaviour that we are going to test
+        // Then - verify the output
+        StepVerifier.create(reactiveEmployeeService.deleteEmployee(employee.getId()))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(cacheManager, never()).getCache(any(String.class));
+        verifyNoInteractions(eventPublisher);
+    }
+}
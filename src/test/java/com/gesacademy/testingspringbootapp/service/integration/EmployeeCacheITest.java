@@ -0,0 +1,143 @@
+package com.gesacademy.testingspringbootapp.service.integration;
+
+import com.gesacademy.testingspringbootapp.config.CacheConfig;
+import com.gesacademy.testingspringbootapp.model.Employee;
+import com.gesacademy.testingspringbootapp.repository.EmployeeRepository;
+import com.gesacademy.testingspringbootapp.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// rows are changed behind the cache with plain JDBC, so a stale answer proves it came from the cache
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:employeecache;DB_CLOSE_DELAY=-1")
+public class EmployeeCacheITest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        employee = employeeRepository.save(Employee.builder()
+                .firstName("Ramesh")
+                .lastName("Fadatare")
+                .email("ramesh@gmail.com")
+                .build());
+    }
+
+    @Test
+    void givenCachedEmployee_whenGetEmployeeByIdAgain_thenServedFromCache() {
+
+        // given - precondition or setup
+        employeeService.getEmployeeById(employee.getId());
+        renameBehindCache(employee.getId(), "Changed");
+
+        // when - action or behaviour that we are going test
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(employee.getId());
+
+        // then - verify the output
+        assertThat(cachedEmployee).get().extracting(Employee::getFirstName).isEqualTo("Ramesh");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.EMPLOYEES).tag("result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void givenCachedEmployee_whenUpdateEmployee_thenIdEntryRefreshedAndByEmailCleared() {
+
+        // given - precondition or setup
+        employeeService.getEmployeeById(employee.getId());
+        employeeRepository.findByEmail(employee.getEmail());
+        assertThat(cache(CacheConfig.EMPLOYEES_BY_EMAIL).get(CacheConfig.tenantKey(employee.getEmail()))).isNotNull();
+
+        Employee changes = Employee.builder().firstName("Ram").lastName("Jadhav").email("ram@gmail.com").build();
+
+        // when - action or behaviour that we are going test
+        employeeService.updateEmployee(employee.getId(), changes, null);
+        renameBehindCache(employee.getId(), "Changed");
+
+        // then - verify the output
+        assertThat(employeeService.getEmployeeById(employee.getId())).get()
+                .extracting(Employee::getFirstName).isEqualTo("Ram");
+        assertThat(cache(CacheConfig.EMPLOYEES_BY_EMAIL).get(CacheConfig.tenantKey(employee.getEmail()))).isNull();
+    }
+
+    @Test
+    void givenCachedEmployee_whenUpdateEmployeeAtExpectedVersion_thenIdEntryHoldsWholeRow() {
+
+        // given - precondition or setup
+        Employee cachedEmployee = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+        Employee changes = Employee.builder().firstName("Ram").lastName("Jadhav").email("ram@gmail.com").build();
+
+        // when - action or behaviour that we are going test
+        employeeService.updateEmployee(employee.getId(), changes, cachedEmployee.getVersion());
+        renameBehindCache(employee.getId(), "Changed");
+
+        // then - verify the output
+        Employee updatedEmployee = employeeService.getEmployeeById(employee.getId()).orElseThrow();
+        assertThat(updatedEmployee.getFirstName()).isEqualTo("Ram");
+        assertThat(updatedEmployee.getVersion()).isEqualTo(cachedEmployee.getVersion() + 1);
+        assertThat(updatedEmployee.getCreatedAt()).isEqualTo(cachedEmployee.getCreatedAt());
+        assertThat(updatedEmployee.getTenantId()).isEqualTo(cachedEmployee.getTenantId());
+    }
+
+    @Test
+    void givenCachedEmployee_whenDeleteEmployee_thenIdAndByEmailEntriesEvicted() {
+
+        // given - precondition or setup
+        employeeService.getEmployeeById(employee.getId());
+        employeeRepository.findByEmail(employee.getEmail());
+
+        // when - action or behaviour that we are going test
+        employeeService.deleteEmployee(employee.getId());
+
+        // then - verify the output
+        assertThat(cache(CacheConfig.EMPLOYEES).get(CacheConfig.tenantKey(employee.getId()))).isNull();
+        assertThat(cache(CacheConfig.EMPLOYEES_BY_EMAIL).get(CacheConfig.tenantKey(employee.getEmail()))).isNull();
+        assertThat(employeeService.getEmployeeById(employee.getId())).isEmpty();
+    }
+
+    @Test
+    void givenEmployeeCaches_whenApplicationStarts_thenCacheMetricsRegistered() {
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        for (String cacheName : new String[]{CacheConfig.EMPLOYEES, CacheConfig.EMPLOYEES_BY_EMAIL}) {
+            assertThat(meterRegistry.find("cache.gets").tag("cache", cacheName).functionCounters()).isNotEmpty();
+            assertThat(meterRegistry.find("cache.puts").tag("cache", cacheName).functionCounter()).isNotNull();
+            assertThat(meterRegistry.find("cache.evictions").tag("cache", cacheName).functionCounter()).isNotNull();
+            assertThat(meterRegistry.find("cache.size").tag("cache", cacheName).gauge()).isNotNull();
+        }
+    }
+
+    private void renameBehindCache(Long id, String firstName) {
+        jdbcTemplate.update("UPDATE employees SET first_name = ? WHERE id = ?", firstName, id);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
@@ -0,0 +1,153 @@
+package com.gesacademy.testingspringbootapp.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeSnapshotTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-05-01T10:15:30.123456Z");
+    private static final Instant UPDATED_AT = Instant.parse("2025-01-02T03:04:05.000001Z");
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("JUnit test for reading back a snapshot spanning several row groups")
+    @Test
+    void givenSnapshotWithSeveralRowGroups_whenRead_thenReturnEveryRowInOrder() throws IOException {
+        // Given - precondition or setup
+        Path file = directory.resolve("employees.snapshot");
+        try (EmployeeSnapshotWriter writer = EmployeeSnapshotWriter.create(file, 2)) {
+            writer.write(1L, "John", "Doe", "john.doe@example.com", 0L, CREATED_AT, CREATED_AT);
+            writer.write(2L, "Zoë", "Ångström", "zoe@example.com", 3L, CREATED_AT, UPDATED_AT);
+            writer.write(7L, "Jane", "", "jane@example.com", 1L, CREATED_AT, UPDATED_AT);
+        }
+
+        // When - action or the behaviour that we are going to test
+        List<String> rows = new ArrayList<>();
+        long rowCount;
+        try (EmployeeSnapshotReader reader = EmployeeSnapshotReader.open(file)) {
+            rowCount = reader.rowCount();
+            for (EmployeeSnapshotReader.RowGroup group = reader.nextGroup(); group != null; group = reader.nextGroup()) {
+                for (int row = 0; row < group.size(); row++) {
+                    rows.add(group.id(row) + "|" + group.firstName(row) + "|" + group.lastName(row)
+                            + "|" + group.email(row) + "|" + group.version(row) + "|" + group.updatedAt(row));
+                }
+            }
+        }
+
+        // Then - verify the output
+        assertThat(rowCount).isEqualTo(3);
+        assertThat(rows).containsExactly(
+                "1|John|Doe|john.doe@example.com|0|2024-05-01T10:15:30.123456Z",
+                "2|Zoë|Ångström|zoe@example.com|3|2025-01-02T03:04:05.000001Z",
+                "7|Jane||jane@example.com|1|2025-01-02T03:04:05.000001Z");
+    }
+
+    @DisplayName("JUnit test for reading an empty snapshot")
+    @Test
+    void givenEmptySnapshot_whenRead_thenReturnNoRowGroups() throws IOException {
+        // Given - precondition or setup
+        Path file = directory.resolve("employees.snapshot");
+        EmployeeSnapshotWriter.create(file, 16).close();
+
+        // When - action or the behaviour that we are going to test
+        try (EmployeeSnapshotReader reader = EmployeeSnapshotReader.open(file)) {
+
+            // Then - verify the output
+            assertThat(reader.rowCount()).isZero();
+            assertThat(reader.nextGroup()).isNull();
+        }
+    }
+
+    @DisplayName("JUnit test for rejecting a corrupted row group")
+    @Test
+    void givenCorruptedRowGroup_whenRead_thenThrowIOException() throws IOException {
+        // Given - precondition or setup
+        Path file = directory.resolve("employees.snapshot");
+        try (EmployeeSnapshotWriter writer = EmployeeSnapshotWriter.create(file, 16)) {
+            writer.write(1L, "John", "Doe", "john.doe@example.com", 0L, CREATED_AT, CREATED_AT);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), channel.size() - 1);
+        }
+
+        // When - action or the behaviour that we are going to test
+        try (EmployeeSnapshotReader reader = EmployeeSnapshotReader.open(file)) {
+
+            // Then - verify the output
+            assertThatThrownBy(reader::nextGroup).isInstanceOf(IOException.class).hasMessageContaining("corrupt");
+        }
+    }
+
+    @DisplayName("JUnit test for reading a snapshot written before the time columns existed")
+    @Test
+    void givenVersionOneSnapshot_whenRead_thenReturnRowsWithoutTimes() throws IOException {
+        // Given - precondition or setup
+        Path file = directory.resolve("employees.snapshot");
+        ByteBuffer body = ByteBuffer.allocate(4 + 2 * 8 + 3 * 8 + 4 + 3 + 20)
+                .putInt(1).putLong(5L).putLong(2L)
+                .putInt(0).putInt(4).put("John".getBytes(StandardCharsets.UTF_8))
+                .putInt(0).putInt(3).put("Doe".getBytes(StandardCharsets.UTF_8))
+                .putInt(0).putInt(20).put("john.doe@example.com".getBytes(StandardCharsets.UTF_8))
+                .flip();
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        ByteBuffer content = ByteBuffer.allocate(EmployeeSnapshotFormat.FILE_HEADER_SIZE
+                        + EmployeeSnapshotFormat.GROUP_HEADER_SIZE + body.remaining())
+                .putInt(EmployeeSnapshotFormat.MAGIC).putInt(EmployeeSnapshotFormat.FORMAT_VERSION_WITHOUT_TIMES)
+                .putLong(1L).putInt(1).position(EmployeeSnapshotFormat.FILE_HEADER_SIZE)
+                .putInt(body.remaining()).putInt((int) crc.getValue()).put(body)
+                .flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.write(content);
+        }
+
+        // When - action or the behaviour that we are going to test
+        try (EmployeeSnapshotReader reader = EmployeeSnapshotReader.open(file)) {
+            EmployeeSnapshotReader.RowGroup group = reader.nextGroup();
+
+            // Then - verify the output
+            assertThat(group.size()).isEqualTo(1);
+            assertThat(group.id(0)).isEqualTo(5L);
+            assertThat(group.version(0)).isEqualTo(2L);
+            assertThat(group.email(0)).isEqualTo("john.doe@example.com");
+            assertThat(group.createdAt(0)).isNull();
+            assertThat(group.updatedAt(0)).isNull();
+        }
+    }
+
+    @DisplayName("JUnit test for rejecting a truncated snapshot")
+    @Test
+    void givenTruncatedSnapshot_whenRead_thenThrowIOException() throws IOException {
+        // Given - precondition or setup
+        Path file = directory.resolve("employees.snapshot");
+        try (EmployeeSnapshotWriter writer = EmployeeSnapshotWriter.create(file, 16)) {
+            writer.write(1L, "John", "Doe", "john.doe@example.com", 0L, CREATED_AT, CREATED_AT);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        // When - action or the behaviour that we are going to test
+        try (EmployeeSnapshotReader reader = EmployeeSnapshotReader.open(file)) {
+
+            // Then - verify the output
+            assertThatThrownBy(reader::nextGroup).isInstanceOf(IOException.class).hasMessageContaining("truncated");
+        }
+    }
+}
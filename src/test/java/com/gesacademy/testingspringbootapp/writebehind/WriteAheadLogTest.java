@@ -0,0 +1,165 @@
+package com.gesacademy.testingspringbootapp.writebehind;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteAheadLogTest {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path directory;
+
+    @DisplayName("JUnit test for appending and reading back log entries")
+    @Test
+    void givenAppendedEntries_whenRead_thenReturnThemInOrder() throws IOException {
+        // Given - precondition or setup
+        try (WriteAheadLog log = WriteAheadLog.open(directory.resolve("test.wal"), CAPACITY)) {
+            log.append(bytes("first"));
+            log.append(bytes("second"));
+
+            // When - action or the behaviour that we are going to test
+            List<WriteAheadLog.Entry> entries = log.read(log.drainedOffset(), 10);
+
+            // Then - verify the output
+            assertThat(entries).extracting(entry -> text(entry.payload())).containsExactly("first", "second");
+            assertThat(entries.getLast().endOffset()).isEqualTo(log.writeOffset());
+        }
+    }
+
+    @DisplayName("JUnit test for replaying undrained entries after a reopen")
+    @Test
+    void givenPartiallyDrainedLog_whenReopen_thenOnlyUndrainedEntriesRemain() throws IOException {
+        // Given - precondition or setup
+        Path file = directory.resolve("test.wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file, CAPACITY)) {
+            log.append(bytes("applied"));
+            log.append(bytes("pending"));
+            log.markDrained(log.read(log.drainedOffset(), 1).getFirst().endOffset());
+        }
+
+        // When - action or the behaviour that we are going to test
+        try (WriteAheadLog log = WriteAheadLog.open(file, CAPACITY)) {
+            List<WriteAheadLog.Entry> entries = log.read(log.drainedOffset(), 10);
+
+            // Then - verify the output
+            assertThat(entries).extracting(entry -> text(entry.payload())).containsExactly("pending");
+        }
+    }
+
+    @DisplayName("JUnit test for dropping a torn entry on reopen")
+    @Test
+    void givenCorruptedTail_whenReopen_thenEntriesUpToTheCorruptionRemain() throws IOException {
+        // Given - precondition or setup
+        Path file = directory.resolve("test.wal");
+        long tornOffset;
+        try (WriteAheadLog log = WriteAheadLog.open(file, CAPACITY)) {
+            log.append(bytes("intact"));
+            tornOffset = log.writeOffset();
+            log.append(bytes("torn"));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("XX")), tornOffset + WriteAheadLog.RECORD_HEADER_SIZE);
+        }
+
+        // When - action or the behaviour that we are going to test
+        try (WriteAheadLog log = WriteAheadLog.open(file, CAPACITY)) {
+            List<WriteAheadLog.Entry> entries = log.read(log.drainedOffset(), 10);
+
+            // Then - verify the output
+            assertThat(entries).extracting(entry -> text(entry.payload())).containsExactly("intact");
+            assertThat(log.writeOffset()).isEqualTo(tornOffset);
+        }
+    }
+
+    @DisplayName("JUnit test for rewinding a fully drained log")
+    @Test
+    void givenFullyDrainedLog_whenReopen_thenOldEntriesAreNotReplayed() throws IOException {
+        // Given - precondition or setup
+        Path file = directory.resolve("test.wal");
+        try (WriteAheadLog log = WriteAheadLog.open(file, CAPACITY)) {
+            log.append(bytes("a longer entry from the previous pass"));
+            log.markDrained(log.writeOffset());
+            log.append(bytes("new"));
+            log.markDrained(log.writeOffset());
+
+            // Then - verify the output
+            assertThat(log.writeOffset()).isEqualTo(WriteAheadLog.HEADER_SIZE);
+        }
+
+        // When - action or the behaviour that we are going to test
+        try (WriteAheadLog log = WriteAheadLog.open(file, CAPACITY)) {
+            // Then - verify the output
+            assertThat(log.read(log.drainedOffset(), 10)).isEmpty();
+        }
+    }
+
+    @DisplayName("JUnit test for compacting a log that is never fully drained")
+    @Test
+    void givenConsumerAlwaysOneEntryBehind_whenAppendPastCapacity_thenLogCompactsAndKeepsAccepting() throws IOException {
+        // Given - precondition or setup
+        Path file = directory.resolve("test.wal");
+        int appended = 0;
+        List<String> drained = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(file, 512)) {
+
+            // When - action or the behaviour that we are going to test
+            for (; appended < 200; appended++) {
+                assertThat(log.append(bytes("entry-" + appended))).isTrue();
+                List<WriteAheadLog.Entry> entries = log.read(log.drainedOffset(), Integer.MAX_VALUE);
+                if (entries.size() > 3) {
+                    // everything but the newest entry is applied, so the log is never empty
+                    List<WriteAheadLog.Entry> applied = entries.subList(0, entries.size() - 1);
+                    applied.forEach(entry -> drained.add(text(entry.payload())));
+                    log.markDrained(applied.getLast().endOffset());
+                }
+            }
+
+            // Then - verify the output
+            assertThat(drained).hasSizeGreaterThan(190)
+                    .containsExactlyElementsOf(IntStream.range(0, drained.size()).mapToObj(i -> "entry-" + i).toList());
+        }
+        try (WriteAheadLog log = WriteAheadLog.open(file, 512)) {
+            assertThat(log.read(log.drainedOffset(), Integer.MAX_VALUE))
+                    .extracting(entry -> text(entry.payload()))
+                    .containsExactlyElementsOf(IntStream.range(drained.size(), appended).mapToObj(i -> "entry-" + i).toList());
+        }
+    }
+
+    @DisplayName("JUnit test for appending to a full log")
+    @Test
+    void givenFullLog_whenAppend_thenReturnFalse() throws IOException {
+        // Given - precondition or setup
+        try (WriteAheadLog log = WriteAheadLog.open(directory.resolve("test.wal"), WriteAheadLog.HEADER_SIZE + 20)) {
+
+            // When - action or the behaviour that we are going to test
+            boolean firstAppend = log.append(bytes("12345678"));
+            boolean secondAppend = log.append(bytes("1"));
+
+            // Then - verify the output
+            assertThat(firstAppend).isTrue();
+            assertThat(secondAppend).isFalse();
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}